@@ -1,6 +1,9 @@
 package com.vegnbio.api.config;
 
 import com.vegnbio.api.modules.auth.exception.EmailAlreadyExistsException;
+import com.vegnbio.api.modules.errorreporting.exception.ErrorReportQueueFullException;
+import com.vegnbio.api.modules.errorreporting.exception.InvalidErrorReportException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -28,6 +31,37 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(InvalidErrorReportException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidErrorReport(
+            InvalidErrorReportException ex, WebRequest request) {
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Invalid Error Report");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ErrorReportQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleErrorReportQueueFull(
+            ErrorReportQueueFullException ex, WebRequest request) {
+        
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        // La file est vidée à chaque intervalle d'écriture : une nouvelle tentative peut passer rapidement
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(
             RuntimeException ex, WebRequest request) {
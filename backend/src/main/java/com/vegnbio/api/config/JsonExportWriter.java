@@ -0,0 +1,59 @@
+package com.vegnbio.api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Export JSON en flux : les lignes sont lues par curseur JDBC et écrites dans la réponse au fil de l'eau.
+ * Le contexte de persistance est vidé régulièrement, la mémoire reste constante quelle que soit la taille de la table.
+ * La requête doit retourner un {@link Stream} (avec un fetch size) ; elle est exécutée dans une transaction en lecture seule.
+ */
+@Component
+public class JsonExportWriter {
+
+    private static final int CLEAR_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+
+    public JsonExportWriter(ObjectMapper objectMapper, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public <E> StreamingResponseBody stream(Supplier<Stream<E>> rows, Function<E, ?> mapper) {
+        return output -> readTransaction.executeWithoutResult(status -> {
+            try (Stream<E> stream = rows.get()) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                int written = 0;
+                for (E row : (Iterable<E>) stream::iterator) {
+                    generator.writeObject(mapper.apply(row));
+                    if (++written % CLEAR_EVERY == 0) {
+                        generator.flush();
+                        entityManager.clear();
+                    }
+                }
+                generator.writeEndArray();
+                generator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
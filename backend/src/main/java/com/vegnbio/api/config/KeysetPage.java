@@ -0,0 +1,37 @@
+package com.vegnbio.api.config;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste paginée par curseur ; {@code nextCursor} est absent sur la dernière page.
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public static int clamp(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    /**
+     * Une ligne de plus que la taille demandée, pour savoir s'il existe une page suivante.
+     */
+    public static Pageable request(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <E, T> KeysetPage<T> of(List<E> rows, int limit, Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new KeysetPage<>(page.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+}
@@ -73,7 +73,9 @@ public class SecurityConfig {
                 
                 // Endpoints publics - ACCÈS LIBRE
                 .requestMatchers("/api/v1/restaurants", "/api/v1/allergens").permitAll()
+                .requestMatchers("/api/v1/restaurants/open", "/api/v1/restaurants/opening", "/api/v1/restaurants/*/opening").permitAll()
                 .requestMatchers("/api/v1/menus", "/api/v1/menus/**", "/api/v1/menu-items/**").permitAll()
+                .requestMatchers("/api/v1/search/**").permitAll()
                 .requestMatchers("/api/v1/chatbot/**").permitAll()
                 .requestMatchers("/api/v1/error-reports/**").permitAll()
                 .requestMatchers("/api/v1/events", "/api/v1/bookings").permitAll()
@@ -82,6 +84,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/offers/supplier/**").permitAll()
                 .requestMatchers("/api/v1/reviews", "/api/v1/reports").permitAll()
                 .requestMatchers("/api/v1/reviews/restaurant/**").permitAll()
+                .requestMatchers("/api/v1/reservations/restaurant/*/availability").permitAll()
                 
                 // Endpoints d'actuateur - ACCÈS LIBRE
                 .requestMatchers("/actuator/**").permitAll()
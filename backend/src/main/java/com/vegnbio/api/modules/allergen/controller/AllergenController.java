@@ -2,9 +2,12 @@ package com.vegnbio.api.modules.allergen.controller;
 
 import com.vegnbio.api.modules.allergen.dto.AllergenDto;
 import com.vegnbio.api.modules.allergen.service.AllergenService;
+import com.vegnbio.api.modules.catalog.CatalogResponses;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,11 +17,12 @@ import java.util.List;
 public class AllergenController {
     
     private final AllergenService allergenService;
+    private final CatalogVersionService catalogVersionService;
     
     @GetMapping
-    public ResponseEntity<List<AllergenDto>> getAllAllergens() {
-        List<AllergenDto> allergens = allergenService.getAllAllergens();
-        return ResponseEntity.ok(allergens);
+    public ResponseEntity<List<AllergenDto>> getAllAllergens(WebRequest request) {
+        return CatalogResponses.conditional(request, catalogVersionService.allergensEtag(), CatalogResponses.ALLERGENS,
+                allergenService::getAllAllergens);
     }
     
     @GetMapping("/{code}")
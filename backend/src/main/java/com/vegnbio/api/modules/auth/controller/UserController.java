@@ -0,0 +1,41 @@
+package com.vegnbio.api.modules.auth.controller;
+
+import com.vegnbio.api.modules.auth.dto.UpdateUserRoleRequest;
+import com.vegnbio.api.modules.auth.dto.UserDto;
+import com.vegnbio.api.modules.auth.entity.User;
+import com.vegnbio.api.modules.auth.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserController {
+    
+    private final UserService userService;
+    
+    @PutMapping("/{userId}/role")
+    public ResponseEntity<UserDto> updateRole(
+            @PathVariable Long userId,
+            @Valid @RequestBody UpdateUserRoleRequest request) {
+        User user = userService.updateRole(userId, request.role());
+        UserDto userDto = new UserDto(
+            user.getId(),
+            user.getEmail(),
+            user.getFullName(),
+            user.getRole(),
+            user.getCreatedAt().toString()
+        );
+        return ResponseEntity.ok(userDto);
+    }
+    
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
+        userService.deleteUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
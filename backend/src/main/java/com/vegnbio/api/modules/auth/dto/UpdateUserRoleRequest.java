@@ -0,0 +1,8 @@
+package com.vegnbio.api.modules.auth.dto;
+
+import com.vegnbio.api.modules.auth.entity.User;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateUserRoleRequest(
+    @NotNull User.Role role
+) {}
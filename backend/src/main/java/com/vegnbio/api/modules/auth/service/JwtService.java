@@ -2,9 +2,11 @@ package com.vegnbio.api.modules.auth.service;
 
 import com.vegnbio.api.modules.auth.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,7 +31,19 @@ public class JwtService {
     @Value("${app.jwt.expiration:7200000}") // 2 hours default
     private Long expiration;
     
-    private SecretKey getSigningKey() {
+    // Clé et parser dérivés une seule fois : ils sont immuables et thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        signingKey = deriveSigningKey();
+        parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+    }
+    
+    private SecretKey deriveSigningKey() {
         // Derive a 256-bit key from the provided secret to satisfy HS256 requirements
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -53,13 +67,25 @@ public class JwtService {
             .setSubject(subject)
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
+    }
+    
+    /**
+     * Vérifie la signature et l'expiration du token en un seul parsing et retourne ses claims.
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+    
+    public Long extractUserId(Claims claims) {
+        Object userId = claims.get("userId");
+        return userId instanceof Number number ? number.longValue() : null;
     }
     
     public String extractUsername(String token) {
@@ -76,17 +102,11 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
+        return parser
             .parseClaimsJws(token)
             .getBody();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
     public Long getExpirationTime() {
         return expiration;
     }
@@ -1,22 +1,119 @@
 package com.vegnbio.api.modules.auth.service;
 
+import com.vegnbio.api.config.AfterCommit;
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.auth.repo.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
 public class UserService implements UserDetailsService {
     
     private final UserRepository userRepository;
+    private final long userCacheTtlMillis;
+    
+    // Cache borné (LRU) des utilisateurs chargés depuis la base pour l'authentification JWT
+    private final Map<String, CachedUser> userCache;
+    
+    // Date d'invalidation par email : les tokens émis avant ne sont plus crus sur parole
+    private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+    private volatile long globalInvalidation = 0L;
+    
+    public UserService(UserRepository userRepository,
+                       @Value("${app.auth.user-cache.max-size:10000}") int userCacheMaxSize,
+                       @Value("${app.auth.user-cache.ttl-seconds:300}") long userCacheTtlSeconds) {
+        this.userRepository = userRepository;
+        this.userCacheTtlMillis = userCacheTtlSeconds * 1000;
+        this.userCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > userCacheMaxSize;
+            }
+        });
+    }
     
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
     }
+    
+    /**
+     * Utilisateur authentifié pour un token déjà vérifié, lu via le cache borné (profil complet, rôle courant) :
+     * pas de requête SQL tant que l'entrée est valide. Un utilisateur supprimé ou recréé sous le même email
+     * depuis l'émission du token est refusé.
+     */
+    public User resolvePrincipal(String email, Long userId) {
+        User user = findCachedUser(email);
+        if (userId != null && !userId.equals(user.getId())) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return user;
+    }
+    
+    /**
+     * Lecture d'un utilisateur via le cache borné, avec expiration.
+     * Une entrée chargée avant la dernière invalidation de l'utilisateur est ignorée.
+     */
+    public User findCachedUser(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = userCache.get(email);
+        if (cached != null && cached.loadedAt() + userCacheTtlMillis > now
+                && cached.loadedAt() > invalidations.getOrDefault(email, 0L)
+                && cached.loadedAt() > globalInvalidation) {
+            return cached.user();
+        }
+        User user = (User) loadUserByUsername(email);
+        userCache.put(email, new CachedUser(user, now));
+        return user;
+    }
+    
+    @Transactional
+    public User updateRole(Long userId, User.Role role) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setRole(role);
+        User savedUser = userRepository.save(user);
+        String email = user.getEmail();
+        AfterCommit.run(() -> invalidateUser(email));
+        return savedUser;
+    }
+    
+    @Transactional
+    public void deleteUser(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        userRepository.delete(user);
+        String email = user.getEmail();
+        AfterCommit.run(() -> invalidateUser(email));
+    }
+    
+    /**
+     * À appeler lorsqu'un utilisateur change de rôle, est supprimé ou doit être déconnecté :
+     * il est relu en base à sa prochaine requête.
+     */
+    public void invalidateUser(String email) {
+        invalidations.put(email, System.currentTimeMillis());
+        userCache.remove(email);
+    }
+    
+    /**
+     * Invalide tous les utilisateurs (suppression ou réimport en masse).
+     */
+    public void invalidateAllUsers() {
+        globalInvalidation = System.currentTimeMillis();
+        invalidations.clear();
+        userCache.clear();
+    }
+    
+    private record CachedUser(User user, long loadedAt) {}
 }
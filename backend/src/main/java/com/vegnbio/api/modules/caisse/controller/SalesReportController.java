@@ -0,0 +1,55 @@
+package com.vegnbio.api.modules.caisse.controller;
+
+import com.vegnbio.api.modules.caisse.dto.DailySalesDto;
+import com.vegnbio.api.modules.caisse.dto.ItemSalesDto;
+import com.vegnbio.api.modules.caisse.dto.SalesReportDto;
+import com.vegnbio.api.modules.caisse.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sales/restaurants/{restaurantId}")
+@RequiredArgsConstructor
+public class SalesReportController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('RESTAURATEUR') or hasRole('ADMIN')")
+    public ResponseEntity<SalesReportDto> getSalesReport(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        SalesReportDto report = salesAnalyticsService.getSalesReport(restaurantId, from, to);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/daily")
+    @PreAuthorize("hasRole('RESTAURATEUR') or hasRole('ADMIN')")
+    public ResponseEntity<List<DailySalesDto>> getDailySales(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<DailySalesDto> days = salesAnalyticsService.getDailySales(restaurantId, from, to);
+        return ResponseEntity.ok(days);
+    }
+
+    @GetMapping("/items")
+    @PreAuthorize("hasRole('RESTAURATEUR') or hasRole('ADMIN')")
+    public ResponseEntity<List<ItemSalesDto>> getItemSales(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<ItemSalesDto> items = salesAnalyticsService.getItemSales(restaurantId, from, to);
+        return ResponseEntity.ok(items);
+    }
+}
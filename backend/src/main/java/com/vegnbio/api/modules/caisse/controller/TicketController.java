@@ -1,14 +1,20 @@
 package com.vegnbio.api.modules.caisse.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.caisse.dto.CreateTicketRequest;
+import com.vegnbio.api.modules.caisse.dto.SyncTicketResultDto;
+import com.vegnbio.api.modules.caisse.dto.SyncTicketsRequest;
 import com.vegnbio.api.modules.caisse.dto.TicketDto;
 import com.vegnbio.api.modules.caisse.service.TicketService;
+import com.vegnbio.api.modules.caisse.service.TicketSyncService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +25,7 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketSyncService ticketSyncService;
 
     @PostMapping
     @PreAuthorize("hasRole('RESTAURATEUR')")
@@ -27,6 +34,16 @@ public class TicketController {
         return ResponseEntity.ok(ticket);
     }
 
+    /**
+     * Envoi groupé des tickets saisis hors ligne ; rejouable sans créer de doublons.
+     */
+    @PostMapping("/sync")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<List<SyncTicketResultDto>> syncTickets(@Valid @RequestBody SyncTicketsRequest request) {
+        List<SyncTicketResultDto> results = ticketSyncService.sync(request);
+        return ResponseEntity.ok(results);
+    }
+
     @PatchMapping("/{ticketId}/close")
     @PreAuthorize("hasRole('RESTAURATEUR')")
     public ResponseEntity<TicketDto> closeTicket(@PathVariable Long ticketId) {
@@ -52,6 +69,31 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<KeysetPage<TicketDto>> getTicketPage(
+            @RequestParam Long restaurantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        KeysetPage<TicketDto> page = ticketService.getTicketPage(restaurantId, from, to, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('RESTAURATEUR') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam Long restaurantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ticketService.exportTickets(restaurantId, from, to));
+    }
+
     @GetMapping("/open")
     @PreAuthorize("hasRole('RESTAURATEUR')")
     public ResponseEntity<List<TicketDto>> getOpenTickets(@RequestParam Long restaurantId) {
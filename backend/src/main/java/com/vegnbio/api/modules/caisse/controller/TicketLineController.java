@@ -1,6 +1,7 @@
 package com.vegnbio.api.modules.caisse.controller;
 
 import com.vegnbio.api.modules.caisse.dto.CreateTicketLineRequest;
+import com.vegnbio.api.modules.caisse.dto.CreateTicketLinesRequest;
 import com.vegnbio.api.modules.caisse.dto.TicketLineDto;
 import com.vegnbio.api.modules.caisse.service.TicketLineService;
 import jakarta.validation.Valid;
@@ -28,6 +29,15 @@ public class TicketLineController {
         return ResponseEntity.ok(ticketLine);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<List<TicketLineDto>> createTicketLines(
+            @PathVariable("ticketId") Long ticketId,
+            @Valid @RequestBody CreateTicketLinesRequest request
+    ) {
+        return ResponseEntity.ok(ticketLineService.createTicketLines(ticketId, request));
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('RESTAURATEUR')")
     public ResponseEntity<List<TicketLineDto>> getTicketLines(@PathVariable("ticketId") Long ticketId) {
@@ -0,0 +1,11 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateTicketLinesRequest(
+        @NotEmpty @Size(max = 200) List<@Valid CreateTicketLineRequest> lines
+) {}
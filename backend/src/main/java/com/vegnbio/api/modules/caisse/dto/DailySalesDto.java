@@ -0,0 +1,11 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import java.time.LocalDate;
+
+public record DailySalesDto(
+        LocalDate date,
+        long ticketCount,
+        long revenueCents,
+        long itemsSold,
+        long averageBasketCents
+) {}
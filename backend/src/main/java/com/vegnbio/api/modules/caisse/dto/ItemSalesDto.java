@@ -0,0 +1,9 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+public record ItemSalesDto(
+        Long menuItemId,
+        String menuItemName,
+        long quantity,
+        long revenueCents,
+        long ticketCount
+) {}
@@ -0,0 +1,16 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record SalesReportDto(
+        Long restaurantId,
+        LocalDate from,
+        LocalDate to,
+        long ticketCount,
+        long revenueCents,
+        long itemsSold,
+        long averageBasketCents,
+        List<DailySalesDto> days,
+        List<ItemSalesDto> items
+) {}
@@ -0,0 +1,14 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Ligne saisie hors ligne, avec le prix affiché par la caisse au moment de la vente.
+ */
+public record SyncTicketLineRequest(
+        @NotNull Long menuItemId,
+        @Positive @NotNull Integer qty,
+        @PositiveOrZero @NotNull Integer unitPriceCents
+) {}
@@ -0,0 +1,20 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ticket complet saisi hors ligne ; {@code clientTicketId} sert de clé d'idempotence, {@code closedAt} vide = ticket ouvert.
+ */
+public record SyncTicketRequest(
+        @NotBlank @Size(max = 64) String clientTicketId,
+        @NotNull LocalDateTime openedAt,
+        LocalDateTime closedAt,
+        @NotEmpty @Size(max = 200) List<@Valid SyncTicketLineRequest> lines
+) {}
@@ -0,0 +1,11 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+/**
+ * Résultat par ticket : CREATED, DUPLICATE (déjà synchronisé, {@code ticketId} existant) ou REJECTED avec le motif.
+ */
+public record SyncTicketResultDto(
+        String clientTicketId,
+        String status,
+        Long ticketId,
+        String error
+) {}
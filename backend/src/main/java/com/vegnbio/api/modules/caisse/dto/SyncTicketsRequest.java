@@ -0,0 +1,13 @@
+package com.vegnbio.api.modules.caisse.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record SyncTicketsRequest(
+        @NotNull Long restaurantId,
+        @NotEmpty @Size(max = 500) List<@Valid SyncTicketRequest> tickets
+) {}
@@ -0,0 +1,45 @@
+package com.vegnbio.api.modules.caisse.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Ventes d'un plat dans un restaurant sur une journée ; {@code ticketCount} compte les tickets contenant le plat.
+ */
+@Entity
+@Table(name = "daily_item_sales")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyItemSales {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+    
+    // Null une fois le plat supprimé ; le nom recopié reste
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+    
+    @Column(name = "menu_item_name", length = 190)
+    private String menuItemName;
+    
+    @Column(name = "ticket_count", nullable = false)
+    private Long ticketCount;
+    
+    @Column(nullable = false)
+    private Long quantity;
+    
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+}
@@ -0,0 +1,38 @@
+package com.vegnbio.api.modules.caisse.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Ventes d'un restaurant sur une journée, incrémentées à la clôture de chaque ticket.
+ */
+@Entity
+@Table(name = "daily_sales")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySales {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+    
+    @Column(name = "ticket_count", nullable = false)
+    private Long ticketCount;
+    
+    @Column(name = "revenue_cents", nullable = false)
+    private Long revenueCents;
+    
+    @Column(name = "items_sold", nullable = false)
+    private Long itemsSold;
+}
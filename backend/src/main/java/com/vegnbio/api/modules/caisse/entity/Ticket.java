@@ -25,6 +25,10 @@ public class Ticket {
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
     
+    // Identifiant généré par la caisse pour les tickets synchronisés après une saisie hors ligne
+    @Column(name = "client_ticket_id", length = 64)
+    private String clientTicketId;
+    
     @Column(name = "opened_at", nullable = false)
     private LocalDateTime openedAt;
     
@@ -50,17 +54,12 @@ public class Ticket {
         }
     }
     
-    public void close() {
+    /**
+     * Clôture le ticket ; le total tenu à jour ligne par ligne est rapproché de la somme des lignes en base.
+     */
+    public void close(int linesTotalCents) {
         this.status = TicketStatus.CLOSED;
         this.closedAt = LocalDateTime.now();
-        calculateTotal();
-    }
-    
-    public void calculateTotal() {
-        if (ticketLines != null) {
-            this.totalCents = ticketLines.stream()
-                    .mapToInt(TicketLine::getLineTotalCents)
-                    .sum();
-        }
+        this.totalCents = linesTotalCents;
     }
 }
@@ -0,0 +1,31 @@
+package com.vegnbio.api.modules.caisse.repo;
+
+import com.vegnbio.api.modules.caisse.entity.DailyItemSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyItemSalesRepository extends JpaRepository<DailyItemSales, Long> {
+    
+    // Le nom du plat est recopié à l'insertion : la ligne reste lisible si le plat est supprimé (menu_item_id passe à NULL)
+    String INCREMENT_SQL = "INSERT INTO daily_item_sales (restaurant_id, sales_date, menu_item_id, menu_item_name, ticket_count, quantity, revenue_cents) " +
+                           "VALUES (?, ?, ?, (SELECT name FROM menu_items WHERE id = ?), ?, ?, ?) " +
+                           "ON CONFLICT (restaurant_id, sales_date, menu_item_id) DO UPDATE SET " +
+                           "ticket_count = daily_item_sales.ticket_count + EXCLUDED.ticket_count, " +
+                           "quantity = daily_item_sales.quantity + EXCLUDED.quantity, " +
+                           "revenue_cents = daily_item_sales.revenue_cents + EXCLUDED.revenue_cents";
+    
+    /**
+     * Totaux par plat sur la période : id (null pour un plat supprimé), nom, quantité, chiffre d'affaires, nombre de tickets.
+     */
+    @Query("SELECT s.menuItemId, s.menuItemName, SUM(s.quantity), SUM(s.revenueCents), SUM(s.ticketCount) " +
+           "FROM DailyItemSales s " +
+           "WHERE s.restaurantId = :restaurantId AND s.salesDate BETWEEN :from AND :to " +
+           "GROUP BY s.menuItemId, s.menuItemName ORDER BY SUM(s.revenueCents) DESC, s.menuItemId ASC")
+    List<Object[]> sumByMenuItem(@Param("restaurantId") Long restaurantId,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+}
@@ -0,0 +1,19 @@
+package com.vegnbio.api.modules.caisse.repo;
+
+import com.vegnbio.api.modules.caisse.entity.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, Long> {
+    
+    String INCREMENT_SQL = "INSERT INTO daily_sales (restaurant_id, sales_date, ticket_count, revenue_cents, items_sold) " +
+                           "VALUES (?, ?, ?, ?, ?) " +
+                           "ON CONFLICT (restaurant_id, sales_date) DO UPDATE SET " +
+                           "ticket_count = daily_sales.ticket_count + EXCLUDED.ticket_count, " +
+                           "revenue_cents = daily_sales.revenue_cents + EXCLUDED.revenue_cents, " +
+                           "items_sold = daily_sales.items_sold + EXCLUDED.items_sold";
+    
+    List<DailySales> findByRestaurantIdAndSalesDateBetweenOrderBySalesDateAsc(Long restaurantId, LocalDate from, LocalDate to);
+}
@@ -2,12 +2,29 @@ package com.vegnbio.api.modules.caisse.repo;
 
 import com.vegnbio.api.modules.caisse.entity.TicketLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface TicketLineRepository extends JpaRepository<TicketLine, Long> {
     
+    String INSERT_SQL = "INSERT INTO ticket_lines (ticket_id, menu_item_id, qty, unit_price_cents, line_total_cents) " +
+                        "VALUES (?, ?, ?, ?, ?)";
+    
     List<TicketLine> findByTicketId(Long ticketId);
     
     List<TicketLine> findByTicketIdOrderById(Long ticketId);
+    
+    @Query("SELECT COALESCE(SUM(l.lineTotalCents), 0) FROM TicketLine l WHERE l.ticket.id = :ticketId")
+    int sumLineTotalCents(@Param("ticketId") Long ticketId);
+    
+    @Query("SELECT l.menuItem.id, SUM(l.qty), SUM(l.lineTotalCents) FROM TicketLine l " +
+           "WHERE l.ticket.id = :ticketId GROUP BY l.menuItem.id")
+    List<Object[]> sumByMenuItem(@Param("ticketId") Long ticketId);
+    
+    @Modifying
+    @Query("DELETE FROM TicketLine l WHERE l.id = :id")
+    int deleteLineById(@Param("id") Long id);
 }
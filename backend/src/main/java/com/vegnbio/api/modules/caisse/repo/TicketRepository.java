@@ -2,12 +2,18 @@ package com.vegnbio.api.modules.caisse.repo;
 
 import com.vegnbio.api.modules.caisse.entity.Ticket;
 import com.vegnbio.api.modules.caisse.entity.TicketStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
     
@@ -23,4 +29,34 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     );
     
     List<Ticket> findByRestaurantId(Long restaurantId);
+    
+    @Query("SELECT t.clientTicketId, t.id FROM Ticket t WHERE t.restaurant.id = :restaurantId " +
+           "AND t.clientTicketId IN :clientTicketIds")
+    List<Object[]> findIdsByClientTicketIds(@Param("restaurantId") Long restaurantId,
+                                            @Param("clientTicketIds") Collection<String> clientTicketIds);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id = :id")
+    Optional<Ticket> findByIdForUpdate(@Param("id") Long id);
+    
+    /**
+     * Ajoute un montant au total d'un ticket ouvert ; retourne 0 si le ticket est clos ou inexistant.
+     */
+    @Modifying
+    @Query(value = "UPDATE tickets SET total_cents = total_cents + :delta WHERE id = :ticketId AND status = 'OPEN'", nativeQuery = true)
+    int addToOpenTicketTotal(@Param("ticketId") Long ticketId, @Param("delta") int delta);
+    
+    @Query("SELECT t.id FROM Ticket t WHERE t.restaurant.id = :restaurantId " +
+           "AND t.openedAt >= :from AND t.openedAt <= :to " +
+           "AND (t.openedAt < :openedAt OR (t.openedAt = :openedAt AND t.id < :id)) " +
+           "ORDER BY t.openedAt DESC, t.id DESC")
+    List<Long> findPageIds(@Param("restaurantId") Long restaurantId,
+                           @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to,
+                           @Param("openedAt") LocalDateTime openedAt,
+                           @Param("id") Long id,
+                           Pageable pageable);
+    
+    @Query("SELECT t FROM Ticket t LEFT JOIN FETCH t.ticketLines l LEFT JOIN FETCH l.menuItem WHERE t.id IN :ids")
+    List<Ticket> findWithLinesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,156 @@
+package com.vegnbio.api.modules.caisse.service;
+
+import com.vegnbio.api.modules.caisse.dto.DailySalesDto;
+import com.vegnbio.api.modules.caisse.dto.ItemSalesDto;
+import com.vegnbio.api.modules.caisse.dto.SalesReportDto;
+import com.vegnbio.api.modules.caisse.entity.DailySales;
+import com.vegnbio.api.modules.caisse.entity.Ticket;
+import com.vegnbio.api.modules.caisse.repo.DailyItemSalesRepository;
+import com.vegnbio.api.modules.caisse.repo.DailySalesRepository;
+import com.vegnbio.api.modules.caisse.repo.TicketLineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrégats de ventes journaliers par restaurant et par plat.
+ * Incrémentés dans la transaction de clôture d'un ticket (upserts sur {@code daily_sales} et {@code daily_item_sales}) ;
+ * les rapports sont calculés uniquement à partir de ces tables, sans relire les tickets.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final DailySalesRepository dailySalesRepository;
+    private final DailyItemSalesRepository dailyItemSalesRepository;
+    private final TicketLineRepository ticketLineRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ventes d'un plat dans un ticket, toutes lignes confondues.
+     */
+    public record SoldItem(Long menuItemId, long quantity, long revenueCents) {}
+
+    /**
+     * Ticket clos à ajouter aux agrégats de son jour de clôture.
+     */
+    public record ClosedTicket(Long restaurantId, LocalDate day, long totalCents, List<SoldItem> items) {}
+
+    private record DayKey(Long restaurantId, LocalDate day) {}
+
+    private record ItemKey(Long restaurantId, LocalDate day, Long menuItemId) {}
+
+    /**
+     * Ajoute un ticket qui vient d'être clos aux agrégats de son jour de clôture.
+     */
+    @Transactional
+    public void recordClosedTicket(Ticket ticket) {
+        // Lignes regroupées par plat : id, quantité, montant
+        List<SoldItem> items = ticketLineRepository.sumByMenuItem(ticket.getId()).stream()
+                .map(row -> new SoldItem((Long) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue()))
+                .toList();
+        recordClosedTickets(List.of(new ClosedTicket(ticket.getRestaurant().getId(), ticket.getClosedAt().toLocalDate(),
+                ticket.getTotalCents(), items)));
+    }
+
+    /**
+     * Ajoute des tickets clos aux agrégats, regroupés par jour et par plat avant les upserts (deux lots JDBC).
+     */
+    @Transactional
+    public void recordClosedTickets(List<ClosedTicket> tickets) {
+        Map<DayKey, long[]> days = new LinkedHashMap<>();
+        Map<ItemKey, long[]> items = new LinkedHashMap<>();
+        for (ClosedTicket ticket : tickets) {
+            long[] day = days.computeIfAbsent(new DayKey(ticket.restaurantId(), ticket.day()), key -> new long[3]);
+            day[0]++;
+            day[1] += ticket.totalCents();
+            for (SoldItem item : ticket.items()) {
+                day[2] += item.quantity();
+                long[] sold = items.computeIfAbsent(new ItemKey(ticket.restaurantId(), ticket.day(), item.menuItemId()), key -> new long[3]);
+                sold[0]++;
+                sold[1] += item.quantity();
+                sold[2] += item.revenueCents();
+            }
+        }
+        if (!days.isEmpty()) {
+            jdbcTemplate.batchUpdate(DailySalesRepository.INCREMENT_SQL, days.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey().restaurantId(), Date.valueOf(entry.getKey().day()),
+                            entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]})
+                    .toList());
+        }
+        if (!items.isEmpty()) {
+            jdbcTemplate.batchUpdate(DailyItemSalesRepository.INCREMENT_SQL, items.entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey().restaurantId(), Date.valueOf(entry.getKey().day()),
+                            entry.getKey().menuItemId(), entry.getKey().menuItemId(), entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]})
+                    .toList());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesDto> getDailySales(Long restaurantId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailySalesRepository.findByRestaurantIdAndSalesDateBetweenOrderBySalesDateAsc(restaurantId, from, to)
+                .stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItemSalesDto> getItemSales(Long restaurantId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return dailyItemSalesRepository.sumByMenuItem(restaurantId, from, to).stream()
+                .map(row -> new ItemSalesDto(
+                        (Long) row[0],
+                        (String) row[1],
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        ((Number) row[4]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Totaux de la période, détail par jour et classement des plats par chiffre d'affaires.
+     */
+    @Transactional(readOnly = true)
+    public SalesReportDto getSalesReport(Long restaurantId, LocalDate from, LocalDate to) {
+        List<DailySalesDto> days = getDailySales(restaurantId, from, to);
+        long ticketCount = days.stream().mapToLong(DailySalesDto::ticketCount).sum();
+        long revenueCents = days.stream().mapToLong(DailySalesDto::revenueCents).sum();
+        long itemsSold = days.stream().mapToLong(DailySalesDto::itemsSold).sum();
+        return new SalesReportDto(restaurantId, from, to, ticketCount, revenueCents, itemsSold,
+                averageBasket(revenueCents, ticketCount), days, getItemSales(restaurantId, from, to));
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Invalid date range");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range too large");
+        }
+    }
+
+    private static long averageBasket(long revenueCents, long ticketCount) {
+        return ticketCount == 0 ? 0 : Math.round((double) revenueCents / ticketCount);
+    }
+
+    private DailySalesDto toDto(DailySales sales) {
+        return new DailySalesDto(
+                sales.getSalesDate(),
+                sales.getTicketCount(),
+                sales.getRevenueCents(),
+                sales.getItemsSold(),
+                averageBasket(sales.getRevenueCents(), sales.getTicketCount())
+        );
+    }
+}
@@ -1,18 +1,28 @@
 package com.vegnbio.api.modules.caisse.service;
 
 import com.vegnbio.api.modules.caisse.dto.CreateTicketLineRequest;
+import com.vegnbio.api.modules.caisse.dto.CreateTicketLinesRequest;
 import com.vegnbio.api.modules.caisse.dto.TicketLineDto;
-import com.vegnbio.api.modules.caisse.entity.Ticket;
 import com.vegnbio.api.modules.caisse.entity.TicketLine;
-import com.vegnbio.api.modules.caisse.entity.TicketStatus;
 import com.vegnbio.api.modules.caisse.repo.TicketLineRepository;
 import com.vegnbio.api.modules.caisse.repo.TicketRepository;
+import com.vegnbio.api.modules.menu.entity.MenuItem;
 import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,33 +32,91 @@ public class TicketLineService {
     private final TicketLineRepository ticketLineRepository;
     private final TicketRepository ticketRepository;
     private final MenuItemRepository menuItemRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public TicketLineDto createTicketLine(Long ticketId, CreateTicketLineRequest request) {
-        var ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new RuntimeException("Ticket not found"));
-        
-        if (ticket.getStatus() == TicketStatus.CLOSED) {
-            throw new RuntimeException("Cannot add items to a closed ticket");
-        }
-        
         var menuItem = menuItemRepository.findById(request.menuItemId())
                 .orElseThrow(() -> new RuntimeException("Menu item not found"));
         
         var ticketLine = TicketLine.builder()
-                .ticket(ticket)
+                .ticket(ticketRepository.getReferenceById(ticketId))
                 .menuItem(menuItem)
                 .qty(request.qty())
                 .unitPriceCents(menuItem.getPriceCents())
                 .build();
         
+        // Total mis à jour par delta, sans recharger les lignes du ticket
+        addToTotal(ticketId, lineTotal(ticketLine), "Cannot add items to a closed ticket");
         ticketLineRepository.save(ticketLine);
         
-        // Recalculate ticket total
-        ticket.calculateTotal();
-        ticketRepository.save(ticket);
+        return toDto(ticketLine, ticketId);
+    }
+
+    /**
+     * Ajoute plusieurs lignes en une seule mise à jour du total et un seul lot JDBC d'insertions.
+     */
+    @Transactional
+    public List<TicketLineDto> createTicketLines(Long ticketId, CreateTicketLinesRequest request) {
+        Set<Long> menuItemIds = request.lines().stream()
+                .map(CreateTicketLineRequest::menuItemId)
+                .collect(Collectors.toSet());
+        Map<Long, MenuItem> menuItems = menuItemRepository.findAllById(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        if (menuItems.size() != menuItemIds.size()) {
+            throw new RuntimeException("Menu item not found");
+        }
         
-        return toDto(ticketLine);
+        List<TicketLine> lines = request.lines().stream()
+                .map(line -> TicketLine.builder()
+                        .menuItem(menuItems.get(line.menuItemId()))
+                        .qty(line.qty())
+                        .unitPriceCents(menuItems.get(line.menuItemId()).getPriceCents())
+                        .build())
+                .toList();
+        int delta = 0;
+        for (TicketLine line : lines) {
+            line.setLineTotalCents(lineTotal(line));
+            delta = Math.addExact(delta, line.getLineTotalCents());
+        }
+        addToTotal(ticketId, delta, "Cannot add items to a closed ticket");
+        return insertLines(ticketId, lines);
+    }
+
+    /**
+     * Insère des lignes déjà valorisées (plat, quantité, prix, montant) en un lot JDBC, sans modifier le total du ticket.
+     */
+    @Transactional
+    public List<TicketLineDto> insertLines(Long ticketId, List<TicketLine> lines) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(TicketLineRepository.INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        TicketLine line = lines.get(i);
+                        statement.setLong(1, ticketId);
+                        statement.setLong(2, line.getMenuItem().getId());
+                        statement.setInt(3, line.getQty());
+                        statement.setInt(4, line.getUnitPriceCents());
+                        statement.setInt(5, line.getLineTotalCents());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lines.size();
+                    }
+                },
+                keys);
+        
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<TicketLineDto> created = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            TicketLine line = lines.get(i);
+            line.setId(((Number) generated.get(i).get("id")).longValue());
+            created.add(toDto(line, ticketId));
+        }
+        return created;
     }
 
     @Transactional(readOnly = true)
@@ -69,27 +137,40 @@ public class TicketLineService {
             throw new RuntimeException("Ticket line does not belong to the specified ticket");
         }
         
-        var ticket = ticketLine.getTicket();
-        if (ticket.getStatus() == TicketStatus.CLOSED) {
-            throw new RuntimeException("Cannot modify a closed ticket");
+        // Le total n'est décrémenté que si cette requête a bien supprimé la ligne
+        if (ticketLineRepository.deleteLineById(ticketLineId) == 0) {
+            throw new RuntimeException("Ticket line not found");
         }
-        
-        ticketLineRepository.delete(ticketLine);
-        
-        // Recalculate ticket total
-        ticket.calculateTotal();
-        ticketRepository.save(ticket);
+        addToTotal(ticketId, -ticketLine.getLineTotalCents(), "Cannot modify a closed ticket");
+    }
+
+    /**
+     * Mise à jour conditionnelle du total (ticket ouvert uniquement) ; le verrou de ligne posé par l'UPDATE
+     * sérialise les ajouts concurrents et la clôture du ticket.
+     */
+    private void addToTotal(Long ticketId, int delta, String closedMessage) {
+        if (ticketRepository.addToOpenTicketTotal(ticketId, delta) == 0) {
+            throw new RuntimeException(ticketRepository.existsById(ticketId) ? closedMessage : "Ticket not found");
+        }
+    }
+
+    private static int lineTotal(TicketLine line) {
+        return Math.multiplyExact(line.getQty(), line.getUnitPriceCents());
     }
 
     private TicketLineDto toDto(TicketLine line) {
+        return toDto(line, line.getTicket().getId());
+    }
+
+    private TicketLineDto toDto(TicketLine line, Long ticketId) {
         return new TicketLineDto(
                 line.getId(),
-                line.getTicket().getId(),
+                ticketId,
                 line.getMenuItem().getId(),
                 line.getMenuItem().getName(),
                 line.getQty(),
                 line.getUnitPriceCents(),
-                line.getLineTotalCents()
+                lineTotal(line)
         );
     }
 }
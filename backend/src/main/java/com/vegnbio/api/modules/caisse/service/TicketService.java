@@ -1,25 +1,40 @@
 package com.vegnbio.api.modules.caisse.service;
 
+import com.vegnbio.api.config.JsonExportWriter;
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.caisse.dto.CreateTicketRequest;
 import com.vegnbio.api.modules.caisse.dto.TicketDto;
 import com.vegnbio.api.modules.caisse.entity.Ticket;
 import com.vegnbio.api.modules.caisse.entity.TicketStatus;
+import com.vegnbio.api.modules.caisse.repo.TicketLineRepository;
 import com.vegnbio.api.modules.caisse.repo.TicketRepository;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
 
     private final TicketRepository ticketRepository;
+    private final TicketLineRepository ticketLineRepository;
     private final RestaurantRepository restaurantRepository;
+    private final JsonExportWriter jsonExportWriter;
+    private final SalesAnalyticsService salesAnalyticsService;
+    
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int EXPORT_CHUNK = 500;
 
     @Transactional
     public TicketDto createTicket(CreateTicketRequest request) {
@@ -39,15 +54,17 @@ public class TicketService {
 
     @Transactional
     public TicketDto closeTicket(Long ticketId) {
-        var ticket = ticketRepository.findById(ticketId)
+        // Verrou sur le ticket : les ajouts de lignes en cours sont commités avant la somme
+        var ticket = ticketRepository.findByIdForUpdate(ticketId)
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         
         if (ticket.getStatus() == TicketStatus.CLOSED) {
             throw new RuntimeException("Ticket is already closed");
         }
         
-        ticket.close();
+        ticket.close(ticketLineRepository.sumLineTotalCents(ticketId));
         ticketRepository.save(ticket);
+        salesAnalyticsService.recordClosedTicket(ticket);
         return toDto(ticket);
     }
 
@@ -65,6 +82,42 @@ public class TicketService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<TicketDto> getTicketPage(Long restaurantId, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        List<Ticket> tickets = loadTickets(restaurantId, from, to, KeysetCursor.decode(cursor), size + 1);
+        return KeysetPage.of(tickets, size, TicketService::cursorOf, this::toDto);
+    }
+
+    /**
+     * Export complet en flux JSON, lu par lots de tickets avec leurs lignes (deux requêtes par lot).
+     */
+    public StreamingResponseBody exportTickets(Long restaurantId, LocalDateTime from, LocalDateTime to) {
+        return jsonExportWriter.stream(() -> Stream.iterate(
+                        loadTickets(restaurantId, from, to, KeysetCursor.FIRST, EXPORT_CHUNK),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < EXPORT_CHUNK ? List.<Ticket>of()
+                                : loadTickets(restaurantId, from, to, cursorOf(chunk.get(chunk.size() - 1)), EXPORT_CHUNK))
+                .flatMap(List::stream), this::toDto);
+    }
+
+    private List<Ticket> loadTickets(Long restaurantId, LocalDateTime from, LocalDateTime to, KeysetCursor position, int rows) {
+        List<Long> ids = ticketRepository.findPageIds(restaurantId,
+                from != null ? from : EARLIEST,
+                to != null ? to : KeysetCursor.FIRST.createdAt(),
+                position.createdAt(), position.id(), PageRequest.of(0, rows));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Ticket> byId = ticketRepository.findWithLinesByIdIn(ids).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity(), (first, duplicate) -> first));
+        return ids.stream().map(byId::get).toList();
+    }
+
+    private static KeysetCursor cursorOf(Ticket ticket) {
+        return new KeysetCursor(ticket.getOpenedAt(), ticket.getId());
+    }
+
     @Transactional(readOnly = true)
     public List<TicketDto> getOpenTicketsByRestaurant(Long restaurantId) {
         return ticketRepository.findByRestaurantIdAndStatus(restaurantId, TicketStatus.OPEN)
@@ -0,0 +1,227 @@
+package com.vegnbio.api.modules.caisse.service;
+
+import com.vegnbio.api.modules.caisse.dto.SyncTicketLineRequest;
+import com.vegnbio.api.modules.caisse.dto.SyncTicketRequest;
+import com.vegnbio.api.modules.caisse.dto.SyncTicketResultDto;
+import com.vegnbio.api.modules.caisse.dto.SyncTicketsRequest;
+import com.vegnbio.api.modules.caisse.entity.TicketStatus;
+import com.vegnbio.api.modules.caisse.repo.TicketLineRepository;
+import com.vegnbio.api.modules.caisse.repo.TicketRepository;
+import com.vegnbio.api.modules.menu.entity.MenuItem;
+import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
+import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Synchronisation des tickets saisis hors ligne par les caisses.
+ * Un lot de tickets complets est validé (prix des plats lus en une requête) puis écrit dans une seule transaction :
+ * un lot JDBC pour les tickets, un pour les lignes, puis les agrégats de ventes des tickets clos.
+ * L'identifiant client rend l'envoi idempotent : un ticket déjà synchronisé est signalé DUPLICATE, sans nouvelle écriture.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TicketSyncService {
+
+    public static final String CREATED = "CREATED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String REJECTED = "REJECTED";
+
+    // Un envoi concurrent du même ticket est ignoré ici puis relu comme doublon
+    private static final String INSERT_TICKET_SQL = "INSERT INTO tickets " +
+            "(restaurant_id, client_ticket_id, opened_at, closed_at, total_cents, status) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (restaurant_id, client_ticket_id) WHERE client_ticket_id IS NOT NULL DO NOTHING";
+
+    private record Accepted(int index, SyncTicketRequest ticket, int totalCents) {}
+
+    private final TicketRepository ticketRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public List<SyncTicketResultDto> sync(SyncTicketsRequest request) {
+        Long restaurantId = request.restaurantId();
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found");
+        }
+        List<SyncTicketRequest> tickets = request.tickets();
+        SyncTicketResultDto[] results = new SyncTicketResultDto[tickets.size()];
+
+        Map<String, Long> existing = findExisting(restaurantId, tickets.stream()
+                .map(SyncTicketRequest::clientTicketId)
+                .collect(Collectors.toSet()));
+        Map<Long, Integer> prices = menuItemRepository.findAllById(tickets.stream()
+                        .flatMap(ticket -> ticket.lines().stream())
+                        .map(SyncTicketLineRequest::menuItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, MenuItem::getPriceCents));
+
+        List<Accepted> accepted = new ArrayList<>();
+        // Première occurrence d'un identifiant dans le lot ; les suivantes reprennent son résultat
+        Map<String, Integer> firstIndex = new HashMap<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            SyncTicketRequest ticket = tickets.get(i);
+            Long existingId = existing.get(ticket.clientTicketId());
+            if (existingId != null) {
+                results[i] = new SyncTicketResultDto(ticket.clientTicketId(), DUPLICATE, existingId, null);
+                continue;
+            }
+            if (firstIndex.putIfAbsent(ticket.clientTicketId(), i) != null) {
+                continue;
+            }
+            String error = validate(ticket, prices);
+            if (error != null) {
+                results[i] = new SyncTicketResultDto(ticket.clientTicketId(), REJECTED, null, error);
+                continue;
+            }
+            accepted.add(new Accepted(i, ticket, totalCents(ticket)));
+        }
+
+        Map<String, Long> created = insertTickets(restaurantId, accepted);
+        Set<String> raced = accepted.stream()
+                .map(entry -> entry.ticket().clientTicketId())
+                .filter(clientTicketId -> !created.containsKey(clientTicketId))
+                .collect(Collectors.toSet());
+        Map<String, Long> concurrent = raced.isEmpty() ? Map.of() : findExisting(restaurantId, raced);
+
+        List<Accepted> written = new ArrayList<>();
+        for (Accepted entry : accepted) {
+            String clientTicketId = entry.ticket().clientTicketId();
+            Long ticketId = created.get(clientTicketId);
+            if (ticketId != null) {
+                written.add(entry);
+                results[entry.index()] = new SyncTicketResultDto(clientTicketId, CREATED, ticketId, null);
+            } else {
+                results[entry.index()] = new SyncTicketResultDto(clientTicketId, DUPLICATE, concurrent.get(clientTicketId), null);
+            }
+        }
+        insertLines(written, created);
+        salesAnalyticsService.recordClosedTickets(written.stream()
+                .filter(entry -> entry.ticket().closedAt() != null)
+                .map(entry -> toClosedTicket(restaurantId, entry))
+                .toList());
+
+        for (int i = 0; i < tickets.size(); i++) {
+            if (results[i] == null) {
+                SyncTicketResultDto first = results[firstIndex.get(tickets.get(i).clientTicketId())];
+                results[i] = first.status().equals(REJECTED) ? first
+                        : new SyncTicketResultDto(first.clientTicketId(), DUPLICATE, first.ticketId(), null);
+            }
+        }
+        log.info("Ticket sync for restaurant {}: {} received, {} created", restaurantId, tickets.size(), written.size());
+        return Arrays.asList(results);
+    }
+
+    private Map<String, Long> findExisting(Long restaurantId, Set<String> clientTicketIds) {
+        return ticketRepository.findIdsByClientTicketIds(restaurantId, clientTicketIds).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
+    }
+
+    /**
+     * Motif de rejet, ou {@code null} si le ticket est valide : plats connus, prix identiques au catalogue, dates cohérentes.
+     */
+    private static String validate(SyncTicketRequest ticket, Map<Long, Integer> prices) {
+        if (ticket.closedAt() != null && ticket.closedAt().isBefore(ticket.openedAt())) {
+            return "Ticket closed before it was opened";
+        }
+        long total = 0;
+        for (SyncTicketLineRequest line : ticket.lines()) {
+            Integer price = prices.get(line.menuItemId());
+            if (price == null) {
+                return "Menu item not found: " + line.menuItemId();
+            }
+            if (!price.equals(line.unitPriceCents())) {
+                return "Price mismatch for menu item " + line.menuItemId() + ": expected " + price;
+            }
+            total += (long) line.qty() * line.unitPriceCents();
+        }
+        if (total > Integer.MAX_VALUE) {
+            return "Ticket total too large";
+        }
+        return null;
+    }
+
+    private static int totalCents(SyncTicketRequest ticket) {
+        return ticket.lines().stream().mapToInt(line -> line.qty() * line.unitPriceCents()).sum();
+    }
+
+    /**
+     * Insère les tickets en un lot et retourne les identifiants générés par identifiant client.
+     */
+    private Map<String, Long> insertTickets(Long restaurantId, List<Accepted> accepted) {
+        if (accepted.isEmpty()) {
+            return Map.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TICKET_SQL, new String[]{"id", "client_ticket_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        SyncTicketRequest ticket = accepted.get(i).ticket();
+                        statement.setLong(1, restaurantId);
+                        statement.setString(2, ticket.clientTicketId());
+                        statement.setTimestamp(3, Timestamp.valueOf(ticket.openedAt()));
+                        if (ticket.closedAt() != null) {
+                            statement.setTimestamp(4, Timestamp.valueOf(ticket.closedAt()));
+                        } else {
+                            statement.setNull(4, Types.TIMESTAMP);
+                        }
+                        statement.setInt(5, accepted.get(i).totalCents());
+                        statement.setString(6, (ticket.closedAt() != null ? TicketStatus.CLOSED : TicketStatus.OPEN).name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accepted.size();
+                    }
+                },
+                keys);
+        return keys.getKeyList().stream()
+                .collect(Collectors.toMap(row -> (String) row.get("client_ticket_id"), row -> ((Number) row.get("id")).longValue()));
+    }
+
+    private void insertLines(List<Accepted> written, Map<String, Long> ticketIds) {
+        List<Object[]> lines = new ArrayList<>();
+        for (Accepted entry : written) {
+            Long ticketId = ticketIds.get(entry.ticket().clientTicketId());
+            for (SyncTicketLineRequest line : entry.ticket().lines()) {
+                lines.add(new Object[]{ticketId, line.menuItemId(), line.qty(), line.unitPriceCents(),
+                        line.qty() * line.unitPriceCents()});
+            }
+        }
+        if (!lines.isEmpty()) {
+            jdbcTemplate.batchUpdate(TicketLineRepository.INSERT_SQL, lines);
+        }
+    }
+
+    private static SalesAnalyticsService.ClosedTicket toClosedTicket(Long restaurantId, Accepted entry) {
+        Map<Long, long[]> byItem = new LinkedHashMap<>();
+        for (SyncTicketLineRequest line : entry.ticket().lines()) {
+            long[] sold = byItem.computeIfAbsent(line.menuItemId(), id -> new long[2]);
+            sold[0] += line.qty();
+            sold[1] += (long) line.qty() * line.unitPriceCents();
+        }
+        return new SalesAnalyticsService.ClosedTicket(restaurantId, entry.ticket().closedAt().toLocalDate(), entry.totalCents(),
+                byItem.entrySet().stream()
+                        .map(item -> new SalesAnalyticsService.SoldItem(item.getKey(), item.getValue()[0], item.getValue()[1]))
+                        .toList());
+    }
+}
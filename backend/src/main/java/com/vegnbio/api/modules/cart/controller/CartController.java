@@ -2,6 +2,8 @@ package com.vegnbio.api.modules.cart.controller;
 
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.cart.dto.*;
+import com.vegnbio.api.modules.caisse.dto.TicketDto;
+import com.vegnbio.api.modules.cart.service.CartCheckoutService;
 import com.vegnbio.api.modules.cart.service.CartService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class CartController {
     
     private final CartService cartService;
+    private final CartCheckoutService cartCheckoutService;
     
     @GetMapping
     @Operation(summary = "Récupérer le panier actif de l'utilisateur")
@@ -60,6 +63,13 @@ public class CartController {
         return ResponseEntity.noContent().build();
     }
     
+    @PostMapping("/checkout")
+    @Operation(summary = "Valider le panier en commande (ticket de caisse du restaurant)")
+    public ResponseEntity<TicketDto> checkout(@AuthenticationPrincipal User user) {
+        TicketDto ticket = cartCheckoutService.checkout(user);
+        return ResponseEntity.ok(ticket);
+    }
+    
     @PostMapping("/abandon")
     @Operation(summary = "Abandonner le panier")
     public ResponseEntity<Void> abandonCart(@AuthenticationPrincipal User user) {
@@ -2,11 +2,15 @@ package com.vegnbio.api.modules.cart.repository;
 
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.cart.entity.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +22,16 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user = :user AND c.status = 'ACTIVE'")
     Optional<Cart> findActiveCartByUserSimple(@Param("user") User user);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId AND c.status = 'ACTIVE'")
+    Optional<Cart> findActiveCartByUserIdForUpdate(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE Cart c SET c.status = :status, c.updatedAt = :updatedAt WHERE c.id = :cartId")
+    int updateStatus(@Param("cartId") Long cartId,
+                     @Param("status") Cart.CartStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
     @Query("SELECT COUNT(c) FROM Cart c WHERE c.user = :user AND c.status = 'ACTIVE'")
     long countActiveCartsByUser(@Param("user") User user);
 }
@@ -0,0 +1,151 @@
+package com.vegnbio.api.modules.cart.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Balayage périodique des paniers : les paniers actifs inactifs depuis trop longtemps passent en ABANDONED,
+ * puis les lignes des paniers abandonnés sont supprimées après la durée de rétention.
+ * Chaque passe est faite en UPDATE/DELETE ensemblistes par tranches, chacune dans une transaction courte
+ * ({@code SKIP LOCKED} : un panier en cours d'écriture est repris au balayage suivant).
+ * Les paniers suivis en mémoire par {@link CartSessionStore} ne sont jamais abandonnés : la liste est relue à chaque tranche,
+ * et un panier repris en mémoire voit sa date de modification avancée par le store.
+ */
+@Slf4j
+@Component
+public class AbandonedCartSweeper {
+
+    private static final String ABANDON_SQL = "UPDATE carts SET status = 'ABANDONED', updated_at = NOW() WHERE id IN (" +
+            "SELECT id FROM carts WHERE status = 'ACTIVE' AND COALESCE(updated_at, created_at) < ? AND id <> ALL(?) " +
+            "ORDER BY COALESCE(updated_at, created_at), id LIMIT ? FOR UPDATE SKIP LOCKED)";
+    private static final String PURGE_SQL = "DELETE FROM cart_items WHERE id IN (" +
+            "SELECT ci.id FROM carts c JOIN cart_items ci ON ci.cart_id = c.id " +
+            "WHERE c.status = 'ABANDONED' AND COALESCE(c.updated_at, c.created_at) < ? " +
+            "LIMIT ? FOR UPDATE OF ci SKIP LOCKED)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CartSessionStore cartSessionStore;
+    private final TransactionTemplate chunkTransaction;
+    private final long intervalMillis;
+    private final long idleHours;
+    private final long purgeAfterDays;
+    private final int chunkSize;
+
+    private final Counter abandoned;
+    private final Counter purged;
+    private final DistributionSummary abandonedPerRun;
+    private final DistributionSummary purgedPerRun;
+
+    private volatile boolean running = true;
+    private Thread sweeper;
+
+    public AbandonedCartSweeper(JdbcTemplate jdbcTemplate,
+                                CartSessionStore cartSessionStore,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cart.sweeper.interval-minutes:15}") long intervalMinutes,
+                                @Value("${app.cart.sweeper.idle-hours:24}") long idleHours,
+                                @Value("${app.cart.sweeper.purge-after-days:30}") long purgeAfterDays,
+                                @Value("${app.cart.sweeper.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cartSessionStore = cartSessionStore;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.intervalMillis = TimeUnit.MINUTES.toMillis(Math.max(intervalMinutes, 1));
+        this.idleHours = Math.max(idleHours, 1);
+        this.purgeAfterDays = Math.max(purgeAfterDays, 0);
+        this.chunkSize = Math.max(chunkSize, 1);
+
+        this.abandoned = meterRegistry.counter("cart.sweeper.rows", "action", "abandoned");
+        this.purged = meterRegistry.counter("cart.sweeper.rows", "action", "purged");
+        this.abandonedPerRun = meterRegistry.summary("cart.sweeper.run", "action", "abandoned");
+        this.purgedPerRun = meterRegistry.summary("cart.sweeper.run", "action", "purged");
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = new Thread(this::sweepLoop, "cart-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        sweeper.interrupt();
+        sweeper.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void sweepLoop() {
+        while (running) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                sweep();
+            } catch (Exception e) {
+                log.warn("Cart sweep failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Une passe complète : abandon des paniers inactifs puis purge des lignes, tranche par tranche.
+     */
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp idleBefore = Timestamp.valueOf(now.minusHours(idleHours));
+        long abandonedRows = inChunks(() -> jdbcTemplate.update(connection -> {
+            // Relu à chaque tranche : un panier repris en mémoire pendant le balayage est épargné
+            Long[] tracked = cartSessionStore.trackedCartIds();
+            PreparedStatement statement = connection.prepareStatement(ABANDON_SQL);
+            statement.setTimestamp(1, idleBefore);
+            statement.setArray(2, connection.createArrayOf("bigint", tracked));
+            statement.setInt(3, chunkSize);
+            return statement;
+        }));
+        abandoned.increment(abandonedRows);
+        abandonedPerRun.record(abandonedRows);
+
+        Timestamp purgeBefore = Timestamp.valueOf(now.minusDays(purgeAfterDays));
+        long purgedRows = inChunks(() -> jdbcTemplate.update(PURGE_SQL, purgeBefore, chunkSize));
+        purged.increment(purgedRows);
+        purgedPerRun.record(purgedRows);
+
+        if (abandonedRows > 0 || purgedRows > 0) {
+            log.info("Cart sweep: {} carts abandoned, {} cart items purged", abandonedRows, purgedRows);
+        }
+    }
+
+    /**
+     * Répète la tranche (une transaction chacune) jusqu'à ce qu'elle traite moins de lignes que sa taille.
+     */
+    private long inChunks(IntSupplier chunk) {
+        long total = 0;
+        while (running) {
+            Integer rows = chunkTransaction.execute(status -> chunk.getAsInt());
+            int count = rows != null ? rows : 0;
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,127 @@
+package com.vegnbio.api.modules.cart.service;
+
+import com.vegnbio.api.modules.auth.entity.User;
+import com.vegnbio.api.modules.caisse.dto.TicketDto;
+import com.vegnbio.api.modules.caisse.dto.TicketLineDto;
+import com.vegnbio.api.modules.caisse.entity.Ticket;
+import com.vegnbio.api.modules.caisse.entity.TicketLine;
+import com.vegnbio.api.modules.caisse.entity.TicketStatus;
+import com.vegnbio.api.modules.caisse.repo.TicketRepository;
+import com.vegnbio.api.modules.caisse.service.TicketLineService;
+import com.vegnbio.api.modules.cart.entity.Cart;
+import com.vegnbio.api.modules.cart.entity.CartItem;
+import com.vegnbio.api.modules.cart.repository.CartItemRepository;
+import com.vegnbio.api.modules.cart.repository.CartRepository;
+import com.vegnbio.api.modules.menu.entity.MenuItem;
+import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
+import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Passage en caisse d'un panier (click and collect) : le panier devient un ticket ouvert du restaurant,
+ * encaissé et clos par la caisse au retrait.
+ * Dans une seule transaction : verrou du panier, prix relus en une requête, ticket puis lignes en un lot JDBC,
+ * panier marqué CONVERTED_TO_ORDER. Les modifications du panier encore en mémoire sont écrites juste avant.
+ */
+@Slf4j
+@Service
+public class CartCheckoutService {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketLineService ticketLineService;
+    private final CartSessionStore cartSessionStore;
+    private final TransactionTemplate checkoutTransaction;
+
+    public CartCheckoutService(CartRepository cartRepository,
+                               CartItemRepository cartItemRepository,
+                               MenuItemRepository menuItemRepository,
+                               RestaurantRepository restaurantRepository,
+                               TicketRepository ticketRepository,
+                               TicketLineService ticketLineService,
+                               CartSessionStore cartSessionStore,
+                               PlatformTransactionManager transactionManager) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketLineService = ticketLineService;
+        this.cartSessionStore = cartSessionStore;
+        this.checkoutTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public TicketDto checkout(User user) {
+        cartSessionStore.beginCheckout(user.getId());
+        try {
+            return checkoutTransaction.execute(status -> convert(user));
+        } finally {
+            cartSessionStore.checkedOut(user.getId());
+        }
+    }
+
+    private TicketDto convert(User user) {
+        Cart cart = cartRepository.findActiveCartByUserIdForUpdate(user.getId())
+                .orElseThrow(() -> new RuntimeException("No active cart found"));
+        List<CartItem> items = cartItemRepository.findByCartId(cart.getId());
+        if (items.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+
+        Set<Long> menuItemIds = items.stream()
+                .map(item -> item.getMenuItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, MenuItem> menuItems = menuItemRepository.findWithMenuByIdIn(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        if (menuItems.size() != menuItemIds.size()) {
+            throw new RuntimeException("Menu item not found");
+        }
+        Set<Long> restaurantIds = menuItems.values().stream()
+                .map(menuItem -> menuItem.getMenu().getRestaurant().getId())
+                .collect(Collectors.toSet());
+        if (restaurantIds.size() != 1) {
+            throw new RuntimeException("Cart contains items from several restaurants");
+        }
+        Long restaurantId = restaurantIds.iterator().next();
+
+        // Prix du catalogue au moment de la commande, pas celui mémorisé à l'ajout au panier
+        List<TicketLine> lines = items.stream()
+                .map(item -> {
+                    MenuItem menuItem = menuItems.get(item.getMenuItem().getId());
+                    return TicketLine.builder()
+                            .menuItem(menuItem)
+                            .qty(item.getQuantity())
+                            .unitPriceCents(menuItem.getPriceCents())
+                            .lineTotalCents(Math.multiplyExact(item.getQuantity(), menuItem.getPriceCents()))
+                            .build();
+                })
+                .toList();
+        int totalCents = lines.stream().mapToInt(TicketLine::getLineTotalCents).reduce(0, Math::addExact);
+
+        Ticket ticket = ticketRepository.save(Ticket.builder()
+                .restaurant(restaurantRepository.getReferenceById(restaurantId))
+                .clientTicketId("cart-" + cart.getId())
+                .openedAt(LocalDateTime.now())
+                .totalCents(totalCents)
+                .status(TicketStatus.OPEN)
+                .build());
+        List<TicketLineDto> lineDtos = ticketLineService.insertLines(ticket.getId(), lines);
+        cartRepository.updateStatus(cart.getId(), Cart.CartStatus.CONVERTED_TO_ORDER, LocalDateTime.now());
+
+        log.info("Cart {} converted to ticket {} ({} lines)", cart.getId(), ticket.getId(), lines.size());
+        return new TicketDto(ticket.getId(), restaurantId, ticket.getOpenedAt(), null, totalCents, ticket.getStatus(), lineDtos);
+    }
+}
@@ -3,159 +3,92 @@ package com.vegnbio.api.modules.cart.service;
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.cart.dto.*;
 import com.vegnbio.api.modules.cart.entity.Cart;
-import com.vegnbio.api.modules.cart.entity.CartItem;
-import com.vegnbio.api.modules.cart.repository.CartItemRepository;
-import com.vegnbio.api.modules.cart.repository.CartRepository;
-import com.vegnbio.api.modules.menu.entity.MenuItem;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
 import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
+/**
+ * Panier servi depuis {@link CartSessionStore} : les lectures et modifications ne font pas de requête SQL
+ * (sauf premier accès), l'écriture en base est différée et regroupée. Les plats sont lus dans le catalogue en mémoire.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class CartService {
     
-    private final CartRepository cartRepository;
-    private final CartItemRepository cartItemRepository;
+    private final CartSessionStore cartSessionStore;
+    private final MenuCatalogService menuCatalogService;
     private final MenuItemRepository menuItemRepository;
     
     public CartDto getActiveCart(User user) {
-        Cart cart = cartRepository.findActiveCartByUser(user)
-                .orElseGet(() -> createNewCart(user));
-        
-        return convertToDto(cart);
+        return cartSessionStore.session(user).toDto();
     }
     
     public CartDto addToCart(User user, AddToCartRequest request) {
-        MenuItem menuItem = menuItemRepository.findById(request.getMenuItemId())
-                .orElseThrow(() -> new RuntimeException("Menu item not found"));
-        
-        Cart cart = cartRepository.findActiveCartByUserSimple(user)
-                .orElseGet(() -> createNewCart(user));
-        
-        Optional<CartItem> existingItem = cartItemRepository.findByCartIdAndMenuItemId(
-                cart.getId(), request.getMenuItemId());
-        
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            item.setQuantity(item.getQuantity() + request.getQuantity());
-            item.setSpecialInstructions(request.getSpecialInstructions());
-            cartItemRepository.save(item);
-        } else {
-            CartItem newItem = CartItem.builder()
-                    .cart(cart)
-                    .menuItem(menuItem)
-                    .quantity(request.getQuantity())
-                    .unitPriceCents(menuItem.getPriceCents().longValue())
-                    .specialInstructions(request.getSpecialInstructions())
-                    .build();
-            
-            cart.addItem(newItem);
-            cartItemRepository.save(newItem);
-        }
-        
-        cartRepository.save(cart);
-        return convertToDto(cart);
+        checkQuantity(request.getQuantity());
+        MenuItemDto menuItem = findMenuItem(request.getMenuItemId());
+        
+        CartSession cart = cartSessionStore.session(user);
+        cart.add(menuItem.id(), menuItem.name(), menuItem.description(), menuItem.priceCents().longValue(),
+                request.getQuantity(), request.getSpecialInstructions(), cartSessionStore::nextItemId);
+        cartSessionStore.changed(cart);
+        return cart.toDto();
     }
     
     public CartDto updateCartItem(User user, Long cartItemId, UpdateCartItemRequest request) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
+        checkQuantity(request.getQuantity());
         
-        // Vérifier que l'utilisateur est propriétaire du panier
-        if (!cartItem.getCart().getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized access to cart item");
+        // Seules les lignes du panier de l'utilisateur sont visibles
+        CartSession cart = cartSessionStore.session(user);
+        if (!cart.update(cartItemId, request.getQuantity(), request.getSpecialInstructions())) {
+            throw new RuntimeException("Cart item not found");
         }
-        
-        cartItem.setQuantity(request.getQuantity());
-        cartItem.setSpecialInstructions(request.getSpecialInstructions());
-        cartItemRepository.save(cartItem);
-        
-        Cart cart = cartItem.getCart();
-        cartRepository.save(cart);
-        
-        return convertToDto(cart);
+        cartSessionStore.changed(cart);
+        return cart.toDto();
     }
     
     public CartDto removeFromCart(User user, Long cartItemId) {
-        CartItem cartItem = cartItemRepository.findById(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found"));
-        
-        // Vérifier que l'utilisateur est propriétaire du panier
-        if (!cartItem.getCart().getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized access to cart item");
+        CartSession cart = cartSessionStore.session(user);
+        if (!cart.remove(cartItemId)) {
+            throw new RuntimeException("Cart item not found");
         }
-        
-        Cart cart = cartItem.getCart();
-        cart.removeItem(cartItem);
-        cartItemRepository.delete(cartItem);
-        cartRepository.save(cart);
-        
-        return convertToDto(cart);
+        cartSessionStore.changed(cart);
+        return cart.toDto();
     }
     
     public void clearCart(User user) {
-        Cart cart = cartRepository.findActiveCartByUserSimple(user)
+        CartSession cart = cartSessionStore.find(user)
                 .orElseThrow(() -> new RuntimeException("No active cart found"));
         
-        cartItemRepository.deleteByCartId(cart.getId());
-        cart.getItems().clear();
-        cartRepository.save(cart);
+        cart.clear();
+        cartSessionStore.changed(cart);
     }
     
     public void abandonCart(User user) {
-        Cart cart = cartRepository.findActiveCartByUserSimple(user)
+        CartSession cart = cartSessionStore.find(user)
                 .orElseThrow(() -> new RuntimeException("No active cart found"));
         
-        cart.setStatus(Cart.CartStatus.ABANDONED);
-        cartRepository.save(cart);
+        // Écrit tout de suite : le prochain panier de l'utilisateur sera un nouveau panier actif
+        cartSessionStore.close(cart, Cart.CartStatus.ABANDONED);
     }
     
-    private Cart createNewCart(User user) {
-        Cart cart = Cart.builder()
-                .user(user)
-                .status(Cart.CartStatus.ACTIVE)
-                .build();
-        
-        return cartRepository.save(cart);
-    }
-    
-    private CartDto convertToDto(Cart cart) {
-        List<CartItemDto> itemDtos = cart.getItems().stream()
-                .map(this::convertItemToDto)
-                .collect(Collectors.toList());
-        
-        return CartDto.builder()
-                .id(cart.getId())
-                .userId(cart.getUser().getId())
-                .items(itemDtos)
-                .totalItems(cart.getTotalItems())
-                .totalPriceCents(cart.getTotalPriceCents())
-                .createdAt(cart.getCreatedAt())
-                .updatedAt(cart.getUpdatedAt())
-                .status(cart.getStatus().name())
-                .build();
+    private MenuItemDto findMenuItem(Long menuItemId) {
+        return menuCatalogService.snapshot().menuItem(menuItemId)
+                .or(() -> menuItemRepository.findById(menuItemId)
+                        .map(item -> new MenuItemDto(item.getId(), item.getName(), item.getDescription(),
+                                item.getPriceCents(), item.getIsVegan(), List.of())))
+                .orElseThrow(() -> new RuntimeException("Menu item not found"));
     }
     
-    private CartItemDto convertItemToDto(CartItem item) {
-        return CartItemDto.builder()
-                .id(item.getId())
-                .menuItemId(item.getMenuItem().getId())
-                .menuItemName(item.getMenuItem().getName())
-                .menuItemDescription(item.getMenuItem().getDescription())
-                .quantity(item.getQuantity())
-                .unitPriceCents(item.getUnitPriceCents())
-                .totalPriceCents(item.getTotalPriceCents())
-                .specialInstructions(item.getSpecialInstructions())
-                .addedAt(item.getAddedAt())
-                .build();
+    private static void checkQuantity(Integer quantity) {
+        // Vérifié ici : l'écriture en base est différée
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
     }
 }
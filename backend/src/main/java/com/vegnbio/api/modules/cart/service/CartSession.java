@@ -0,0 +1,289 @@
+package com.vegnbio.api.modules.cart.service;
+
+import com.vegnbio.api.modules.cart.dto.CartDto;
+import com.vegnbio.api.modules.cart.dto.CartItemDto;
+import com.vegnbio.api.modules.cart.entity.Cart;
+import com.vegnbio.api.modules.cart.entity.CartItem;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Panier actif d'un utilisateur tenu en mémoire par {@link CartSessionStore}.
+ * Les lignes modifiées ou supprimées depuis la dernière écriture sont notées et relevées par le store ;
+ * toutes les méthodes sont synchronisées sur l'instance. Un panier clos (abandonné) refuse toute modification.
+ */
+final class CartSession {
+
+    /**
+     * Ligne du panier ; la quantité et les instructions sont les seuls champs modifiables.
+     */
+    private static final class Item {
+        private final long id;
+        private final Long menuItemId;
+        private final String menuItemName;
+        private final String menuItemDescription;
+        private final long unitPriceCents;
+        private final LocalDateTime addedAt;
+        private int quantity;
+        private String specialInstructions;
+
+        private Item(long id, Long menuItemId, String menuItemName, String menuItemDescription,
+                     long unitPriceCents, LocalDateTime addedAt, int quantity, String specialInstructions) {
+            this.id = id;
+            this.menuItemId = menuItemId;
+            this.menuItemName = menuItemName;
+            this.menuItemDescription = menuItemDescription;
+            this.unitPriceCents = unitPriceCents;
+            this.addedAt = addedAt;
+            this.quantity = quantity;
+            this.specialInstructions = specialInstructions;
+        }
+    }
+
+    record CartRow(long id, Long userId, LocalDateTime createdAt, LocalDateTime updatedAt, String status) {}
+
+    record ItemRow(long id, long cartId, Long menuItemId, int quantity, long unitPriceCents,
+                   String specialInstructions, LocalDateTime addedAt) {}
+
+    /**
+     * Changements relevés pour une écriture : le panier, les lignes à insérer ou mettre à jour, les lignes à supprimer.
+     */
+    record Changes(CartRow cart, List<ItemRow> upserts, List<Long> deletes) {}
+
+    private final long cartId;
+    private final Long userId;
+    private final LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Cart.CartStatus status = Cart.CartStatus.ACTIVE;
+    private volatile boolean closed;
+    private final Map<Long, Item> items = new LinkedHashMap<>();
+
+    private boolean dirty;
+    private final Set<Long> upserted = new HashSet<>();
+    private final Set<Long> deleted = new HashSet<>();
+    private int failedWrites;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    private CartSession(long cartId, Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.cartId = cartId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt != null ? updatedAt : createdAt;
+    }
+
+    /**
+     * Nouveau panier, pas encore écrit en base.
+     */
+    static CartSession create(long cartId, Long userId) {
+        CartSession session = new CartSession(cartId, userId, LocalDateTime.now(), null);
+        session.dirty = true;
+        return session;
+    }
+
+    /**
+     * Panier actif relu en base, lignes et plats déjà chargés.
+     */
+    static CartSession of(Cart cart) {
+        CartSession session = new CartSession(cart.getId(), cart.getUser().getId(), cart.getCreatedAt(), cart.getUpdatedAt());
+        for (CartItem item : cart.getItems()) {
+            session.items.put(item.getId(), new Item(item.getId(), item.getMenuItem().getId(), item.getMenuItem().getName(),
+                    item.getMenuItem().getDescription(), item.getUnitPriceCents(), item.getAddedAt(),
+                    item.getQuantity(), item.getSpecialInstructions()));
+        }
+        return session;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    long cartId() {
+        return cartId;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Ajoute la quantité à la ligne du plat, ou crée la ligne avec un identifiant pris dans {@code nextId}.
+     */
+    synchronized void add(Long menuItemId, String name, String description, long unitPriceCents,
+                          int quantity, String specialInstructions, LongSupplier nextId) {
+        checkOpen();
+        Item item = items.values().stream()
+                .filter(candidate -> candidate.menuItemId.equals(menuItemId))
+                .findFirst()
+                .orElse(null);
+        if (item != null) {
+            item.quantity += quantity;
+            item.specialInstructions = specialInstructions;
+        } else {
+            item = new Item(nextId.getAsLong(), menuItemId, name, description, unitPriceCents,
+                    LocalDateTime.now(), quantity, specialInstructions);
+            items.put(item.id, item);
+        }
+        changed(item.id);
+    }
+
+    synchronized boolean update(Long itemId, int quantity, String specialInstructions) {
+        checkOpen();
+        Item item = items.get(itemId);
+        if (item == null) {
+            return false;
+        }
+        item.quantity = quantity;
+        item.specialInstructions = specialInstructions;
+        changed(item.id);
+        return true;
+    }
+
+    synchronized boolean remove(Long itemId) {
+        checkOpen();
+        if (items.remove(itemId) == null) {
+            return false;
+        }
+        upserted.remove(itemId);
+        deleted.add(itemId);
+        dirty = true;
+        updatedAt = LocalDateTime.now();
+        return true;
+    }
+
+    synchronized void clear() {
+        checkOpen();
+        upserted.clear();
+        deleted.addAll(items.keySet());
+        items.clear();
+        dirty = true;
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Clôt le panier avec le statut donné ; le changement de statut reste à écrire.
+     */
+    synchronized void close(Cart.CartStatus status) {
+        checkOpen();
+        this.status = status;
+        closed = true;
+        dirty = true;
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Clôt le panier sans changer son statut (passage en caisse) : les modifications suivantes sont refusées.
+     */
+    synchronized void seal() {
+        checkOpen();
+        closed = true;
+    }
+
+    /**
+     * Rouvre un panier clos par {@link #seal()} dont l'écriture a échoué.
+     */
+    synchronized void reopen() {
+        closed = false;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Panier relu en base et repris en mémoire : sa date de modification est avancée pour que le balayage
+     * des paniers inactifs ne l'abandonne pas pendant qu'il est utilisé.
+     */
+    synchronized void resumed() {
+        dirty = true;
+        updatedAt = LocalDateTime.now();
+    }
+
+    synchronized boolean hasChanges() {
+        return dirty;
+    }
+
+    /**
+     * Relève les changements en attente et les marque comme écrits ; {@code null} s'il n'y en a pas.
+     */
+    synchronized Changes takeChanges() {
+        if (!dirty) {
+            return null;
+        }
+        List<ItemRow> upserts = upserted.stream()
+                .map(items::get)
+                .map(item -> new ItemRow(item.id, cartId, item.menuItemId, item.quantity, item.unitPriceCents,
+                        item.specialInstructions, item.addedAt))
+                .toList();
+        Changes changes = new Changes(new CartRow(cartId, userId, createdAt, updatedAt, status.name()),
+                upserts, List.copyOf(deleted));
+        upserted.clear();
+        deleted.clear();
+        dirty = false;
+        return changes;
+    }
+
+    /**
+     * Après un échec d'écriture : les changements sont remis en attente, sauf les lignes supprimées entre-temps.
+     * Retourne le nombre d'échecs consécutifs.
+     */
+    synchronized int restore(Changes changes) {
+        changes.upserts().stream()
+                .map(ItemRow::id)
+                .filter(id -> items.containsKey(id) && !deleted.contains(id))
+                .forEach(upserted::add);
+        changes.deletes().stream()
+                .filter(id -> !items.containsKey(id))
+                .forEach(deleted::add);
+        dirty = true;
+        return ++failedWrites;
+    }
+
+    synchronized void written() {
+        failedWrites = 0;
+    }
+
+    synchronized CartDto toDto() {
+        List<CartItemDto> itemDtos = items.values().stream()
+                .map(item -> CartItemDto.builder()
+                        .id(item.id)
+                        .menuItemId(item.menuItemId)
+                        .menuItemName(item.menuItemName)
+                        .menuItemDescription(item.menuItemDescription)
+                        .quantity(item.quantity)
+                        .unitPriceCents(item.unitPriceCents)
+                        .totalPriceCents(item.quantity * item.unitPriceCents)
+                        .specialInstructions(item.specialInstructions)
+                        .addedAt(item.addedAt)
+                        .build())
+                .toList();
+
+        return CartDto.builder()
+                .id(cartId)
+                .userId(userId)
+                .items(itemDtos)
+                .totalItems(items.values().stream().mapToInt(item -> item.quantity).sum())
+                .totalPriceCents(items.values().stream().mapToLong(item -> item.quantity * item.unitPriceCents).sum())
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .status(status.name())
+                .build();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new RuntimeException("No active cart found");
+        }
+    }
+
+    private void changed(long itemId) {
+        upserted.add(itemId);
+        dirty = true;
+        updatedAt = LocalDateTime.now();
+    }
+}
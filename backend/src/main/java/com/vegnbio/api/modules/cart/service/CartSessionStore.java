@@ -0,0 +1,439 @@
+package com.vegnbio.api.modules.cart.service;
+
+import com.vegnbio.api.modules.auth.entity.User;
+import com.vegnbio.api.modules.cart.entity.Cart;
+import com.vegnbio.api.modules.cart.repository.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paniers actifs tenus en mémoire par utilisateur, écrits en base en différé.
+ * Les lectures et modifications du panier se font en mémoire ; un thread dédié écrit périodiquement les paniers modifiés
+ * dans {@code carts}/{@code cart_items} en lots JDBC regroupés (une écriture par ligne, quel que soit le nombre de modifications).
+ * Le nombre de paniers en mémoire est borné et les paniers inactifs sont retirés ; un panier modifié reste suivi
+ * jusqu'à son écriture, puis est relu en base au besoin. Les identifiants sont réservés par blocs dans les séquences.
+ */
+@Slf4j
+@Component
+public class CartSessionStore {
+
+    // Un panier commandé n'est jamais rouvert par une écriture différée. Un panier abandonné par le balayage
+    // alors qu'il était modifié en mémoire reprend le statut de la session (ACTIVE) : la modification n'est pas perdue
+    private static final String UPSERT_CART_SQL = "INSERT INTO carts (id, user_id, created_at, updated_at, status) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET updated_at = EXCLUDED.updated_at, status = EXCLUDED.status " +
+            "WHERE carts.status <> 'CONVERTED_TO_ORDER'";
+    private static final String UPSERT_ITEM_SQL = "INSERT INTO cart_items " +
+            "(id, cart_id, menu_item_id, quantity, unit_price_cents, special_instructions, added_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET quantity = EXCLUDED.quantity, special_instructions = EXCLUDED.special_instructions";
+    private static final String DELETE_ITEM_SQL = "DELETE FROM cart_items WHERE id = ?";
+    private static final String NEXT_IDS_SQL = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+    private static final int ID_BLOCK_SIZE = 50;
+    // Au-delà, le panier est retiré de la mémoire et sera relu en base
+    private static final int MAX_FAILED_WRITES = 3;
+
+    private record Pending(CartSession session, CartSession.Changes changes) {}
+
+    /**
+     * Identifiants réservés d'avance dans la séquence d'une table.
+     */
+    private final class IdBlock {
+        private final String table;
+        private final Deque<Long> ids = new ArrayDeque<>();
+
+        private IdBlock(String table) {
+            this.table = table;
+        }
+
+        private synchronized long next() {
+            if (ids.isEmpty()) {
+                ids.addAll(jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, table, ID_BLOCK_SIZE));
+            }
+            return ids.removeFirst();
+        }
+    }
+
+    private final CartRepository cartRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int maxSize;
+    private final long idleMillis;
+    private final long flushIntervalMillis;
+
+    private final Map<Long, CartSession> sessions;
+    // Paniers modifiés non encore écrits, y compris ceux retirés de la mémoire entre-temps
+    private final Map<Long, CartSession> dirty = new ConcurrentHashMap<>();
+    // Utilisateurs dont le panier est en cours de passage en caisse : tout accès à leur panier est refusé
+    private final Set<Long> checkingOut = ConcurrentHashMap.newKeySet();
+    private final Object writeMonitor = new Object();
+    private final IdBlock cartIds = new IdBlock("carts");
+    private final IdBlock itemIds = new IdBlock("cart_items");
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public CartSessionStore(CartRepository cartRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.cart.sessions.max-size:10000}") int maxSize,
+                            @Value("${app.cart.sessions.idle-minutes:30}") long idleMinutes,
+                            @Value("${app.cart.sessions.flush-interval-ms:500}") long flushIntervalMillis) {
+        this.cartRepository = cartRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = Math.max(maxSize, 1);
+        this.idleMillis = TimeUnit.MINUTES.toMillis(Math.max(idleMinutes, 1));
+        this.flushIntervalMillis = Math.max(flushIntervalMillis, 10);
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CartSession> eldest) {
+                return size() > CartSessionStore.this.maxSize;
+            }
+        };
+
+        this.hits = meterRegistry.counter("cart.sessions.gets", "result", "hit");
+        this.misses = meterRegistry.counter("cart.sessions.gets", "result", "miss");
+        this.written = meterRegistry.counter("cart.sessions.written");
+        this.failed = meterRegistry.counter("cart.sessions.failed");
+        Gauge.builder("cart.sessions.size", this, CartSessionStore::size).register(meterRegistry);
+        Gauge.builder("cart.sessions.dirty", dirty, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::flushLoop, "cart-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Arrête le thread d'écriture après avoir écrit tous les paniers modifiés.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Panier actif de l'utilisateur, relu en base ou créé (en mémoire) s'il n'est pas suivi.
+     */
+    CartSession session(User user) {
+        return find(user, true).orElseThrow();
+    }
+
+    /**
+     * Panier actif de l'utilisateur s'il en a un, sans en créer.
+     */
+    Optional<CartSession> find(User user) {
+        return find(user, false);
+    }
+
+    /**
+     * Note une modification ; le panier sera écrit à la prochaine passe du thread d'écriture.
+     */
+    void changed(CartSession session) {
+        session.touch();
+        dirty.put(session.userId(), session);
+    }
+
+    /**
+     * Écrit immédiatement les changements en attente du panier (passage en caisse, abandon).
+     */
+    void flush(CartSession session) {
+        if (!write(List.of(session))) {
+            throw new RuntimeException("Failed to save cart");
+        }
+    }
+
+    /**
+     * Clôt le panier puis écrit son statut. Il est marqué clos avant l'écriture : une modification concurrente
+     * est refusée au lieu d'être perdue, et le prochain accès de l'utilisateur ouvre un nouveau panier.
+     */
+    void close(CartSession session, Cart.CartStatus status) {
+        synchronized (sessions) {
+            session.close(status);
+            sessions.remove(session.userId(), session);
+            dirty.putIfAbsent(session.userId(), session);
+        }
+        flush(session);
+    }
+
+    /**
+     * Début du passage en caisse : le panier en mémoire est clos puis ses changements écrits, et l'accès au panier
+     * de l'utilisateur est refusé jusqu'à {@link #checkedOut(Long)}. Une modification concurrente est ainsi rejetée
+     * au lieu d'être acceptée puis perdue. Si l'écriture échoue, le panier est rouvert.
+     */
+    void beginCheckout(Long userId) {
+        CartSession session;
+        synchronized (sessions) {
+            if (!checkingOut.add(userId)) {
+                throw new RuntimeException("Cart is being checked out");
+            }
+            session = sessions.remove(userId);
+            if (session == null) {
+                session = dirty.get(userId);
+            }
+            if (session != null) {
+                session.seal();
+            }
+        }
+        if (session == null) {
+            return;
+        }
+        try {
+            flush(session);
+        } catch (RuntimeException e) {
+            synchronized (sessions) {
+                session.reopen();
+                sessions.putIfAbsent(userId, session);
+                checkingOut.remove(userId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fin du passage en caisse, réussi ou non : le panier suivant de l'utilisateur sera relu (ou créé) en base.
+     */
+    void checkedOut(Long userId) {
+        checkingOut.remove(userId);
+    }
+
+    /**
+     * Oublie tous les paniers en mémoire (réinitialisation des données).
+     */
+    public void clear() {
+        synchronized (sessions) {
+            sessions.clear();
+            dirty.clear();
+        }
+    }
+
+    /**
+     * Identifiants des paniers suivis en mémoire, que le balayage des paniers inactifs ne doit pas toucher.
+     */
+    Long[] trackedCartIds() {
+        Set<Long> ids = new HashSet<>();
+        synchronized (sessions) {
+            sessions.values().forEach(session -> ids.add(session.cartId()));
+        }
+        dirty.values().forEach(session -> ids.add(session.cartId()));
+        return ids.toArray(Long[]::new);
+    }
+
+    int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    private Optional<CartSession> find(User user, boolean create) {
+        Long userId = user.getId();
+        CartSession session = cached(userId);
+        if (session != null) {
+            hits.increment();
+            return Optional.of(session);
+        }
+        misses.increment();
+        CartSession loaded = readTransaction.execute(status -> cartRepository.findActiveCartByUser(user)
+                .map(CartSession::of)
+                .orElse(null));
+        if (loaded == null && !create) {
+            return Optional.ofNullable(cached(userId));
+        }
+        long newCartId = loaded == null ? cartIds.next() : 0L;
+        synchronized (sessions) {
+            // Un autre appel a pu charger ou créer le panier pendant la lecture
+            session = cached(userId);
+            if (session != null) {
+                return Optional.of(session);
+            }
+            // Panier relu avant l'écriture de sa clôture : il n'est plus actif
+            CartSession closing = dirty.get(userId);
+            if (loaded != null && closing != null && closing.isClosed() && closing.cartId() == loaded.cartId()) {
+                if (!create) {
+                    return Optional.empty();
+                }
+                loaded = null;
+                newCartId = cartIds.next();
+            }
+            if (loaded == null) {
+                loaded = CartSession.create(newCartId, userId);
+            } else {
+                loaded.resumed();
+            }
+            dirty.put(userId, loaded);
+            sessions.put(userId, loaded);
+            return Optional.of(loaded);
+        }
+    }
+
+    private CartSession cached(Long userId) {
+        synchronized (sessions) {
+            if (checkingOut.contains(userId)) {
+                throw new RuntimeException("Cart is being checked out");
+            }
+            CartSession session = sessions.get(userId);
+            if (session == null) {
+                session = dirty.get(userId);
+                // Un panier clos en attente d'écriture n'est plus servi
+                if (session != null && session.isClosed()) {
+                    return null;
+                }
+                if (session != null) {
+                    sessions.put(userId, session);
+                }
+            }
+            if (session != null) {
+                session.touch();
+            }
+            return session;
+        }
+    }
+
+    long nextItemId() {
+        return itemIds.next();
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            write(List.copyOf(dirty.values()));
+            evictIdle();
+        }
+        // Arrêt demandé : dernière écriture des paniers modifiés
+        Thread.interrupted();
+        write(List.copyOf(dirty.values()));
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        synchronized (sessions) {
+            sessions.values().removeIf(session -> session.lastAccess() < cutoff);
+        }
+    }
+
+    /**
+     * Écrit les paniers en une transaction (trois lots JDBC) ; en cas d'échec, chaque panier est réessayé seul
+     * pour isoler celui qui bloque. Retourne {@code false} si un panier n'a pas pu être écrit.
+     */
+    private boolean write(List<CartSession> batch) {
+        synchronized (writeMonitor) {
+            List<Pending> pending = new ArrayList<>(batch.size());
+            for (CartSession session : batch) {
+                CartSession.Changes changes = session.takeChanges();
+                if (changes != null) {
+                    pending.add(new Pending(session, changes));
+                }
+            }
+            if (pending.isEmpty()) {
+                return true;
+            }
+            try {
+                writeTransaction.executeWithoutResult(status -> writeAll(pending));
+                pending.forEach(this::markWritten);
+                return true;
+            } catch (Exception e) {
+                if (pending.size() == 1) {
+                    markFailed(pending.get(0), e);
+                    return false;
+                }
+                log.warn("Failed to write {} carts, retrying one by one: {}", pending.size(), e.getMessage());
+            }
+            boolean allWritten = true;
+            for (Pending single : pending) {
+                try {
+                    writeTransaction.executeWithoutResult(status -> writeAll(List.of(single)));
+                    markWritten(single);
+                } catch (Exception e) {
+                    markFailed(single, e);
+                    allWritten = false;
+                }
+            }
+            return allWritten;
+        }
+    }
+
+    private void writeAll(List<Pending> pending) {
+        jdbcTemplate.batchUpdate(UPSERT_CART_SQL, pending.stream()
+                .map(entry -> entry.changes().cart())
+                .map(cart -> new Object[]{cart.id(), cart.userId(), Timestamp.valueOf(cart.createdAt()),
+                        Timestamp.valueOf(cart.updatedAt()), cart.status()})
+                .toList());
+        List<Object[]> upserts = pending.stream()
+                .flatMap(entry -> entry.changes().upserts().stream())
+                .map(item -> new Object[]{item.id(), item.cartId(), item.menuItemId(), item.quantity(), item.unitPriceCents(),
+                        item.specialInstructions(), Timestamp.valueOf(item.addedAt())})
+                .toList();
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ITEM_SQL, upserts);
+        }
+        List<Object[]> deletes = pending.stream()
+                .flatMap(entry -> entry.changes().deletes().stream())
+                .map(id -> new Object[]{id})
+                .toList();
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, deletes);
+        }
+    }
+
+    private void markWritten(Pending entry) {
+        CartSession session = entry.session();
+        written.increment();
+        synchronized (session) {
+            session.written();
+            // Modifié pendant l'écriture : reste en attente pour la passe suivante
+            if (!session.hasChanges()) {
+                dirty.remove(session.userId(), session);
+            }
+        }
+    }
+
+    private void markFailed(Pending entry, Exception e) {
+        CartSession session = entry.session();
+        failed.increment();
+        int failures = session.restore(entry.changes());
+        if (failures >= MAX_FAILED_WRITES) {
+            log.warn("Dropping unsaved changes of cart for user {} after {} failed writes: {}",
+                    session.userId(), failures, e.getMessage());
+            synchronized (sessions) {
+                sessions.remove(session.userId(), session);
+                dirty.remove(session.userId(), session);
+            }
+        } else {
+            log.warn("Failed to write cart for user {}: {}", session.userId(), e.getMessage());
+        }
+    }
+}
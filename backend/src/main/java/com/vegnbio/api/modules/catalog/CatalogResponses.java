@@ -0,0 +1,42 @@
+package com.vegnbio.api.modules.catalog;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Réponses HTTP conditionnelles pour le catalogue public : l'ETag est comparé à {@code If-None-Match}
+ * avant de construire le corps, et un 304 est renvoyé sans le calculer.
+ *
+ * @author VegN-Bio Team
+ */
+public class CatalogResponses {
+
+  /** Les restaurants changent quelques fois par jour */
+  public static final CacheControl RESTAURANTS = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+  /** La liste des allergènes ne change quasiment jamais */
+  public static final CacheControl ALLERGENS = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+  /** Les menus peuvent évoluer pendant le service : courte durée, revalidation par ETag */
+  public static final CacheControl MENUS = CacheControl.maxAge(1, TimeUnit.MINUTES).cachePublic().mustRevalidate();
+
+  public static <T> ResponseEntity<T> conditional(WebRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+    return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+  }
+
+  public static <T> ResponseEntity<T> conditionalOrNotFound(WebRequest request, String etag, CacheControl cacheControl, Supplier<Optional<T>> body) {
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+    return body.get()
+        .map(value -> ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(value))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
@@ -0,0 +1,76 @@
+package com.vegnbio.api.modules.catalog.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs de version du catalogue public (restaurants, allergènes, menus global et par restaurant).
+ * Ils sont incrémentés après commit par les chemins d'écriture et servent à calculer des ETags forts
+ * sans reconstruire le corps des réponses. L'époque de démarrage est incluse dans les ETags
+ * pour qu'un redémarrage ne réutilise pas d'anciennes valeurs.
+ */
+@Service
+public class CatalogVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong restaurantsVersion = new AtomicLong();
+    // Les allergènes ne sont modifiés que par les imports : seul allChanged() incrémente ce compteur
+    private final AtomicLong allergensVersion = new AtomicLong();
+    private final AtomicLong menusVersion = new AtomicLong();
+    private final Map<String, AtomicLong> menusVersionByRestaurant = new ConcurrentHashMap<>();
+
+    public String restaurantsEtag() {
+        return etag("restaurants", restaurantsVersion.get());
+    }
+
+    public String allergensEtag() {
+        return etag("allergens", allergensVersion.get());
+    }
+
+    public String menusEtag() {
+        return etag("menus", menusVersion.get());
+    }
+
+    public String menusEtag(String restaurantCode) {
+        AtomicLong version = restaurantCode != null ? menusVersionByRestaurant.get(restaurantCode) : null;
+        return etag("menus-restaurant", version != null ? version.get() : 0L);
+    }
+
+    public void restaurantsChanged() {
+        AfterCommit.run(restaurantsVersion::incrementAndGet);
+    }
+
+    /**
+     * Signale une modification des menus ou des plats des restaurants donnés.
+     */
+    public void menusChanged(String... restaurantCodes) {
+        AfterCommit.run(() -> {
+            for (String code : restaurantCodes) {
+                if (code != null) {
+                    menusVersionByRestaurant.computeIfAbsent(code, k -> new AtomicLong()).incrementAndGet();
+                }
+            }
+            menusVersion.incrementAndGet();
+        });
+    }
+
+    /**
+     * Invalide tous les ETags (import ou suppression de données en masse).
+     */
+    public void allChanged() {
+        AfterCommit.run(() -> {
+            restaurantsVersion.incrementAndGet();
+            allergensVersion.incrementAndGet();
+            menusVersion.incrementAndGet();
+            menusVersionByRestaurant.values().forEach(AtomicLong::incrementAndGet);
+        });
+    }
+
+    private String etag(String resource, long version) {
+        return "\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+}
@@ -1,5 +1,6 @@
 package com.vegnbio.api.modules.chatbot.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.chatbot.dto.*;
 import com.vegnbio.api.modules.chatbot.service.ChatbotService;
 import jakarta.validation.Valid;
@@ -48,6 +49,15 @@ public class ChatbotController {
         return ResponseEntity.ok(history);
     }
     
+    @GetMapping("/consultations/page")
+    public ResponseEntity<KeysetPage<VeterinaryDiagnosisDto>> getConsultationHistoryPage(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<VeterinaryDiagnosisDto> page = chatbotService.getConsultationHistoryPage(userId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
     @GetMapping("/breeds")
     public ResponseEntity<Map<String, List<String>>> getSupportedBreeds() {
         List<String> breeds = chatbotService.getSupportedBreeds();
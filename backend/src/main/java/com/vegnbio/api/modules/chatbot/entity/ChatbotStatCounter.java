@@ -0,0 +1,37 @@
+package com.vegnbio.api.modules.chatbot.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Compteur agrégé des consultations : total (avec somme des confiances), par race ou par symptôme.
+ */
+@Entity
+@Table(name = "chatbot_stat_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatbotStatCounter {
+    
+    public static final String TOTAL = "TOTAL";
+    public static final String BREED = "BREED";
+    public static final String SYMPTOM = "SYMPTOM";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 16)
+    private String kind;
+    
+    @Column(nullable = false, length = 200)
+    private String label;
+    
+    @Column(nullable = false)
+    private Long count;
+    
+    @Column(name = "confidence_sum", nullable = false)
+    private Double confidenceSum;
+}
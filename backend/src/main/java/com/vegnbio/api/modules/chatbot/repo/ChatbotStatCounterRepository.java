@@ -0,0 +1,22 @@
+package com.vegnbio.api.modules.chatbot.repo;
+
+import com.vegnbio.api.modules.chatbot.entity.ChatbotStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChatbotStatCounterRepository extends JpaRepository<ChatbotStatCounter, Long> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO chatbot_stat_counters (kind, label, count, confidence_sum) " +
+                   "VALUES (:kind, :label, :count, :confidence) " +
+                   "ON CONFLICT (kind, label) DO UPDATE SET count = chatbot_stat_counters.count + EXCLUDED.count, " +
+                   "confidence_sum = chatbot_stat_counters.confidence_sum + EXCLUDED.confidence_sum", nativeQuery = true)
+    void increment(@Param("kind") String kind,
+                   @Param("label") String label,
+                   @Param("count") long count,
+                   @Param("confidence") double confidence);
+}
@@ -1,12 +1,14 @@
 package com.vegnbio.api.modules.chatbot.repo;
 
 import com.vegnbio.api.modules.chatbot.entity.VeterinaryConsultation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,15 +16,39 @@ public interface VeterinaryConsultationRepository extends JpaRepository<Veterina
     
     List<VeterinaryConsultation> findByUserIdOrderByCreatedAtDesc(String userId);
     
+    @Query("SELECT v.id FROM VeterinaryConsultation v " +
+           "WHERE ((:userId IS NULL AND v.userId IS NULL) OR v.userId = :userId) " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<Long> findPageIdsByUserId(@Param("userId") String userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+    
     List<VeterinaryConsultation> findByAnimalBreedOrderByCreatedAtDesc(String animalBreed);
     
+    @Query("SELECT MAX(v.id) FROM VeterinaryConsultation v")
+    Long findMaxId();
+    
+    @Query("SELECT COUNT(v) FROM VeterinaryConsultation v WHERE v.id <= :maxId")
+    long countUpTo(@Param("maxId") Long maxId);
+    
+    /**
+     * Pagination par clé : identifiants suivant {@code afterId}, dans la limite de {@code maxId}.
+     */
+    @Query("SELECT v.id FROM VeterinaryConsultation v WHERE v.id > :afterId AND v.id <= :maxId ORDER BY v.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+    
+    @Query("SELECT DISTINCT v FROM VeterinaryConsultation v LEFT JOIN FETCH v.symptoms WHERE v.id IN :ids ORDER BY v.id")
+    List<VeterinaryConsultation> findWithSymptomsByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT DISTINCT v.animalBreed FROM VeterinaryConsultation v ORDER BY v.animalBreed")
     List<String> findDistinctAnimalBreeds();
     
     @Query("SELECT DISTINCT s FROM VeterinaryConsultation v JOIN v.symptoms s ORDER BY s")
     List<String> findDistinctSymptoms();
     
-    @Query("SELECT DISTINCT s FROM VeterinaryConsultation v JOIN v.symptoms s WHERE v.animalBreed = :breed")
+    @Query("SELECT DISTINCT s FROM VeterinaryConsultation v JOIN v.symptoms s WHERE LOWER(v.animalBreed) = LOWER(:breed)")
     List<String> findDistinctSymptomsByBreed(@Param("breed") String breed);
     
     @Query("SELECT v FROM VeterinaryConsultation v WHERE v.createdAt BETWEEN :startDate AND :endDate ORDER BY v.createdAt DESC")
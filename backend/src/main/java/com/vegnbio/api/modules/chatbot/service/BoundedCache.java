@@ -0,0 +1,96 @@
+package com.vegnbio.api.modules.chatbot.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache LRU borné en taille, avec expiration des entrées et compteurs hit/miss/éviction.
+ * Les clés sont normalisées par l'appelant ; les valeurs sont recalculées hors du verrou.
+ */
+final class BoundedCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Incrémenté à chaque invalidation : une valeur chargée avant n'est pas mise en cache
+    private long generation;
+
+    BoundedCache(int maxSize, long ttlSeconds) {
+        this.maxSize = Math.max(maxSize, 1);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    V get(K key, Function<K, V> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry<>(value, now + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            generation++;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Expose les compteurs sous {@code chatbot.cache.*}, étiquetés par nom de cache.
+     */
+    void registerMetrics(MeterRegistry registry, String name) {
+        FunctionCounter.builder("chatbot.cache.gets", hits, LongAdder::doubleValue)
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("chatbot.cache.gets", misses, LongAdder::doubleValue)
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("chatbot.cache.evictions", evictions, LongAdder::doubleValue)
+                .tag("cache", name).register(registry);
+        Gauge.builder("chatbot.cache.size", this, BoundedCache::size)
+                .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.vegnbio.api.modules.chatbot.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avancement de l'apprentissage initial du chatbot ({@code /actuator/health}, composant {@code chatbotLearning}).
+ * Le composant reste UP pendant le chargement : le chatbot répond déjà, avec moins d'historique.
+ */
+@Component("chatbotLearning")
+@RequiredArgsConstructor
+public class ChatbotLearningHealthIndicator implements HealthIndicator {
+
+    private final ChatbotLearningWarmUp warmUp;
+
+    @Override
+    public Health health() {
+        long total = warmUp.total();
+        long loaded = warmUp.loaded();
+        Health.Builder builder = Health.up()
+                .withDetail("state", warmUp.state())
+                .withDetail("loaded", loaded)
+                .withDetail("total", total)
+                .withDetail("progress", total == 0 ? 1.0 : Math.min(1.0, (double) loaded / total));
+        if (warmUp.error() != null) {
+            builder.withDetail("error", warmUp.error());
+        }
+        return builder.build();
+    }
+}
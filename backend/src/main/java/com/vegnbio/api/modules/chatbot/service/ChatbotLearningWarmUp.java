@@ -0,0 +1,142 @@
+package com.vegnbio.api.modules.chatbot.service;
+
+import com.vegnbio.api.modules.chatbot.entity.VeterinaryConsultation;
+import com.vegnbio.api.modules.chatbot.repo.VeterinaryConsultationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Apprentissage initial du chatbot en tâche de fond, après le démarrage de l'application.
+ * Les consultations existantes sont lues par lots (pagination par identifiant) sur un thread dédié ;
+ * en attendant, les diagnostics utilisent ce qui est déjà chargé ou la base de connaissances statique.
+ * La borne du chargement est lue à la création du composant, avant l'ouverture du serveur web :
+ * les consultations enregistrées ensuite ne sont apprises qu'une fois, après leur commit.
+ */
+@Slf4j
+@Component
+public class ChatbotLearningWarmUp {
+
+    public enum State { PENDING, LOADING, READY, FAILED }
+
+    private final VeterinaryConsultationRepository consultationRepository;
+    private final ChatbotService chatbotService;
+    private final TransactionTemplate readTransaction;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatbot-warm-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile State state = State.PENDING;
+    // Dernier identifiant à charger (null : aucune consultation) ; lu une seule fois au démarrage
+    private Long maxId;
+    private boolean bounded;
+    private volatile long total;
+    private final AtomicLong loaded = new AtomicLong();
+    private volatile String error;
+
+    public ChatbotLearningWarmUp(VeterinaryConsultationRepository consultationRepository,
+                                 ChatbotService chatbotService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.chatbot.warm-up.chunk-size:500}") int chunkSize) {
+        this.consultationRepository = consultationRepository;
+        this.chatbotService = chatbotService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @PostConstruct
+    public void captureBound() {
+        try {
+            maxId = consultationRepository.findMaxId();
+            bounded = true;
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.warn("Failed to read the chatbot warm-up bound, warm-up skipped: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.submit(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public long loaded() {
+        return loaded.get();
+    }
+
+    public String error() {
+        return error;
+    }
+
+    private void run() {
+        // Sans borne, recharger risquerait de compter deux fois les consultations déjà apprises au commit
+        if (!bounded) {
+            state = State.FAILED;
+            return;
+        }
+        state = State.LOADING;
+        long startedAt = System.currentTimeMillis();
+        try {
+            if (maxId != null) {
+                total = consultationRepository.countUpTo(maxId);
+                long afterId = 0L;
+                while (!Thread.currentThread().isInterrupted()) {
+                    List<VeterinaryConsultation> chunk = loadChunk(afterId, maxId);
+                    if (chunk.isEmpty()) {
+                        break;
+                    }
+                    chunk.forEach(chatbotService::improveLearningFromConsultation);
+                    loaded.addAndGet(chunk.size());
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            }
+            state = State.READY;
+            log.info("Chatbot learning system warmed up with {} consultations in {} ms",
+                    loaded.get(), System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            error = e.getMessage();
+            state = State.FAILED;
+            log.warn("Chatbot learning warm-up stopped after {} consultations: {}", loaded.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * Un lot d'identifiants puis leurs consultations avec symptômes, dans une transaction courte.
+     */
+    private List<VeterinaryConsultation> loadChunk(long afterId, long maxId) {
+        List<VeterinaryConsultation> chunk = readTransaction.execute(status -> {
+            List<Long> ids = consultationRepository.findIdsAfter(afterId, maxId, PageRequest.of(0, chunkSize));
+            return ids.isEmpty() ? List.<VeterinaryConsultation>of() : consultationRepository.findWithSymptomsByIdIn(ids);
+        });
+        return chunk != null ? chunk : List.of();
+    }
+}
@@ -1,16 +1,21 @@
 package com.vegnbio.api.modules.chatbot.service;
 
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.chatbot.dto.*;
 import com.vegnbio.api.modules.chatbot.entity.VeterinaryConsultation;
 import com.vegnbio.api.modules.chatbot.repo.VeterinaryConsultationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.annotation.PostConstruct;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -19,43 +24,29 @@ public class ChatbotService {
     
     private static final Logger log = LoggerFactory.getLogger(ChatbotService.class);
     private final VeterinaryConsultationRepository consultationRepository;
+    private final ChatbotStatisticsService statisticsService;
     
-    // Cache pour améliorer les performances
-    private final Map<String, List<String>> breedSymptomsCache = new ConcurrentHashMap<>();
-    private final Map<String, List<String>> supportedBreedsCache = new ConcurrentHashMap<>();
+    private static final String ALL_BREEDS = "*";
+    
+    // Caches bornés (taille et durée de vie), clés normalisées comme celles de l'index de diagnostic
+    private final BoundedCache<String, List<String>> breedSymptomsCache;
+    private final BoundedCache<String, List<String>> supportedBreedsCache;
     
     // Système d'apprentissage basé sur les consultations
-    private final Map<String, Map<String, Integer>> symptomDiagnosisPatterns = new ConcurrentHashMap<>();
+    private final DiagnosisIndex diagnosisIndex = new DiagnosisIndex();
     private final Map<String, Double> breedConfidenceScores = new ConcurrentHashMap<>();
     
-    public ChatbotService(VeterinaryConsultationRepository consultationRepository) {
+    public ChatbotService(VeterinaryConsultationRepository consultationRepository,
+                          ChatbotStatisticsService statisticsService,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.chatbot.cache.max-size:1000}") int cacheMaxSize,
+                          @Value("${app.chatbot.cache.ttl-seconds:600}") long cacheTtlSeconds) {
         this.consultationRepository = consultationRepository;
-    }
-    
-    @PostConstruct
-    public void initializeLearningSystem() {
-        log.info("Initializing veterinary learning system...");
-        
-        try {
-            // Charger les données existantes pour l'apprentissage de manière asynchrone
-            initializeLearningDataAsync();
-            log.info("Learning system initialization started");
-        } catch (Exception e) {
-            log.warn("Failed to initialize learning system: {}", e.getMessage());
-            // Continue without failing the application startup
-        }
-    }
-    
-    private void initializeLearningDataAsync() {
-        try {
-            List<VeterinaryConsultation> existingConsultations = consultationRepository.findAll();
-            for (VeterinaryConsultation consultation : existingConsultations) {
-                improveLearningFromConsultation(consultation);
-            }
-            log.info("Learning system initialized with {} consultations", existingConsultations.size());
-        } catch (Exception e) {
-            log.warn("Failed to load existing consultations: {}", e.getMessage());
-        }
+        this.statisticsService = statisticsService;
+        this.breedSymptomsCache = new BoundedCache<>(cacheMaxSize, cacheTtlSeconds);
+        this.supportedBreedsCache = new BoundedCache<>(1, cacheTtlSeconds);
+        this.breedSymptomsCache.registerMetrics(meterRegistry, "breedSymptoms");
+        this.supportedBreedsCache.registerMetrics(meterRegistry, "supportedBreeds");
     }
     
     // Base de données de connaissances vétérinaires enrichie
@@ -79,13 +70,13 @@ public class ChatbotService {
         log.info("Processing diagnosis request for breed: {} with symptoms: {}", 
                 request.getAnimalBreed(), request.getSymptoms());
         
-        // Rechercher des consultations similaires dans la base de données
-        List<VeterinaryConsultation> similarConsultations = findSimilarConsultations(
-                request.getAnimalBreed(), request.getSymptoms());
+        // Diagnostic appris des consultations passées, lu dans l'index en mémoire (aucune requête)
+        Optional<DiagnosisIndex.Match> match = diagnosisIndex.diagnose(request.getAnimalBreed(), request.getSymptoms());
         
-        String diagnosis = generateDiagnosis(request.getAnimalBreed(), request.getSymptoms(), similarConsultations);
+        String diagnosis = match.map(DiagnosisIndex.Match::diagnosis)
+                .orElseGet(() -> generateDiagnosis(request.getAnimalBreed(), request.getSymptoms()));
         String recommendation = generateRecommendation(request.getAnimalBreed(), request.getSymptoms(), diagnosis);
-        Double confidence = calculateConfidence(request.getAnimalBreed(), request.getSymptoms(), similarConsultations);
+        Double confidence = calculateConfidence(match);
         
         return VeterinaryDiagnosisDto.builder()
                 .id(UUID.randomUUID().toString())
@@ -103,6 +94,7 @@ public class ChatbotService {
         return Arrays.asList(diagnosis.getRecommendation().split("\n"));
     }
     
+    @Transactional
     public void saveConsultation(ConsultationRequest request) {
         log.info("Saving consultation for breed: {} with diagnosis: {}", 
                 request.getAnimalBreed(), request.getDiagnosis());
@@ -117,7 +109,9 @@ public class ChatbotService {
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        consultationRepository.save(consultation);
+        VeterinaryConsultation saved = consultationRepository.save(consultation);
+        statisticsService.record(saved);
+        AfterCommit.run(() -> improveLearningFromConsultation(saved));
     }
     
     public List<VeterinaryDiagnosisDto> getConsultationHistory(String userId) {
@@ -128,37 +122,48 @@ public class ChatbotService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Historique paginé : identifiants de la page, puis consultations avec leurs symptômes en une requête.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<VeterinaryDiagnosisDto> getConsultationHistoryPage(String userId, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Long> ids = consultationRepository.findPageIdsByUserId(userId, position.createdAt(), position.id(),
+                KeysetPage.request(size));
+        Map<Long, VeterinaryConsultation> byId = ids.isEmpty() ? Map.of() : consultationRepository.findWithSymptomsByIdIn(ids).stream()
+                .collect(Collectors.toMap(VeterinaryConsultation::getId, Function.identity()));
+        List<VeterinaryConsultation> consultations = ids.stream().map(byId::get).toList();
+        return KeysetPage.of(consultations, size,
+                consultation -> new KeysetCursor(consultation.getCreatedAt(), consultation.getId()),
+                this::convertToDto);
+    }
+    
     public List<String> getSupportedBreeds() {
-        List<String> breeds = consultationRepository.findDistinctAnimalBreeds();
-        
-        // Ajouter les races communes si la base de données est vide
-        if (breeds.isEmpty()) {
-            breeds = Arrays.asList(
-                    "Chien", "Chat", "Lapin", "Hamster", "Cochon d'Inde", 
-                    "Oiseau", "Poisson", "Tortue", "Lézard", "Serpent"
-            );
-        }
-        
-        return breeds;
+        return supportedBreedsCache.get(ALL_BREEDS, key -> {
+            List<String> breeds = consultationRepository.findDistinctAnimalBreeds();
+            
+            // Ajouter les races communes si la base de données est vide
+            if (breeds.isEmpty()) {
+                breeds = Arrays.asList(
+                        "Chien", "Chat", "Lapin", "Hamster", "Cochon d'Inde", 
+                        "Oiseau", "Poisson", "Tortue", "Lézard", "Serpent"
+                );
+            }
+            return List.copyOf(breeds);
+        });
     }
     
     public List<String> getCommonSymptoms(String breed) {
-        // Vérifier le cache d'abord
-        if (breedSymptomsCache.containsKey(breed)) {
-            return breedSymptomsCache.get(breed);
-        }
-        
-        List<String> symptoms = consultationRepository.findDistinctSymptomsByBreed(breed);
-        
-        // Ajouter des symptômes communs si la base de données est vide
-        if (symptoms.isEmpty()) {
-            symptoms = getDefaultSymptomsForBreed(breed);
-        }
-        
-        // Mettre en cache pour améliorer les performances
-        breedSymptomsCache.put(breed, symptoms);
-        
-        return symptoms;
+        return breedSymptomsCache.get(DiagnosisIndex.normalize(breed), key -> {
+            List<String> symptoms = consultationRepository.findDistinctSymptomsByBreed(key);
+            
+            // Ajouter des symptômes communs si la base de données est vide
+            if (symptoms.isEmpty()) {
+                symptoms = getDefaultSymptomsForBreed(key);
+            }
+            return List.copyOf(symptoms);
+        });
     }
     
     // Nouvelle méthode pour obtenir des recommandations préventives
@@ -205,81 +210,30 @@ public class ChatbotService {
         return recommendations;
     }
     
-    // Nouvelle méthode pour obtenir des statistiques d'apprentissage
+    // Statistiques d'apprentissage, lues dans les compteurs maintenus à chaque consultation
     public Map<String, Object> getLearningStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        long totalConsultations = consultationRepository.count();
-        List<String> breeds = consultationRepository.findDistinctAnimalBreeds();
-        List<String> symptoms = consultationRepository.findDistinctSymptoms();
-        
-        stats.put("totalConsultations", totalConsultations);
-        stats.put("supportedBreeds", breeds.size());
-        stats.put("knownSymptoms", symptoms.size());
-        stats.put("averageConfidence", calculateAverageConfidence());
-        stats.put("mostCommonBreeds", getMostCommonBreeds());
-        stats.put("mostCommonSymptoms", getMostCommonSymptoms());
-        
-        return stats;
+        return statisticsService.snapshot();
     }
     
-    // Méthode pour améliorer le système d'apprentissage
-    @Transactional(rollbackFor = Exception.class)
+    // Méthode pour améliorer le système d'apprentissage (en mémoire uniquement, voir ChatbotLearningWarmUp)
     public void improveLearningFromConsultation(VeterinaryConsultation consultation) {
         String breed = consultation.getAnimalBreed().toLowerCase();
         
-        // Mettre à jour les patterns de symptômes-diagnostic
-        for (String symptom : consultation.getSymptoms()) {
-            String key = breed + "_" + symptom.toLowerCase();
-            Map<String, Integer> patterns = symptomDiagnosisPatterns.computeIfAbsent(key, k -> new HashMap<>());
-            patterns.merge(consultation.getDiagnosis(), 1, Integer::sum);
-        }
+        // Mettre à jour l'index symptômes-diagnostic
+        diagnosisIndex.add(consultation.getAnimalBreed(), consultation.getSymptoms(), consultation.getDiagnosis());
         
         // Mettre à jour les scores de confiance par race
         breedConfidenceScores.merge(breed, consultation.getConfidence(), 
             (existing, newValue) -> (existing + newValue) / 2);
         
-        // Invalider le cache pour cette race
-        breedSymptomsCache.remove(breed);
+        // Invalider les caches pour cette race (même normalisation que les clés de lecture)
+        breedSymptomsCache.invalidate(DiagnosisIndex.normalize(consultation.getAnimalBreed()));
+        supportedBreedsCache.invalidate(ALL_BREEDS);
         
-        log.info("Learning system updated with consultation for breed: {}", breed);
+        log.debug("Learning system updated with consultation for breed: {}", breed);
     }
     
-    private List<VeterinaryConsultation> findSimilarConsultations(String breed, List<String> symptoms) {
-        List<VeterinaryConsultation> consultations = consultationRepository.findByAnimalBreedOrderByCreatedAtDesc(breed);
-        
-        // Filtrer les consultations avec des symptômes similaires
-        return consultations.stream()
-                .filter(consultation -> {
-                    long commonSymptoms = consultation.getSymptoms().stream()
-                            .filter(symptoms::contains)
-                            .count();
-                    return commonSymptoms > 0;
-                })
-                .sorted((c1, c2) -> {
-                    long symptoms1 = c1.getSymptoms().stream().filter(symptoms::contains).count();
-                    long symptoms2 = c2.getSymptoms().stream().filter(symptoms::contains).count();
-                    return Long.compare(symptoms2, symptoms1);
-                })
-                .limit(5)
-                .collect(Collectors.toList());
-    }
-    
-    private String generateDiagnosis(String breed, List<String> symptoms, List<VeterinaryConsultation> similarConsultations) {
-        if (!similarConsultations.isEmpty()) {
-            // Utiliser les diagnostics des consultations similaires
-            Map<String, Long> diagnosisCount = similarConsultations.stream()
-                    .collect(Collectors.groupingBy(
-                            VeterinaryConsultation::getDiagnosis,
-                            Collectors.counting()
-                    ));
-            
-            return diagnosisCount.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse("Diagnostic basé sur les symptômes observés");
-        }
-        
+    private String generateDiagnosis(String breed, List<String> symptoms) {
         // Utiliser la base de connaissances
         return veterinaryKnowledge.getOrDefault(breed.toLowerCase(), new HashMap<>())
                 .getOrDefault(symptoms.get(0).toLowerCase(), "Consultez un vétérinaire pour un diagnostic précis");
@@ -303,18 +257,12 @@ public class ChatbotService {
         return recommendations.toString();
     }
     
-    private Double calculateConfidence(String breed, List<String> symptoms, List<VeterinaryConsultation> similarConsultations) {
-        if (similarConsultations.isEmpty()) {
+    private Double calculateConfidence(Optional<DiagnosisIndex.Match> match) {
+        if (match.isEmpty()) {
             return 0.3; // Faible confiance sans données historiques
         }
         
-        long totalSimilarSymptoms = similarConsultations.stream()
-                .mapToLong(consultation -> consultation.getSymptoms().stream()
-                        .filter(symptoms::contains)
-                        .count())
-                .sum();
-        
-        double confidence = Math.min(0.9, 0.3 + (totalSimilarSymptoms * 0.1));
+        double confidence = Math.min(0.9, 0.3 + (match.get().evidence() * 0.1));
         return confidence;
     }
     
@@ -372,60 +320,6 @@ public class ChatbotService {
     
     // Méthodes utilitaires pour le système d'apprentissage
     
-    private Double calculateAverageConfidence() {
-        List<VeterinaryConsultation> consultations = consultationRepository.findAll();
-        if (consultations.isEmpty()) {
-            return 0.0;
-        }
-        
-        double totalConfidence = consultations.stream()
-            .mapToDouble(VeterinaryConsultation::getConfidence)
-            .sum();
-        
-        return totalConfidence / consultations.size();
-    }
-    
-    private List<Map<String, Object>> getMostCommonBreeds() {
-        List<VeterinaryConsultation> consultations = consultationRepository.findAll();
-        Map<String, Long> breedCounts = consultations.stream()
-            .collect(Collectors.groupingBy(
-                VeterinaryConsultation::getAnimalBreed,
-                Collectors.counting()
-            ));
-        
-        return breedCounts.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .limit(5)
-            .map(entry -> {
-                Map<String, Object> breedInfo = new HashMap<>();
-                breedInfo.put("breed", entry.getKey());
-                breedInfo.put("count", entry.getValue());
-                return breedInfo;
-            })
-            .collect(Collectors.toList());
-    }
-    
-    private List<Map<String, Object>> getMostCommonSymptoms() {
-        List<VeterinaryConsultation> consultations = consultationRepository.findAll();
-        Map<String, Long> symptomCounts = consultations.stream()
-            .flatMap(consultation -> consultation.getSymptoms().stream())
-            .collect(Collectors.groupingBy(
-                symptom -> symptom,
-                Collectors.counting()
-            ));
-        
-        return symptomCounts.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .limit(10)
-            .map(entry -> {
-                Map<String, Object> symptomInfo = new HashMap<>();
-                symptomInfo.put("symptom", entry.getKey());
-                symptomInfo.put("count", entry.getValue());
-                return symptomInfo;
-            })
-            .collect(Collectors.toList());
-    }
-    
     private List<String> getDefaultSymptomsForBreed(String breed) {
         List<String> commonSymptoms = Arrays.asList(
                 "Fièvre", "Perte d'appétit", "Léthargie", "Vomissements", 
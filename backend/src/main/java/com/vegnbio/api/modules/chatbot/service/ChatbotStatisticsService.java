@@ -0,0 +1,148 @@
+package com.vegnbio.api.modules.chatbot.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.chatbot.entity.ChatbotStatCounter;
+import com.vegnbio.api.modules.chatbot.entity.VeterinaryConsultation;
+import com.vegnbio.api.modules.chatbot.repo.ChatbotStatCounterRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Statistiques d'apprentissage du chatbot maintenues au fil de l'eau.
+ * Les compteurs sont persistés dans {@code chatbot_stat_counters} dans la même transaction que la consultation,
+ * rechargés tels quels au démarrage, et lus en mémoire sans parcourir les consultations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatbotStatisticsService {
+
+    private static final int TOP_BREEDS = 5;
+    private static final int TOP_SYMPTOMS = 10;
+
+    private final ChatbotStatCounterRepository counterRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TopCounter breeds = new TopCounter();
+    private final TopCounter symptoms = new TopCounter();
+    private long totalConsultations;
+    private double confidenceSum;
+
+    /**
+     * Charge les compteurs avant l'ouverture du serveur : la table ne contient qu'une ligne par race et par symptôme.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            List<ChatbotStatCounter> counters = counterRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                for (ChatbotStatCounter counter : counters) {
+                    switch (counter.getKind()) {
+                        case ChatbotStatCounter.TOTAL -> {
+                            totalConsultations = counter.getCount();
+                            confidenceSum = counter.getConfidenceSum();
+                        }
+                        case ChatbotStatCounter.BREED -> breeds.add(counter.getLabel(), counter.getCount());
+                        case ChatbotStatCounter.SYMPTOM -> symptoms.add(counter.getLabel(), counter.getCount());
+                        default -> log.warn("Unknown chatbot statistic kind: {}", counter.getKind());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Chatbot statistics loaded: {} consultations", totalConsultations);
+        } catch (Exception e) {
+            log.warn("Failed to load chatbot statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Comptabilise une consultation enregistrée ; à appeler dans la transaction qui l'insère.
+     */
+    public void record(VeterinaryConsultation consultation) {
+        double confidence = consultation.getConfidence() != null ? consultation.getConfidence() : 0.0;
+        List<String> consultationSymptoms = consultation.getSymptoms() != null ? List.copyOf(consultation.getSymptoms()) : List.of();
+
+        counterRepository.increment(ChatbotStatCounter.TOTAL, "", 1, confidence);
+        counterRepository.increment(ChatbotStatCounter.BREED, consultation.getAnimalBreed(), 1, 0.0);
+        consultationSymptoms.forEach(symptom -> counterRepository.increment(ChatbotStatCounter.SYMPTOM, symptom, 1, 0.0));
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                totalConsultations++;
+                confidenceSum += confidence;
+                breeds.add(consultation.getAnimalBreed(), 1);
+                consultationSymptoms.forEach(symptom -> symptoms.add(symptom, 1));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Map<String, Object> snapshot() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalConsultations", totalConsultations);
+            stats.put("supportedBreeds", breeds.distinct());
+            stats.put("knownSymptoms", symptoms.distinct());
+            stats.put("averageConfidence", totalConsultations == 0 ? 0.0 : confidenceSum / totalConsultations);
+            stats.put("mostCommonBreeds", breeds.top(TOP_BREEDS, "breed"));
+            stats.put("mostCommonSymptoms", symptoms.top(TOP_SYMPTOMS, "symptom"));
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fréquences avec classement maintenu à chaque incrément (O(log n)) : le top-k se lit en O(k).
+     */
+    private static final class TopCounter {
+
+        private record Entry(String label, long count) {}
+
+        private final Map<String, Long> counts = new HashMap<>();
+        private final TreeSet<Entry> ranking = new TreeSet<>(
+                Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::label));
+
+        void add(String label, long delta) {
+            if (label == null) {
+                return;
+            }
+            Long previous = counts.get(label);
+            long next = (previous != null ? previous : 0L) + delta;
+            if (previous != null) {
+                ranking.remove(new Entry(label, previous));
+            }
+            counts.put(label, next);
+            ranking.add(new Entry(label, next));
+        }
+
+        int distinct() {
+            return counts.size();
+        }
+
+        List<Map<String, Object>> top(int k, String labelKey) {
+            List<Map<String, Object>> top = new ArrayList<>(k);
+            for (Entry entry : ranking) {
+                if (top.size() == k) {
+                    break;
+                }
+                Map<String, Object> info = new HashMap<>();
+                info.put(labelKey, entry.label());
+                info.put("count", entry.count());
+                top.add(info);
+            }
+            return top;
+        }
+    }
+}
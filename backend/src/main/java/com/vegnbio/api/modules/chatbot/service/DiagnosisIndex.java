@@ -0,0 +1,102 @@
+package com.vegnbio.api.modules.chatbot.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé des consultations : (race, symptôme) → nombre de consultations par diagnostic.
+ * Races, symptômes et diagnostics sont internés (identifiants entiers) ; les symptômes connus
+ * d'une race forment un bitset. Une requête ne dépend que du nombre de symptômes demandés et
+ * de diagnostics associés, pas du nombre de consultations enregistrées.
+ */
+final class DiagnosisIndex {
+
+    /**
+     * Diagnostic retenu et poids des consultations qui le soutiennent (somme des symptômes communs).
+     */
+    record Match(String diagnosis, int evidence) {}
+
+    private static final class BreedEntry {
+        private final BitSet symptoms = new BitSet();
+        private final Map<Integer, Map<Integer, Integer>> diagnosisCountsBySymptom = new HashMap<>();
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> symptomIds = new HashMap<>();
+    private final Map<String, Integer> diagnosisIds = new HashMap<>();
+    private final List<String> diagnoses = new ArrayList<>();
+    private final Map<String, BreedEntry> breeds = new HashMap<>();
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void add(String breed, Collection<String> symptoms, String diagnosis) {
+        String breedKey = normalize(breed);
+        if (breedKey.isEmpty() || symptoms == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            BreedEntry entry = breeds.computeIfAbsent(breedKey, k -> new BreedEntry());
+            Integer diagnosisId = diagnosis == null || diagnosis.isBlank() ? null : intern(diagnosis, diagnosisIds, diagnoses);
+            for (String symptom : new HashSet<>(symptoms)) {
+                if (normalize(symptom).isEmpty()) {
+                    continue;
+                }
+                int symptomId = internSymptom(symptom);
+                entry.symptoms.set(symptomId);
+                if (diagnosisId != null) {
+                    entry.diagnosisCountsBySymptom.computeIfAbsent(symptomId, k -> new HashMap<>())
+                            .merge(diagnosisId, 1, Integer::sum);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Diagnostic le plus fréquent parmi les consultations de la race qui partagent des symptômes
+     * avec la demande ; chaque symptôme commun compte pour une voix.
+     */
+    Optional<Match> diagnose(String breed, Collection<String> symptoms) {
+        lock.readLock().lock();
+        try {
+            BreedEntry entry = breeds.get(normalize(breed));
+            if (entry == null || symptoms == null) {
+                return Optional.empty();
+            }
+            Map<Integer, Integer> votes = new HashMap<>();
+            BitSet requested = new BitSet();
+            for (String symptom : symptoms) {
+                Integer symptomId = symptomIds.get(normalize(symptom));
+                if (symptomId != null) {
+                    requested.set(symptomId);
+                }
+            }
+            requested.and(entry.symptoms);
+            for (int symptomId = requested.nextSetBit(0); symptomId >= 0; symptomId = requested.nextSetBit(symptomId + 1)) {
+                entry.diagnosisCountsBySymptom.getOrDefault(symptomId, Map.of())
+                        .forEach((diagnosisId, count) -> votes.merge(diagnosisId, count, Integer::sum));
+            }
+            return votes.entrySet().stream()
+                    .max(Map.Entry.<Integer, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(best -> new Match(diagnoses.get(best.getKey()), best.getValue()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int internSymptom(String symptom) {
+        return symptomIds.computeIfAbsent(normalize(symptom), k -> symptomIds.size());
+    }
+
+    private static int intern(String value, Map<String, Integer> ids, List<String> values) {
+        return ids.computeIfAbsent(value, k -> {
+            values.add(value);
+            return values.size() - 1;
+        });
+    }
+}
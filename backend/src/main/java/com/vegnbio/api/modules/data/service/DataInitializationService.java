@@ -2,15 +2,23 @@ package com.vegnbio.api.modules.data.service;
 
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.auth.repo.UserRepository;
+import com.vegnbio.api.modules.auth.service.UserService;
 import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import com.vegnbio.api.modules.room.service.RoomAvailabilityService;
 import com.vegnbio.api.modules.menu.entity.Menu;
 import com.vegnbio.api.modules.menu.repo.MenuRepository;
 import com.vegnbio.api.modules.menu.entity.MenuItem;
 import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
+import com.vegnbio.api.modules.cart.service.CartSessionStore;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
+import com.vegnbio.api.modules.search.service.SearchService;
 import com.vegnbio.api.modules.events.entity.Event;
 import com.vegnbio.api.modules.events.repo.EventRepository;
+import com.vegnbio.api.modules.events.service.EventCapacityLedger;
 import com.vegnbio.api.modules.reservation.entity.Reservation;
+import com.vegnbio.api.modules.reservation.service.TableCapacityLedger;
 import com.vegnbio.api.modules.reservation.repo.ReservationRepository;
 import com.vegnbio.api.modules.allergen.entity.Allergen;
 import com.vegnbio.api.modules.allergen.repo.AllergenRepository;
@@ -41,6 +49,14 @@ public class DataInitializationService {
     private final ReservationRepository reservationRepository;
     private final AllergenRepository allergenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MenuCatalogService menuCatalogService;
+    private final SearchService searchService;
+    private final CatalogVersionService catalogVersionService;
+    private final UserService userService;
+    private final RoomAvailabilityService roomAvailabilityService;
+    private final EventCapacityLedger eventCapacityLedger;
+    private final CartSessionStore cartSessionStore;
+    private final TableCapacityLedger tableCapacityLedger;
 
     /**
      * Initialise toutes les données de base pour l'application
@@ -70,6 +86,10 @@ public class DataInitializationService {
             // 7. Créer les réservations
             createReservations();
             
+            menuCatalogService.refreshAfterCommit();
+            searchService.reindexMenuItems();
+            catalogVersionService.allChanged();
+            
             log.info("✅ Initialisation des données terminée avec succès !");
             
         } catch (Exception e) {
@@ -423,6 +443,7 @@ public class DataInitializationService {
         }
         
         reservationRepository.saveAll(reservations);
+        tableCapacityLedger.reconcileAfterCommit();
         log.info("✅ {} réservations créées", reservations.size());
     }
 
@@ -439,6 +460,14 @@ public class DataInitializationService {
         restaurantRepository.deleteAll();
         userRepository.deleteAll();
         allergenRepository.deleteAll();
+        menuCatalogService.refreshAfterCommit();
+        searchService.reindexMenuItems();
+        catalogVersionService.allChanged();
+        userService.invalidateAllUsers();
+        roomAvailabilityService.clear();
+        eventCapacityLedger.clear();
+        cartSessionStore.clear();
+        tableCapacityLedger.clear();
         
         log.info("✅ Toutes les données ont été supprimées");
     }
@@ -1,13 +1,20 @@
 package com.vegnbio.api.modules.errorreporting.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.errorreporting.dto.ErrorReportDto;
 import com.vegnbio.api.modules.errorreporting.dto.CreateErrorReportRequest;
+import com.vegnbio.api.modules.errorreporting.dto.ErrorTimeSeriesDto;
 import com.vegnbio.api.modules.errorreporting.service.ErrorReportingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +26,9 @@ public class ErrorReportingController {
     private final ErrorReportingService errorReportingService;
     
     @PostMapping
-    public ResponseEntity<ErrorReportDto> createErrorReport(@Valid @RequestBody CreateErrorReportRequest request) {
-        ErrorReportDto report = errorReportingService.createErrorReport(request);
-        return ResponseEntity.ok(report);
+    public ResponseEntity<Map<String, Object>> createErrorReport(@Valid @RequestBody CreateErrorReportRequest request) {
+        errorReportingService.submitErrorReport(request);
+        return ResponseEntity.accepted().body(Map.of("accepted", true));
     }
     
     @GetMapping
@@ -32,6 +39,24 @@ public class ErrorReportingController {
         return ResponseEntity.ok(reports);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<ErrorReportDto>> getErrorReportPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<ErrorReportDto> page = errorReportingService.getErrorReportPage(status, severity, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportErrorReports() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorReportingService.exportErrorReports());
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ErrorReportDto> getErrorReport(@PathVariable Long id) {
         ErrorReportDto report = errorReportingService.getErrorReportById(id);
@@ -44,6 +69,16 @@ public class ErrorReportingController {
         return ResponseEntity.ok(statistics);
     }
     
+    @GetMapping("/timeseries")
+    public ResponseEntity<ErrorTimeSeriesDto> getErrorTimeSeries(
+            @RequestParam(defaultValue = "HOUR") String granularity,
+            @RequestParam(defaultValue = "TOTAL") String dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ErrorTimeSeriesDto series = errorReportingService.getErrorTimeSeries(granularity, dimension, from, to);
+        return ResponseEntity.ok(series);
+    }
+    
     @GetMapping("/recent")
     public ResponseEntity<List<ErrorReportDto>> getRecentErrors(@RequestParam(defaultValue = "24") int hours) {
         List<ErrorReportDto> reports = errorReportingService.getRecentErrors(hours);
@@ -60,7 +95,7 @@ public class ErrorReportingController {
     
     @PostMapping("/bulk")
     public ResponseEntity<Map<String, Object>> createBulkErrorReports(@Valid @RequestBody List<CreateErrorReportRequest> requests) {
-        Map<String, Object> result = errorReportingService.createBulkErrorReports(requests);
-        return ResponseEntity.ok(result);
+        Map<String, Object> result = errorReportingService.submitBulkErrorReports(requests);
+        return ResponseEntity.accepted().body(result);
     }
 }
\ No newline at end of file
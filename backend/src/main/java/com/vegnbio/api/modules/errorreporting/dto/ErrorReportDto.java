@@ -15,6 +15,9 @@ public class ErrorReportDto {
     private String userId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long occurrenceCount;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
     
     public ErrorReportDto() {}
     
@@ -52,6 +55,9 @@ public class ErrorReportDto {
         private String userId;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long occurrenceCount;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
         
         public ErrorReportDtoBuilder id(Long id) { this.id = id; return this; }
         public ErrorReportDtoBuilder title(String title) { this.title = title; return this; }
@@ -65,9 +71,16 @@ public class ErrorReportDto {
         public ErrorReportDtoBuilder userId(String userId) { this.userId = userId; return this; }
         public ErrorReportDtoBuilder createdAt(LocalDateTime createdAt) { this.createdAt = createdAt; return this; }
         public ErrorReportDtoBuilder updatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; return this; }
+        public ErrorReportDtoBuilder occurrenceCount(Long occurrenceCount) { this.occurrenceCount = occurrenceCount; return this; }
+        public ErrorReportDtoBuilder firstSeen(LocalDateTime firstSeen) { this.firstSeen = firstSeen; return this; }
+        public ErrorReportDtoBuilder lastSeen(LocalDateTime lastSeen) { this.lastSeen = lastSeen; return this; }
         
         public ErrorReportDto build() {
-            return new ErrorReportDto(id, title, description, errorType, severity, status, userAgent, url, stackTrace, userId, createdAt, updatedAt);
+            ErrorReportDto dto = new ErrorReportDto(id, title, description, errorType, severity, status, userAgent, url, stackTrace, userId, createdAt, updatedAt);
+            dto.setOccurrenceCount(occurrenceCount);
+            dto.setFirstSeen(firstSeen);
+            dto.setLastSeen(lastSeen);
+            return dto;
         }
     }
     
@@ -107,4 +120,13 @@ public class ErrorReportDto {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-}
\ No newline at end of file
+    
+    public Long getOccurrenceCount() { return occurrenceCount; }
+    public void setOccurrenceCount(Long occurrenceCount) { this.occurrenceCount = occurrenceCount; }
+    
+    public LocalDateTime getFirstSeen() { return firstSeen; }
+    public void setFirstSeen(LocalDateTime firstSeen) { this.firstSeen = firstSeen; }
+    
+    public LocalDateTime getLastSeen() { return lastSeen; }
+    public void setLastSeen(LocalDateTime lastSeen) { this.lastSeen = lastSeen; }
+}
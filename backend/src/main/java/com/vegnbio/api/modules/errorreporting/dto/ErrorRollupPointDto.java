@@ -0,0 +1,9 @@
+package com.vegnbio.api.modules.errorreporting.dto;
+
+import java.time.LocalDateTime;
+
+public record ErrorRollupPointDto(
+    LocalDateTime bucket,
+    String label,
+    long count
+) {}
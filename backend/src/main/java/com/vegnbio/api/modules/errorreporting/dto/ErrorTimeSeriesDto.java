@@ -0,0 +1,12 @@
+package com.vegnbio.api.modules.errorreporting.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ErrorTimeSeriesDto(
+    String granularity,
+    String dimension,
+    LocalDateTime from,
+    LocalDateTime to,
+    List<ErrorRollupPointDto> points
+) {}
@@ -40,6 +40,19 @@ public class ErrorReport {
     @Column(name = "user_id")
     private String userId;
     
+    // Empreinte (type + url + trace normalisés) : une ligne par erreur distincte
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+    
+    @Column(name = "occurrence_count", nullable = false)
+    private Long occurrenceCount = 1L;
+    
+    @Column(name = "first_seen")
+    private LocalDateTime firstSeen;
+    
+    @Column(name = "last_seen")
+    private LocalDateTime lastSeen;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -95,6 +108,10 @@ public class ErrorReport {
         private String userId;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private String fingerprint;
+        private Long occurrenceCount = 1L;
+        private LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
         
         public ErrorReportBuilder id(Long id) { this.id = id; return this; }
         public ErrorReportBuilder title(String title) { this.title = title; return this; }
@@ -108,9 +125,18 @@ public class ErrorReport {
         public ErrorReportBuilder userId(String userId) { this.userId = userId; return this; }
         public ErrorReportBuilder createdAt(LocalDateTime createdAt) { this.createdAt = createdAt; return this; }
         public ErrorReportBuilder updatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; return this; }
+        public ErrorReportBuilder fingerprint(String fingerprint) { this.fingerprint = fingerprint; return this; }
+        public ErrorReportBuilder occurrenceCount(Long occurrenceCount) { this.occurrenceCount = occurrenceCount; return this; }
+        public ErrorReportBuilder firstSeen(LocalDateTime firstSeen) { this.firstSeen = firstSeen; return this; }
+        public ErrorReportBuilder lastSeen(LocalDateTime lastSeen) { this.lastSeen = lastSeen; return this; }
         
         public ErrorReport build() {
-            return new ErrorReport(id, title, description, errorType, severity, status, userAgent, url, stackTrace, userId, createdAt, updatedAt);
+            ErrorReport report = new ErrorReport(id, title, description, errorType, severity, status, userAgent, url, stackTrace, userId, createdAt, updatedAt);
+            report.setFingerprint(fingerprint);
+            report.setOccurrenceCount(occurrenceCount);
+            report.setFirstSeen(firstSeen);
+            report.setLastSeen(lastSeen);
+            return report;
         }
     }
     
@@ -150,4 +176,16 @@ public class ErrorReport {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    
+    public Long getOccurrenceCount() { return occurrenceCount; }
+    public void setOccurrenceCount(Long occurrenceCount) { this.occurrenceCount = occurrenceCount; }
+    
+    public LocalDateTime getFirstSeen() { return firstSeen; }
+    public void setFirstSeen(LocalDateTime firstSeen) { this.firstSeen = firstSeen; }
+    
+    public LocalDateTime getLastSeen() { return lastSeen; }
+    public void setLastSeen(LocalDateTime lastSeen) { this.lastSeen = lastSeen; }
 }
@@ -0,0 +1,47 @@
+package com.vegnbio.api.modules.errorreporting.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compteur d'un intervalle de temps (minute ou heure) pour une dimension : total des occurrences,
+ * occurrences par sévérité ou par type d'erreur, rapports entrés dans un statut.
+ */
+@Entity
+@Table(name = "error_report_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorReportRollup {
+    
+    public static final String MINUTE = "MINUTE";
+    public static final String HOUR = "HOUR";
+    
+    public static final String TOTAL = "TOTAL";
+    public static final String SEVERITY = "SEVERITY";
+    public static final String STATUS = "STATUS";
+    public static final String TYPE = "TYPE";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 8)
+    private String granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(nullable = false, length = 16)
+    private String dimension;
+    
+    @Column(nullable = false, length = 100)
+    private String label;
+    
+    @Column(nullable = false)
+    private Long count;
+}
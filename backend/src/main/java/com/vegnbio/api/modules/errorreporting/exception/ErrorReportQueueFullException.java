@@ -0,0 +1,7 @@
+package com.vegnbio.api.modules.errorreporting.exception;
+
+public class ErrorReportQueueFullException extends RuntimeException {
+    public ErrorReportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.vegnbio.api.modules.errorreporting.exception;
+
+public class InvalidErrorReportException extends RuntimeException {
+    public InvalidErrorReportException(String message) {
+        super(message);
+    }
+}
@@ -3,11 +3,20 @@ package com.vegnbio.api.modules.errorreporting.repo;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorReport;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorSeverity;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ErrorReportRepository extends JpaRepository<ErrorReport, Long> {
@@ -20,15 +29,38 @@ public interface ErrorReportRepository extends JpaRepository<ErrorReport, Long>
     
     List<ErrorReport> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date);
     
+    List<ErrorReport> findByLastSeenAfterOrderByLastSeenDesc(LocalDateTime date);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT er FROM ErrorReport er WHERE er.id = :id")
+    Optional<ErrorReport> findByIdForUpdate(@Param("id") Long id);
+    
     long countByStatus(ErrorStatus status);
     
     long countBySeverity(ErrorSeverity severity);
     
     long countByCreatedAtAfter(LocalDateTime date);
     
+    @Query("SELECT er.status, COUNT(er) FROM ErrorReport er GROUP BY er.status")
+    List<Object[]> countGroupByStatus();
+    
     @Query("SELECT er.errorType as errorType, COUNT(er) as count FROM ErrorReport er GROUP BY er.errorType ORDER BY count DESC")
     List<Object[]> findErrorTypeStatistics();
     
+    @Query("SELECT er FROM ErrorReport er WHERE (:status IS NULL OR er.status = :status) " +
+           "AND (:severity IS NULL OR er.severity = :severity) " +
+           "AND (er.createdAt < :createdAt OR (er.createdAt = :createdAt AND er.id < :id)) " +
+           "ORDER BY er.createdAt DESC, er.id DESC")
+    List<ErrorReport> findPage(@Param("status") ErrorStatus status,
+                               @Param("severity") ErrorSeverity severity,
+                               @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT er FROM ErrorReport er ORDER BY er.createdAt DESC, er.id DESC")
+    Stream<ErrorReport> streamAll();
+    
     @Query("SELECT er FROM ErrorReport er WHERE er.severity = :severity AND er.status = :status ORDER BY er.createdAt DESC")
     List<ErrorReport> findCriticalErrors(ErrorSeverity severity, ErrorStatus status);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.vegnbio.api.modules.errorreporting.repo;
+
+import com.vegnbio.api.modules.errorreporting.entity.ErrorReportRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ErrorReportRollupRepository extends JpaRepository<ErrorReportRollup, Long> {
+    
+    String INCREMENT_SQL = "INSERT INTO error_report_rollups (granularity, bucket_start, dimension, label, count) " +
+                           "VALUES (?, ?, ?, ?, ?) " +
+                           "ON CONFLICT (granularity, dimension, bucket_start, label) " +
+                           "DO UPDATE SET count = error_report_rollups.count + EXCLUDED.count";
+    
+    @Query("SELECT r.dimension, r.label, SUM(r.count) FROM ErrorReportRollup r WHERE r.granularity = :granularity GROUP BY r.dimension, r.label")
+    List<Object[]> sumByDimensionAndLabel(@Param("granularity") String granularity);
+    
+    @Query("SELECT r FROM ErrorReportRollup r WHERE r.granularity = :granularity AND r.dimension = :dimension " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart ASC, r.label ASC")
+    List<ErrorReportRollup> findSeries(@Param("granularity") String granularity,
+                                       @Param("dimension") String dimension,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+    
+    @Modifying
+    @Query("DELETE FROM ErrorReportRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") String granularity, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,85 @@
+package com.vegnbio.api.modules.errorreporting.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Empreinte d'un rapport d'erreur : SHA-256 du type, de l'url et de la trace normalisés.
+ * Les parties qui varient d'une occurrence à l'autre (numéros de ligne, identifiants, hôtes,
+ * hash de bundle, adresses mémoire) sont neutralisées pour regrouper les occurrences d'un même bug.
+ */
+final class ErrorFingerprint {
+
+    private static final int MAX_FRAMES = 20;
+
+    private static final Pattern HOST = Pattern.compile("[a-z][a-z0-9+.-]*://[^/\\s)]+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LINE_COLUMN = Pattern.compile(":\\d+(:\\d+)?");
+    private static final Pattern BUNDLE_HASH = Pattern.compile("[.-][0-9a-f]{6,}(?=\\.)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HEX_ADDRESS = Pattern.compile("0x[0-9a-f]+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern UUID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ErrorFingerprint() {}
+
+    static String of(String errorType, String url, String stackTrace) {
+        String key = normalizeType(errorType) + '\n' + normalizeUrl(url) + '\n' + normalizeStackTrace(stackTrace);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String normalizeType(String errorType) {
+        return errorType == null ? "" : errorType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Chemin seul, sans hôte, paramètres ni fragment ; les segments numériques et UUID deviennent {id}.
+     */
+    static String normalizeUrl(String url) {
+        if (url == null) {
+            return "";
+        }
+        String path = HOST.matcher(url.trim()).replaceFirst("");
+        int cut = indexOfAny(path, '?', '#');
+        if (cut >= 0) {
+            path = path.substring(0, cut);
+        }
+        path = UUID.matcher(path).replaceAll("{id}");
+        return NUMERIC_SEGMENT.matcher(path).replaceAll("/{id}").toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeStackTrace(String stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        return stackTrace.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .limit(MAX_FRAMES)
+                .map(line -> HOST.matcher(line).replaceAll(""))
+                .map(line -> UUID.matcher(line).replaceAll("{id}"))
+                .map(line -> HEX_ADDRESS.matcher(line).replaceAll("0x"))
+                .map(line -> BUNDLE_HASH.matcher(line).replaceAll(""))
+                .map(line -> LINE_COLUMN.matcher(line).replaceAll(""))
+                .map(line -> WHITESPACE.matcher(line).replaceAll(" "))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        int a = value.indexOf(first);
+        int b = value.indexOf(second);
+        if (a < 0) {
+            return b;
+        }
+        return b < 0 ? a : Math.min(a, b);
+    }
+}
@@ -0,0 +1,311 @@
+package com.vegnbio.api.modules.errorreporting.service;
+
+import com.vegnbio.api.modules.errorreporting.entity.ErrorReport;
+import com.vegnbio.api.modules.errorreporting.entity.ErrorSeverity;
+import com.vegnbio.api.modules.errorreporting.entity.ErrorStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File d'ingestion des rapports d'erreur envoyés par les clients.
+ * Les rapports sont regroupés par empreinte dans une table en mémoire bornée (une entrée par erreur distincte) ;
+ * un thread dédié la vide périodiquement en upserts JDBC par lots qui incrémentent {@code occurrence_count}.
+ * Une boucle de crash côté front ne produit ainsi qu'une entrée et une écriture par intervalle.
+ * Quand la table se remplit, les nouvelles erreurs LOW/MEDIUM sont échantillonnées puis rejetées.
+ * La taille est plafonnée strictement : une nouvelle erreur HIGH/CRITICAL arrivant table pleine prend la place
+ * d'une erreur LOW/MEDIUM en attente (évincée), ou est rejetée s'il n'y en a plus.
+ * Les occurrences d'une erreur déjà en attente ne sont jamais rejetées.
+ * <p>
+ * L'upsert en base garde la sévérité la plus haute vue pour une empreinte, et rouvre (OPEN)
+ * un rapport RESOLVED qui réapparaît ; les statuts IN_PROGRESS et autres sont conservés.
+ */
+@Slf4j
+@Component
+public class ErrorReportIngestionQueue {
+
+    // Une erreur résolue qui réapparaît est rouverte ; la sévérité ne peut que monter
+    private static final String UPSERT_SQL = "INSERT INTO error_reports (fingerprint, title, description, error_type, severity, status, " +
+            "user_agent, url, stack_trace, user_id, occurrence_count, first_seen, last_seen, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (fingerprint) DO UPDATE SET " +
+            "occurrence_count = error_reports.occurrence_count + EXCLUDED.occurrence_count, " +
+            "last_seen = GREATEST(error_reports.last_seen, EXCLUDED.last_seen), " +
+            "severity = CASE WHEN array_position(ARRAY['LOW','MEDIUM','HIGH','CRITICAL'], EXCLUDED.severity::text) " +
+            "> COALESCE(array_position(ARRAY['LOW','MEDIUM','HIGH','CRITICAL'], error_reports.severity::text), 0) " +
+            "THEN EXCLUDED.severity ELSE error_reports.severity END, " +
+            "status = CASE WHEN error_reports.status = 'RESOLVED' THEN 'OPEN' ELSE error_reports.status END";
+    // Verrouille les rapports existants du lot pour connaître leur statut avant l'upsert
+    private static final String LOCK_EXISTING_SQL = "SELECT fingerprint, COALESCE(status, 'OPEN') FROM error_reports " +
+            "WHERE fingerprint = ANY(?) FOR UPDATE";
+    private static final double HIGH_WATERMARK = 0.8;
+    private static final int SAMPLE_RATE = 10;
+
+    /**
+     * Occurrences accumulées d'une empreinte ; modifiées uniquement dans {@code compute} sur la table.
+     */
+    private static final class Pending {
+        private final ErrorReport report;
+        private long occurrences = 1;
+        private LocalDateTime lastSeen;
+        private volatile ErrorSeverity severity;
+
+        private Pending(ErrorReport report) {
+            this.report = report;
+            this.lastSeen = report.getLastSeen();
+            this.severity = report.getSeverity();
+        }
+
+        private Pending add(ErrorReport occurrence) {
+            occurrences++;
+            if (occurrence.getLastSeen().isAfter(lastSeen)) {
+                lastSeen = occurrence.getLastSeen();
+            }
+            if (occurrence.getSeverity().compareTo(severity) > 0) {
+                severity = occurrence.getSeverity();
+            }
+            return this;
+        }
+
+        private boolean minor() {
+            return !isImportant(severity);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ErrorStatisticsService statisticsService;
+    private final TransactionTemplate writeTransaction;
+    private final Map<String, Pending> hot = new ConcurrentHashMap<>();
+    // Places occupées dans la table, réservées avant insertion : le plafond est respecté même en concurrence
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private final Counter accepted;
+    private final Counter deduplicated;
+    private final Counter sampledOut;
+    private final Counter dropped;
+    private final Counter evicted;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public ErrorReportIngestionQueue(JdbcTemplate jdbcTemplate,
+                                     ErrorStatisticsService statisticsService,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.error-reports.ingest.capacity:10000}") int capacity,
+                                     @Value("${app.error-reports.ingest.batch-size:500}") int batchSize,
+                                     @Value("${app.error-reports.ingest.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsService = statisticsService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.capacity = Math.max(capacity, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushIntervalMillis = Math.max(flushIntervalMillis, 10);
+
+        this.accepted = meterRegistry.counter("error_reports.ingest", "result", "accepted");
+        this.deduplicated = meterRegistry.counter("error_reports.ingest", "result", "deduplicated");
+        this.sampledOut = meterRegistry.counter("error_reports.ingest", "result", "sampled_out");
+        this.dropped = meterRegistry.counter("error_reports.ingest", "result", "dropped");
+        this.evicted = meterRegistry.counter("error_reports.ingest.evicted");
+        this.written = meterRegistry.counter("error_reports.ingest.written");
+        this.failed = meterRegistry.counter("error_reports.ingest.failed");
+        Gauge.builder("error_reports.ingest.buffer", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::flushLoop, "error-report-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Arrête le thread d'écriture après avoir vidé la table.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Ajoute une occurrence du rapport (empreinte renseignée) sans bloquer ; retourne {@code false} s'il a été écarté.
+     */
+    public boolean offer(ErrorReport report) {
+        Pending merged = hot.computeIfPresent(report.getFingerprint(), (fingerprint, pending) -> pending.add(report));
+        if (merged != null) {
+            deduplicated.increment();
+            return true;
+        }
+
+        boolean important = isImportant(report.getSeverity());
+        int size = pendingCount.get();
+        if (!important && size >= capacity * HIGH_WATERMARK
+                && (size >= capacity || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0)) {
+            (size >= capacity ? dropped : sampledOut).increment();
+            return false;
+        }
+        if (!reserveSlot(important)) {
+            dropped.increment();
+            return false;
+        }
+        boolean[] inserted = {false};
+        hot.compute(report.getFingerprint(), (fingerprint, pending) -> {
+            if (pending != null) {
+                return pending.add(report);
+            }
+            inserted[0] = true;
+            return new Pending(report);
+        });
+        if (!inserted[0]) {
+            // Empreinte ajoutée entre-temps par un autre thread : la place réservée est rendue
+            pendingCount.decrementAndGet();
+        }
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Réserve une place dans la table ; table pleine, une erreur importante évince une erreur LOW/MEDIUM en attente.
+     */
+    private boolean reserveSlot(boolean important) {
+        while (true) {
+            if (pendingCount.incrementAndGet() <= capacity) {
+                return true;
+            }
+            pendingCount.decrementAndGet();
+            if (!important || !evictMinor()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean evictMinor() {
+        for (Map.Entry<String, Pending> entry : hot.entrySet()) {
+            Pending pending = entry.getValue();
+            if (pending.minor() && hot.remove(entry.getKey(), pending)) {
+                pendingCount.decrementAndGet();
+                evicted.increment(pending.occurrences);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isImportant(ErrorSeverity severity) {
+        return severity == ErrorSeverity.HIGH || severity == ErrorSeverity.CRITICAL;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush();
+        }
+        // Arrêt demandé : dernière écriture de ce qui reste en attente
+        Thread.interrupted();
+        flush();
+    }
+
+    /**
+     * Retire chaque entrée de la table (atomiquement, par clé) et l'écrit par lots.
+     */
+    private void flush() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        for (String fingerprint : hot.keySet()) {
+            Pending pending = hot.remove(fingerprint);
+            if (pending == null) {
+                continue;
+            }
+            pendingCount.decrementAndGet();
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                Map<String, ErrorStatus> previous = lockExisting(batch);
+                jdbcTemplate.batchUpdate(UPSERT_SQL, batch.stream()
+                        .map(pending -> {
+                            ErrorReport report = pending.report;
+                            return new Object[]{
+                                    report.getFingerprint(),
+                                    report.getTitle(),
+                                    report.getDescription(),
+                                    report.getErrorType(),
+                                    pending.severity.name(),
+                                    report.getStatus().name(),
+                                    report.getUserAgent(),
+                                    report.getUrl(),
+                                    report.getStackTrace(),
+                                    report.getUserId(),
+                                    pending.occurrences,
+                                    Timestamp.valueOf(report.getFirstSeen()),
+                                    Timestamp.valueOf(pending.lastSeen),
+                                    Timestamp.valueOf(report.getCreatedAt()),
+                                    Timestamp.valueOf(report.getUpdatedAt())
+                            };
+                        })
+                        .toList());
+                statisticsService.recordFlush(batch.stream()
+                        .map(pending -> new ErrorStatisticsService.Flushed(pending.severity, pending.report.getErrorType(),
+                                pending.occurrences, pending.lastSeen, previous.get(pending.report.getFingerprint())))
+                        .toList());
+            });
+            written.increment(batch.size());
+            log.debug("Error reports flushed: {}", batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            log.warn("Failed to write {} error reports: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private Map<String, ErrorStatus> lockExisting(List<Pending> batch) {
+        String[] fingerprints = batch.stream().map(pending -> pending.report.getFingerprint()).toArray(String[]::new);
+        Map<String, ErrorStatus> statuses = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_EXISTING_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", fingerprints));
+            return statement;
+        }, (RowCallbackHandler) row -> statuses.put(row.getString(1), ErrorStatus.valueOf(row.getString(2))));
+        return statuses;
+    }
+}
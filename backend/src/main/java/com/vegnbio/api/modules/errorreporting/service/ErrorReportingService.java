@@ -1,14 +1,21 @@
 package com.vegnbio.api.modules.errorreporting.service;
 
+import com.vegnbio.api.config.JsonExportWriter;
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.errorreporting.dto.ErrorReportDto;
 import com.vegnbio.api.modules.errorreporting.dto.CreateErrorReportRequest;
+import com.vegnbio.api.modules.errorreporting.dto.ErrorTimeSeriesDto;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorReport;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorSeverity;
 import com.vegnbio.api.modules.errorreporting.entity.ErrorStatus;
+import com.vegnbio.api.modules.errorreporting.exception.ErrorReportQueueFullException;
+import com.vegnbio.api.modules.errorreporting.exception.InvalidErrorReportException;
 import com.vegnbio.api.modules.errorreporting.repo.ErrorReportRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,31 +29,19 @@ public class ErrorReportingService {
     
     private static final Logger log = LoggerFactory.getLogger(ErrorReportingService.class);
     private final ErrorReportRepository errorReportRepository;
+    private final ErrorReportIngestionQueue ingestionQueue;
+    private final ErrorStatisticsService statisticsService;
+    private final JsonExportWriter jsonExportWriter;
     
-    @Transactional
-    public ErrorReportDto createErrorReport(CreateErrorReportRequest request) {
-        log.info("Creating error report: {}", request.title());
-        
-        ErrorReport errorReport = ErrorReport.builder()
-                .title(request.title())
-                .description(request.description())
-                .errorType(request.errorType())
-                .severity(ErrorSeverity.valueOf(request.severity()))
-                .status(ErrorStatus.OPEN)
-                .userAgent(request.userAgent())
-                .url(request.url())
-                .stackTrace(request.stackTrace())
-                .userId(request.userId())
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
-        
-        errorReportRepository.save(errorReport);
-        
-        // Log pour monitoring
-        log.error("Error reported: {} - {}", request.title(), request.description());
-        
-        return convertToDto(errorReport);
+    /**
+     * Accepte le rapport dans la file d'ingestion ; les occurrences de même empreinte sont regroupées
+     * et l'écriture en base est faite par lots en arrière-plan.
+     * Lève {@link ErrorReportQueueFullException} si le rapport a été écarté faute de place.
+     */
+    public void submitErrorReport(CreateErrorReportRequest request) {
+        if (!ingestionQueue.offer(toEntity(request))) {
+            throw new ErrorReportQueueFullException("Error report queue is full, retry later");
+        }
     }
     
     @Transactional(readOnly = true)
@@ -71,6 +66,24 @@ public class ErrorReportingService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<ErrorReportDto> getErrorReportPage(String status, String severity, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<ErrorReport> reports = errorReportRepository.findPage(
+                status != null ? ErrorStatus.valueOf(status.toUpperCase()) : null,
+                severity != null ? ErrorSeverity.valueOf(severity.toUpperCase()) : null,
+                position.createdAt(), position.id(), KeysetPage.request(size));
+        return KeysetPage.of(reports, size, report -> new KeysetCursor(report.getCreatedAt(), report.getId()), this::convertToDto);
+    }
+    
+    /**
+     * Export complet en flux JSON, lu par curseur JDBC.
+     */
+    public StreamingResponseBody exportErrorReports() {
+        return jsonExportWriter.stream(errorReportRepository::streamAll, this::convertToDto);
+    }
+    
     @Transactional(readOnly = true)
     public ErrorReportDto getErrorReportById(Long id) {
         ErrorReport report = errorReportRepository.findById(id)
@@ -78,47 +91,18 @@ public class ErrorReportingService {
         return convertToDto(report);
     }
     
-    @Transactional(readOnly = true)
     public Map<String, Object> getErrorStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        long totalErrors = errorReportRepository.count();
-        long openErrors = errorReportRepository.countByStatus(ErrorStatus.OPEN);
-        long resolvedErrors = errorReportRepository.countByStatus(ErrorStatus.RESOLVED);
-        
-        // Statistiques par sévérité
-        Map<String, Long> severityStats = new HashMap<>();
-        for (ErrorSeverity severity : ErrorSeverity.values()) {
-            long count = errorReportRepository.countBySeverity(severity);
-            severityStats.put(severity.name(), count);
-        }
-        
-        // Statistiques par type d'erreur
-        List<Object[]> errorTypeStatsRaw = errorReportRepository.findErrorTypeStatistics();
-        Map<String, Long> errorTypeStats = new HashMap<>();
-        for (Object[] row : errorTypeStatsRaw) {
-            errorTypeStats.put((String) row[0], (Long) row[1]);
-        }
-        
-        // Erreurs récentes (24h)
-        LocalDateTime yesterday = LocalDateTime.now().minusHours(24);
-        long recentErrors = errorReportRepository.countByCreatedAtAfter(yesterday);
-        
-        stats.put("totalErrors", totalErrors);
-        stats.put("openErrors", openErrors);
-        stats.put("resolvedErrors", resolvedErrors);
-        stats.put("severityStats", severityStats);
-        stats.put("errorTypeStats", errorTypeStats);
-        stats.put("recentErrors24h", recentErrors);
-        stats.put("resolutionRate", totalErrors > 0 ? (double) resolvedErrors / totalErrors : 0.0);
-        
-        return stats;
+        return statisticsService.snapshot();
+    }
+    
+    public ErrorTimeSeriesDto getErrorTimeSeries(String granularity, String dimension, LocalDateTime from, LocalDateTime to) {
+        return statisticsService.timeSeries(granularity, dimension, from, to);
     }
     
     @Transactional(readOnly = true)
     public List<ErrorReportDto> getRecentErrors(int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<ErrorReport> reports = errorReportRepository.findByCreatedAtAfterOrderByCreatedAtDesc(since);
+        List<ErrorReport> reports = errorReportRepository.findByLastSeenAfterOrderByLastSeenDesc(since);
         
         return reports.stream()
                 .map(this::convertToDto)
@@ -127,43 +111,95 @@ public class ErrorReportingService {
     
     @Transactional
     public ErrorReportDto updateErrorStatus(Long id, String status) {
-        ErrorReport report = errorReportRepository.findById(id)
+        // Verrou de ligne : deux changements de statut concurrents ne comptent pas la même transition deux fois
+        ErrorReport report = errorReportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Error report not found"));
         
+        ErrorStatus previousStatus = report.getStatus();
         report.setStatus(ErrorStatus.valueOf(status.toUpperCase()));
         report.setUpdatedAt(LocalDateTime.now());
         
         errorReportRepository.save(report);
+        statisticsService.recordStatusChange(previousStatus, report.getStatus());
         
         log.info("Error report {} status updated to {}", id, status);
         
         return convertToDto(report);
     }
     
-    @Transactional
-    public Map<String, Object> createBulkErrorReports(List<CreateErrorReportRequest> requests) {
-        List<ErrorReportDto> createdReports = new ArrayList<>();
+    public Map<String, Object> submitBulkErrorReports(List<CreateErrorReportRequest> requests) {
+        int accepted = 0;
+        int dropped = 0;
         List<String> errors = new ArrayList<>();
         
         for (CreateErrorReportRequest request : requests) {
+            ErrorReport report;
             try {
-                ErrorReportDto report = createErrorReport(request);
-                createdReports.add(report);
-            } catch (Exception e) {
-                errors.add("Failed to create report for: " + request.title() + " - " + e.getMessage());
-                log.error("Failed to create bulk error report", e);
+                report = toEntity(request);
+            } catch (InvalidErrorReportException e) {
+                errors.add("Invalid report: " + request.title() + " - " + e.getMessage());
+                continue;
             }
+            if (ingestionQueue.offer(report)) {
+                accepted++;
+            } else {
+                dropped++;
+            }
+        }
+        // Lot valide entièrement écarté : le client doit réessayer plus tard
+        if (accepted == 0 && dropped > 0) {
+            throw new ErrorReportQueueFullException("Error report queue is full, retry later");
         }
         
         Map<String, Object> result = new HashMap<>();
-        result.put("created", createdReports.size());
+        result.put("accepted", accepted);
+        result.put("dropped", dropped);
         result.put("failed", errors.size());
-        result.put("reports", createdReports);
         result.put("errors", errors);
         
         return result;
     }
     
+    /**
+     * Valide la demande avant mise en file : une erreur de saisie est signalée au client, pas au thread d'écriture.
+     */
+    private ErrorReport toEntity(CreateErrorReportRequest request) {
+        if (isBlank(request.title()) || isBlank(request.description()) || isBlank(request.errorType())) {
+            throw new InvalidErrorReportException("Title, description and error type are required");
+        }
+        if (request.severity() == null) {
+            throw new InvalidErrorReportException("Severity is required");
+        }
+        ErrorSeverity severity;
+        try {
+            severity = ErrorSeverity.valueOf(request.severity().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidErrorReportException("Unknown severity: " + request.severity());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return ErrorReport.builder()
+                .title(request.title())
+                .description(request.description())
+                .errorType(request.errorType())
+                .severity(severity)
+                .status(ErrorStatus.OPEN)
+                .userAgent(request.userAgent())
+                .url(request.url())
+                .stackTrace(request.stackTrace())
+                .userId(request.userId())
+                .fingerprint(ErrorFingerprint.of(request.errorType(), request.url(), request.stackTrace()))
+                .occurrenceCount(1L)
+                .firstSeen(now)
+                .lastSeen(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+    
     private ErrorReportDto convertToDto(ErrorReport report) {
         return ErrorReportDto.builder()
                 .id(report.getId())
@@ -178,6 +214,9 @@ public class ErrorReportingService {
                 .userId(report.getUserId())
                 .createdAt(report.getCreatedAt())
                 .updatedAt(report.getUpdatedAt())
+                .occurrenceCount(report.getOccurrenceCount())
+                .firstSeen(report.getFirstSeen())
+                .lastSeen(report.getLastSeen())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.vegnbio.api.modules.errorreporting.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.errorreporting.dto.ErrorRollupPointDto;
+import com.vegnbio.api.modules.errorreporting.dto.ErrorTimeSeriesDto;
+import com.vegnbio.api.modules.errorreporting.entity.ErrorReportRollup;
+import com.vegnbio.api.modules.errorreporting.entity.ErrorSeverity;
+import com.vegnbio.api.modules.errorreporting.entity.ErrorStatus;
+import com.vegnbio.api.modules.errorreporting.repo.ErrorReportRepository;
+import com.vegnbio.api.modules.errorreporting.repo.ErrorReportRollupRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Statistiques des rapports d'erreur tenues par intervalles de temps (minute et heure).
+ * Les agrégats sont incrémentés à chaque écriture de la file d'ingestion et à chaque changement de statut,
+ * persistés dans {@code error_report_rollups} dans la même transaction, et lus en mémoire par l'endpoint de statistiques.
+ */
+@Slf4j
+@Service
+public class ErrorStatisticsService {
+
+    /**
+     * Occurrences d'une empreinte écrites en base ; {@code previousStatus} est vide pour un nouveau rapport.
+     */
+    record Flushed(ErrorSeverity severity, String errorType, long occurrences, LocalDateTime seenAt, ErrorStatus previousStatus) {}
+
+    private record RollupKey(String granularity, LocalDateTime bucketStart, String dimension, String label) {}
+
+    private static final int MAX_SERIES_BUCKETS = 1440;
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final ErrorReportRepository errorReportRepository;
+    private final ErrorReportRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int minuteRetentionDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Cumuls depuis l'origine, par dimension puis libellé (agrégats horaires)
+    private final Map<String, Map<String, Long>> totals = new HashMap<>();
+    // Rapports distincts par statut courant
+    private final Map<ErrorStatus, Long> statusCounts = new EnumMap<>(ErrorStatus.class);
+    // Occurrences par minute sur les dernières 24 heures
+    private final NavigableMap<LocalDateTime, Long> recentMinutes = new TreeMap<>();
+    private volatile LocalDateTime lastPurge = LocalDateTime.MIN;
+
+    public ErrorStatisticsService(ErrorReportRepository errorReportRepository,
+                                  ErrorReportRollupRepository rollupRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  @Value("${app.error-reports.rollups.minute-retention-days:7}") int minuteRetentionDays) {
+        this.errorReportRepository = errorReportRepository;
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.minuteRetentionDays = Math.max(minuteRetentionDays, 1);
+    }
+
+    /**
+     * Charge les cumuls avant l'ouverture du serveur : une requête sur les agrégats horaires,
+     * une sur les dernières 24 heures par minute et un comptage par statut.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusHours(24);
+            List<Object[]> sums = rollupRepository.sumByDimensionAndLabel(ErrorReportRollup.HOUR);
+            List<ErrorReportRollup> minutes = rollupRepository.findSeries(ErrorReportRollup.MINUTE, ErrorReportRollup.TOTAL,
+                    since, LocalDateTime.now().plusMinutes(1));
+            List<Object[]> statuses = errorReportRepository.countGroupByStatus();
+
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : sums) {
+                    totals.computeIfAbsent((String) row[0], k -> new HashMap<>()).put((String) row[1], ((Number) row[2]).longValue());
+                }
+                minutes.forEach(rollup -> recentMinutes.merge(rollup.getBucketStart(), rollup.getCount(), Long::sum));
+                for (Object[] row : statuses) {
+                    ErrorStatus status = row[0] != null ? (ErrorStatus) row[0] : ErrorStatus.OPEN;
+                    statusCounts.merge(status, ((Number) row[1]).longValue(), Long::sum);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Error statistics loaded: {} occurrences", total(ErrorReportRollup.TOTAL, ""));
+        } catch (Exception e) {
+            log.warn("Failed to load error statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Comptabilise une écriture de la file d'ingestion ; à appeler dans la transaction qui l'effectue.
+     */
+    void recordFlush(List<Flushed> flushed) {
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        Map<ErrorStatus, Long> statusDeltas = new EnumMap<>(ErrorStatus.class);
+        for (Flushed report : flushed) {
+            add(deltas, report.seenAt(), ErrorReportRollup.TOTAL, "", report.occurrences());
+            add(deltas, report.seenAt(), ErrorReportRollup.SEVERITY, report.severity().name(), report.occurrences());
+            add(deltas, report.seenAt(), ErrorReportRollup.TYPE, typeLabel(report.errorType()), report.occurrences());
+            // Nouveau rapport, ou rapport résolu rouvert par l'upsert
+            if (report.previousStatus() == null || report.previousStatus() == ErrorStatus.RESOLVED) {
+                add(deltas, report.seenAt(), ErrorReportRollup.STATUS, ErrorStatus.OPEN.name(), 1);
+                statusDeltas.merge(ErrorStatus.OPEN, 1L, Long::sum);
+                if (report.previousStatus() != null) {
+                    statusDeltas.merge(ErrorStatus.RESOLVED, -1L, Long::sum);
+                }
+            }
+        }
+        persist(deltas);
+        purgeIfDue();
+        AfterCommit.run(() -> apply(deltas, statusDeltas));
+    }
+
+    /**
+     * Comptabilise un changement de statut ; à appeler dans la transaction qui le modifie.
+     */
+    public void recordStatusChange(ErrorStatus from, ErrorStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<RollupKey, Long> deltas = new HashMap<>();
+        add(deltas, LocalDateTime.now(), ErrorReportRollup.STATUS, to.name(), 1);
+        Map<ErrorStatus, Long> statusDeltas = new EnumMap<>(ErrorStatus.class);
+        statusDeltas.put(to, 1L);
+        if (from != null) {
+            statusDeltas.put(from, -1L);
+        }
+        persist(deltas);
+        AfterCommit.run(() -> apply(deltas, statusDeltas));
+    }
+
+    public Map<String, Object> snapshot() {
+        lock.readLock().lock();
+        try {
+            long totalErrors = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+            long resolvedErrors = statusCounts.getOrDefault(ErrorStatus.RESOLVED, 0L);
+
+            Map<String, Long> severityStats = new HashMap<>();
+            for (ErrorSeverity severity : ErrorSeverity.values()) {
+                severityStats.put(severity.name(), total(ErrorReportRollup.SEVERITY, severity.name()));
+            }
+            long recentErrors = recentMinutes.tailMap(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusHours(24), false)
+                    .values().stream().mapToLong(Long::longValue).sum();
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("totalErrors", totalErrors);
+            stats.put("totalOccurrences", total(ErrorReportRollup.TOTAL, ""));
+            stats.put("openErrors", statusCounts.getOrDefault(ErrorStatus.OPEN, 0L));
+            stats.put("resolvedErrors", resolvedErrors);
+            stats.put("severityStats", severityStats);
+            stats.put("errorTypeStats", new HashMap<>(totals.getOrDefault(ErrorReportRollup.TYPE, Map.of())));
+            stats.put("recentErrors24h", recentErrors);
+            stats.put("resolutionRate", totalErrors > 0 ? (double) resolvedErrors / totalErrors : 0.0);
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Série temporelle d'une dimension ; seuls les intervalles non vides sont retournés.
+     */
+    public ErrorTimeSeriesDto timeSeries(String granularity, String dimension, LocalDateTime from, LocalDateTime to) {
+        String granularityKey = granularity.toUpperCase(Locale.ROOT);
+        String dimensionKey = dimension.toUpperCase(Locale.ROOT);
+        if (!granularityKey.equals(ErrorReportRollup.MINUTE) && !granularityKey.equals(ErrorReportRollup.HOUR)) {
+            throw new RuntimeException("Unknown granularity: " + granularity);
+        }
+        if (!List.of(ErrorReportRollup.TOTAL, ErrorReportRollup.SEVERITY, ErrorReportRollup.STATUS, ErrorReportRollup.TYPE)
+                .contains(dimensionKey)) {
+            throw new RuntimeException("Unknown dimension: " + dimension);
+        }
+        LocalDateTime start = truncate(granularityKey, from);
+        if (!to.isAfter(start)) {
+            throw new RuntimeException("Invalid time range");
+        }
+        Duration step = granularityKey.equals(ErrorReportRollup.MINUTE) ? Duration.ofMinutes(1) : Duration.ofHours(1);
+        if (Duration.between(start, to).dividedBy(step) > MAX_SERIES_BUCKETS) {
+            throw new RuntimeException("Time range too large for granularity " + granularityKey);
+        }
+
+        List<ErrorRollupPointDto> points = rollupRepository.findSeries(granularityKey, dimensionKey, start, to).stream()
+                .map(rollup -> new ErrorRollupPointDto(rollup.getBucketStart(), rollup.getLabel(), rollup.getCount()))
+                .toList();
+        return new ErrorTimeSeriesDto(granularityKey, dimensionKey, start, to, points);
+    }
+
+    private void add(Map<RollupKey, Long> deltas, LocalDateTime at, String dimension, String label, long count) {
+        deltas.merge(new RollupKey(ErrorReportRollup.MINUTE, truncate(ErrorReportRollup.MINUTE, at), dimension, label), count, Long::sum);
+        deltas.merge(new RollupKey(ErrorReportRollup.HOUR, truncate(ErrorReportRollup.HOUR, at), dimension, label), count, Long::sum);
+    }
+
+    private void persist(Map<RollupKey, Long> deltas) {
+        jdbcTemplate.batchUpdate(ErrorReportRollupRepository.INCREMENT_SQL, deltas.entrySet().stream()
+                .map(delta -> new Object[]{
+                        delta.getKey().granularity(),
+                        Timestamp.valueOf(delta.getKey().bucketStart()),
+                        delta.getKey().dimension(),
+                        delta.getKey().label(),
+                        delta.getValue()
+                })
+                .toList());
+    }
+
+    /**
+     * Supprime au plus une fois par heure les agrégats par minute au-delà de la rétention.
+     */
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.isAfter(now.minusHours(1))) {
+            return;
+        }
+        lastPurge = now;
+        int purged = rollupRepository.deleteOlderThan(ErrorReportRollup.MINUTE, now.minusDays(minuteRetentionDays));
+        if (purged > 0) {
+            log.info("Purged {} minute error rollups", purged);
+        }
+    }
+
+    private void apply(Map<RollupKey, Long> deltas, Map<ErrorStatus, Long> statusDeltas) {
+        LocalDateTime horizon = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusHours(24);
+        lock.writeLock().lock();
+        try {
+            deltas.forEach((key, count) -> {
+                if (key.granularity().equals(ErrorReportRollup.HOUR)) {
+                    totals.computeIfAbsent(key.dimension(), k -> new HashMap<>()).merge(key.label(), count, Long::sum);
+                } else if (key.dimension().equals(ErrorReportRollup.TOTAL) && key.bucketStart().isAfter(horizon)) {
+                    recentMinutes.merge(key.bucketStart(), count, Long::sum);
+                }
+            });
+            statusDeltas.forEach((status, delta) -> statusCounts.merge(status, delta, Long::sum));
+            recentMinutes.headMap(horizon, true).clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long total(String dimension, String label) {
+        return totals.getOrDefault(dimension, Map.of()).getOrDefault(label, 0L);
+    }
+
+    private static String typeLabel(String errorType) {
+        String label = errorType == null ? "" : errorType.trim();
+        if (label.isEmpty()) {
+            return UNKNOWN;
+        }
+        return label.length() > 100 ? label.substring(0, 100) : label;
+    }
+
+    private static LocalDateTime truncate(String granularity, LocalDateTime at) {
+        return at.truncatedTo(granularity.equals(ErrorReportRollup.HOUR) ? ChronoUnit.HOURS : ChronoUnit.MINUTES);
+    }
+}
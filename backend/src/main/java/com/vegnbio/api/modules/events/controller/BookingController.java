@@ -1,5 +1,6 @@
 package com.vegnbio.api.modules.events.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.events.dto.BookingDto;
 import com.vegnbio.api.modules.events.dto.CreateBookingRequest;
 import com.vegnbio.api.modules.events.dto.UpdateBookingStatusRequest;
@@ -38,6 +39,16 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/restaurant/{restaurantId}/page")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<KeysetPage<BookingDto>> getBookingPageByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<BookingDto> page = bookingService.getBookingPageByRestaurant(restaurantId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingDto> getBooking(@PathVariable Long bookingId) {
         BookingDto booking = bookingService.getBookingById(bookingId);
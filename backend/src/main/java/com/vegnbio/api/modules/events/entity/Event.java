@@ -47,6 +47,11 @@ public class Event {
     @Builder.Default
     private EventStatus status = EventStatus.ACTIVE;
     
+    // Places prises (réservations en attente ou confirmées), modifié uniquement par UPDATE conditionnel
+    @Column(name = "booked_pax", nullable = false, insertable = false, updatable = false)
+    @Builder.Default
+    private Integer bookedPax = 0;
+    
     @PrePersist
     protected void onCreate() {
         if (status == null) {
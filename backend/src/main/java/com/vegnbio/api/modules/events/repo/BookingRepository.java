@@ -2,10 +2,12 @@ package com.vegnbio.api.modules.events.repo;
 
 import com.vegnbio.api.modules.events.entity.Booking;
 import com.vegnbio.api.modules.events.entity.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -19,4 +21,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     @Query("SELECT b FROM Booking b WHERE b.event.restaurant.id = :restaurantId")
     List<Booking> findByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    @Query("SELECT b FROM Booking b WHERE b.event.restaurant.id = :restaurantId " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findPageByRestaurantId(@Param("restaurantId") Long restaurantId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 }
@@ -3,6 +3,7 @@ package com.vegnbio.api.modules.events.repo;
 import com.vegnbio.api.modules.events.entity.Event;
 import com.vegnbio.api.modules.events.entity.EventStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -28,4 +29,24 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     
     @Query("SELECT e FROM Event e WHERE e.dateStart >= :from AND e.status = 'ACTIVE'")
     List<Event> findActiveEventsFromDate(@Param("from") LocalDateTime from);
+    
+    /**
+     * Prend des places si la capacité le permet ; retourne 0 si l'événement est complet.
+     */
+    @Modifying
+    @Query(value = "UPDATE events SET booked_pax = booked_pax + :pax " +
+                   "WHERE id = :eventId AND (capacity IS NULL OR booked_pax + :pax <= capacity)", nativeQuery = true)
+    int reserveSeats(@Param("eventId") Long eventId, @Param("pax") int pax);
+    
+    @Modifying
+    @Query(value = "UPDATE events SET booked_pax = GREATEST(booked_pax - :pax, 0) WHERE id = :eventId", nativeQuery = true)
+    int releaseSeats(@Param("eventId") Long eventId, @Param("pax") int pax);
+    
+    /**
+     * Recalcule les compteurs de places à partir des réservations en attente ou confirmées.
+     */
+    @Modifying
+    @Query(value = "UPDATE events e SET booked_pax = COALESCE((SELECT SUM(b.pax) FROM bookings b " +
+                   "WHERE b.event_id = e.id AND b.status IN ('PENDING', 'CONFIRMED')), 0)", nativeQuery = true)
+    int reconcileBookedPax();
 }
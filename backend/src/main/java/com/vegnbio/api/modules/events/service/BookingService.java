@@ -1,5 +1,7 @@
 package com.vegnbio.api.modules.events.service;
 
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.events.dto.BookingDto;
 import com.vegnbio.api.modules.events.dto.CreateBookingRequest;
 import com.vegnbio.api.modules.events.dto.UpdateBookingStatusRequest;
@@ -22,6 +24,7 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
+    private final EventCapacityLedger capacityLedger;
 
     @Transactional
     public BookingDto createBooking(CreateBookingRequest request) {
@@ -32,14 +35,8 @@ public class BookingService {
             throw new RuntimeException("Cannot book for inactive or cancelled event");
         }
         
-        // Vérifier la capacité si elle est définie
-        if (event.getCapacity() != null) {
-            Integer totalBooked = bookingRepository.getTotalConfirmedPaxForEvent(event.getId());
-            int currentBooked = totalBooked != null ? totalBooked : 0;
-            if (currentBooked + request.pax() > event.getCapacity()) {
-                throw new RuntimeException("Not enough capacity for this booking");
-            }
-        }
+        // Prise atomique des places : les réservations en attente comptent aussi, pour ne pas survendre
+        capacityLedger.reserve(event, request.pax());
         
         var booking = Booking.builder()
                 .event(event)
@@ -69,11 +66,28 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<BookingDto> getBookingPageByRestaurant(Long restaurantId, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Booking> bookings = bookingRepository.findPageByRestaurantId(restaurantId, position.createdAt(), position.id(),
+                KeysetPage.request(size));
+        return KeysetPage.of(bookings, size, booking -> new KeysetCursor(booking.getCreatedAt(), booking.getId()), this::toDto);
+    }
+
     @Transactional
     public BookingDto updateBookingStatus(Long bookingId, UpdateBookingStatusRequest request) {
         var booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
         
+        boolean wasActive = booking.getStatus() != BookingStatus.CANCELLED;
+        boolean active = request.status() != BookingStatus.CANCELLED;
+        if (active && !wasActive) {
+            capacityLedger.reserve(booking.getEvent(), booking.getPax());
+        } else if (!active && wasActive) {
+            capacityLedger.release(booking.getEvent(), booking.getPax());
+        }
+        
         booking.setStatus(request.status());
         bookingRepository.save(booking);
         return toDto(booking);
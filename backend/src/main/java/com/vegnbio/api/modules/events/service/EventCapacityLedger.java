@@ -0,0 +1,110 @@
+package com.vegnbio.api.modules.events.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.events.entity.Event;
+import com.vegnbio.api.modules.events.repo.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registre des places prises par événement (réservations en attente ou confirmées).
+ * Le compteur en mémoire refuse sans accès base les réservations d'un événement complet ;
+ * la colonne {@code events.booked_pax}, mise à jour par un UPDATE conditionnel, reste l'arbitre final
+ * et empêche la survente même entre plusieurs instances. Les deux sont réconciliés avec la table
+ * des réservations au démarrage.
+ */
+@Slf4j
+@Service
+public class EventCapacityLedger {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate writeTransaction;
+
+    private final Map<Long, AtomicInteger> bookedPax = new ConcurrentHashMap<>();
+
+    public EventCapacityLedger(EventRepository eventRepository, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            int events = writeTransaction.execute(status -> {
+                eventRepository.reconcileBookedPax();
+                var all = eventRepository.findAll();
+                all.forEach(event -> bookedPax.put(event.getId(), new AtomicInteger(event.getBookedPax())));
+                return all.size();
+            });
+            log.info("Event capacity ledger reconciled for {} events", events);
+        } catch (Exception e) {
+            log.warn("Failed to reconcile event capacity ledger: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Prend {@code pax} places pour l'événement, ou lève une exception s'il n'en reste pas assez.
+     * Les places sont rendues au compteur si la transaction est annulée.
+     */
+    public void reserve(Event event, int pax) {
+        AtomicInteger counter = counter(event);
+        Integer capacity = event.getCapacity();
+        int current;
+        do {
+            current = counter.get();
+            if (capacity != null && current + pax > capacity) {
+                throw new RuntimeException("Not enough capacity for this booking");
+            }
+        } while (!counter.compareAndSet(current, current + pax));
+        AfterCommit.onRollback(() -> counter.addAndGet(-pax));
+
+        if (eventRepository.reserveSeats(event.getId(), pax) == 0) {
+            throw new RuntimeException("Not enough capacity for this booking");
+        }
+    }
+
+    /**
+     * Rend {@code pax} places (réservation annulée), en mémoire une fois la transaction commitée.
+     */
+    public void release(Event event, int pax) {
+        AtomicInteger counter = counter(event);
+        eventRepository.releaseSeats(event.getId(), pax);
+        AfterCommit.run(() -> counter.updateAndGet(value -> Math.max(value - pax, 0)));
+    }
+
+    /**
+     * Places restantes lues dans le compteur, sans requête ; {@code null} si la capacité n'est pas limitée.
+     */
+    public Integer availableSpots(Event event) {
+        if (event.getCapacity() == null) {
+            return null;
+        }
+        return event.getCapacity() - counter(event).get();
+    }
+
+    public void forget(Long eventId) {
+        AfterCommit.run(() -> bookedPax.remove(eventId));
+    }
+
+    public void clear() {
+        AfterCommit.run(bookedPax::clear);
+    }
+
+    private AtomicInteger counter(Event event) {
+        if (event.getId() == null) {
+            return new AtomicInteger();
+        }
+        return bookedPax.computeIfAbsent(event.getId(),
+                id -> new AtomicInteger(event.getBookedPax() != null ? event.getBookedPax() : 0));
+    }
+}
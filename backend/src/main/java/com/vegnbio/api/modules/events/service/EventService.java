@@ -5,7 +5,6 @@ import com.vegnbio.api.modules.events.dto.EventDto;
 import com.vegnbio.api.modules.events.entity.Event;
 import com.vegnbio.api.modules.events.entity.EventStatus;
 import com.vegnbio.api.modules.events.repo.EventRepository;
-import com.vegnbio.api.modules.events.repo.BookingRepository;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
 import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +20,7 @@ import java.util.stream.Collectors;
 public class EventService {
 
     private final EventRepository eventRepository;
-    private final BookingRepository bookingRepository;
+    private final EventCapacityLedger capacityLedger;
     private final RestaurantRepository restaurantRepository;
 
     @Transactional
@@ -110,14 +109,12 @@ public class EventService {
             throw new RuntimeException("Event not found");
         }
         eventRepository.deleteById(eventId);
+        capacityLedger.forget(eventId);
     }
     
     private EventDto toDto(Event event) {
-        Integer availableSpots = null;
-        if (event.getCapacity() != null) {
-            Integer totalBooked = bookingRepository.getTotalConfirmedPaxForEvent(event.getId());
-            availableSpots = event.getCapacity() - (totalBooked != null ? totalBooked : 0);
-        }
+        // Lu dans le registre des places : aucune requête par événement
+        Integer availableSpots = capacityLedger.availableSpots(event);
         
         return new EventDto(
                 event.getId(),
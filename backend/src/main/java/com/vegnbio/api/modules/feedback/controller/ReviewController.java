@@ -1,5 +1,6 @@
 package com.vegnbio.api.modules.feedback.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.feedback.dto.CreateReviewRequest;
 import com.vegnbio.api.modules.feedback.dto.ReviewDto;
 import com.vegnbio.api.modules.feedback.dto.UpdateReviewStatusRequest;
@@ -38,6 +39,16 @@ public class ReviewController {
         return ResponseEntity.ok(reviews);
     }
 
+    @GetMapping("/restaurant/{restaurantId}/all/page")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<KeysetPage<ReviewDto>> getReviewPageByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<ReviewDto> page = reviewService.getReviewPageByRestaurant(restaurantId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/pending")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<ReviewDto>> getPendingReviews() {
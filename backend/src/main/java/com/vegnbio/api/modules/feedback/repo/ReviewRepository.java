@@ -2,10 +2,12 @@ package com.vegnbio.api.modules.feedback.repo;
 
 import com.vegnbio.api.modules.feedback.entity.Review;
 import com.vegnbio.api.modules.feedback.entity.ReviewStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -21,5 +23,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Long getApprovedReviewsCountByRestaurant(@Param("restaurantId") Long restaurantId);
     
     List<Review> findByStatus(ReviewStatus status);
+    
+    @Query("SELECT r FROM Review r WHERE r.restaurant.id = :restaurantId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByRestaurantId(@Param("restaurantId") Long restaurantId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
 }
 
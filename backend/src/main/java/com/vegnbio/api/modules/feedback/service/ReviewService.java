@@ -1,5 +1,7 @@
 package com.vegnbio.api.modules.feedback.service;
 
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.feedback.dto.CreateReviewRequest;
 import com.vegnbio.api.modules.feedback.dto.ReviewDto;
 import com.vegnbio.api.modules.feedback.dto.UpdateReviewStatusRequest;
@@ -55,6 +57,15 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<ReviewDto> getReviewPageByRestaurant(Long restaurantId, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Review> reviews = reviewRepository.findPageByRestaurantId(restaurantId, position.createdAt(), position.id(),
+                KeysetPage.request(size));
+        return KeysetPage.of(reviews, size, review -> new KeysetCursor(review.getCreatedAt(), review.getId()), this::toDto);
+    }
+
     @Transactional(readOnly = true)
     public List<ReviewDto> getPendingReviews() {
         return reviewRepository.findByStatus(ReviewStatus.PENDING)
@@ -0,0 +1,26 @@
+package com.vegnbio.api.modules.marketplace;
+
+import com.vegnbio.api.modules.marketplace.dto.OfferDto;
+import com.vegnbio.api.modules.marketplace.entity.Offer;
+
+/**
+ * Mapper pour convertir les entités Offer en DTOs
+ *
+ * @author VegN-Bio Team
+ */
+public class OfferMapper {
+  public static OfferDto toDto(Offer offer) {
+    return new OfferDto(
+      offer.getId(),
+      offer.getSupplier().getId(),
+      offer.getSupplier().getCompanyName(),
+      offer.getTitle(),
+      offer.getDescription(),
+      offer.getUnitPriceCents(),
+      offer.getUnit(),
+      offer.getStatus(),
+      offer.getCreatedAt(),
+      offer.getUpdatedAt()
+    );
+  }
+}
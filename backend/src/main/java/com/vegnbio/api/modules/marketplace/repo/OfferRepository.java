@@ -16,14 +16,9 @@ public interface OfferRepository extends JpaRepository<Offer, Long> {
     
     List<Offer> findByStatus(OfferStatus status);
     
-    @Query("SELECT o FROM Offer o WHERE o.status = 'PUBLISHED' ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Offer o JOIN FETCH o.supplier WHERE o.status = 'PUBLISHED' ORDER BY o.createdAt DESC")
     List<Offer> findPublishedOffers();
     
-    @Query("SELECT o FROM Offer o WHERE o.status = 'PUBLISHED' AND " +
-           "(o.title ILIKE %:search% OR o.description ILIKE %:search%) " +
-           "ORDER BY o.createdAt DESC")
-    List<Offer> findPublishedOffersBySearch(@Param("search") String search);
-    
-    @Query("SELECT o FROM Offer o WHERE o.supplier.id = :supplierId AND o.status = 'PUBLISHED'")
+    @Query("SELECT o FROM Offer o JOIN FETCH o.supplier WHERE o.supplier.id = :supplierId AND o.status = 'PUBLISHED'")
     List<Offer> findPublishedOffersBySupplier(@Param("supplierId") Long supplierId);
 }
@@ -1,5 +1,6 @@
 package com.vegnbio.api.modules.marketplace.service;
 
+import com.vegnbio.api.modules.marketplace.OfferMapper;
 import com.vegnbio.api.modules.marketplace.dto.CreateOfferRequest;
 import com.vegnbio.api.modules.marketplace.dto.OfferDto;
 import com.vegnbio.api.modules.marketplace.dto.UpdateOfferStatusRequest;
@@ -8,6 +9,7 @@ import com.vegnbio.api.modules.marketplace.entity.OfferStatus;
 import com.vegnbio.api.modules.marketplace.entity.Supplier;
 import com.vegnbio.api.modules.marketplace.repo.OfferRepository;
 import com.vegnbio.api.modules.marketplace.repo.SupplierRepository;
+import com.vegnbio.api.modules.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ public class OfferService {
 
     private final OfferRepository offerRepository;
     private final SupplierRepository supplierRepository;
+    private final SearchService searchService;
 
     @Transactional
     public OfferDto createOffer(CreateOfferRequest request) {
@@ -41,7 +44,9 @@ public class OfferService {
                 .build();
         
         offerRepository.save(offer);
-        return toDto(offer);
+        OfferDto dto = toDto(offer);
+        searchService.indexOffer(dto);
+        return dto;
     }
 
     @Transactional(readOnly = true)
@@ -52,12 +57,11 @@ public class OfferService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Recherche servie par l'index en mémoire ({@link SearchService}), classée par pertinence.
+     */
     public List<OfferDto> searchPublishedOffers(String search) {
-        return offerRepository.findPublishedOffersBySearch(search)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return searchService.searchOffers(search);
     }
 
     @Transactional(readOnly = true)
@@ -90,7 +94,9 @@ public class OfferService {
         
         offer.setStatus(request.status());
         offerRepository.save(offer);
-        return toDto(offer);
+        OfferDto dto = toDto(offer);
+        searchService.indexOffer(dto);
+        return dto;
     }
     
     @Transactional
@@ -108,7 +114,9 @@ public class OfferService {
         offer.setSupplier(supplier);
         
         Offer savedOffer = offerRepository.save(offer);
-        return toDto(savedOffer);
+        OfferDto dto = toDto(savedOffer);
+        searchService.indexOffer(dto);
+        return dto;
     }
     
     @Transactional
@@ -117,20 +125,10 @@ public class OfferService {
             throw new RuntimeException("Offer not found");
         }
         offerRepository.deleteById(offerId);
+        searchService.removeOffer(offerId);
     }
     
     private OfferDto toDto(Offer offer) {
-        return new OfferDto(
-                offer.getId(),
-                offer.getSupplier().getId(),
-                offer.getSupplier().getCompanyName(),
-                offer.getTitle(),
-                offer.getDescription(),
-                offer.getUnitPriceCents(),
-                offer.getUnit(),
-                offer.getStatus(),
-                offer.getCreatedAt(),
-                offer.getUpdatedAt()
-        );
+        return OfferMapper.toDto(offer);
     }
 }
@@ -1,10 +1,13 @@
 package com.vegnbio.api.modules.marketplace.service;
 
+import com.vegnbio.api.modules.marketplace.OfferMapper;
 import com.vegnbio.api.modules.marketplace.dto.CreateSupplierRequest;
 import com.vegnbio.api.modules.marketplace.dto.SupplierDto;
 import com.vegnbio.api.modules.marketplace.entity.Supplier;
 import com.vegnbio.api.modules.marketplace.entity.SupplierStatus;
+import com.vegnbio.api.modules.marketplace.repo.OfferRepository;
 import com.vegnbio.api.modules.marketplace.repo.SupplierRepository;
+import com.vegnbio.api.modules.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +20,8 @@ import java.util.stream.Collectors;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final OfferRepository offerRepository;
+    private final SearchService searchService;
 
     @Transactional
     public SupplierDto createSupplier(CreateSupplierRequest request) {
@@ -89,6 +94,10 @@ public class SupplierService {
         supplier.setContactEmail(request.contactEmail());
         
         Supplier savedSupplier = supplierRepository.save(supplier);
+        // Le nom du fournisseur est affiché et indexé avec ses offres publiées
+        offerRepository.findPublishedOffersBySupplier(supplierId).stream()
+                .map(OfferMapper::toDto)
+                .forEach(searchService::indexOffer);
         return toDto(savedSupplier);
     }
     
@@ -0,0 +1,49 @@
+package com.vegnbio.api.modules.menu;
+
+import com.vegnbio.api.modules.allergen.dto.AllergenDto;
+import com.vegnbio.api.modules.menu.dto.MenuDto;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.menu.entity.Menu;
+import com.vegnbio.api.modules.menu.entity.MenuItem;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Mapper pour convertir les entités Menu et MenuItem en DTOs
+ *
+ * @author VegN-Bio Team
+ */
+public class MenuMapper {
+  public static MenuDto toDto(Menu menu) {
+    return new MenuDto(
+      menu.getId(),
+      menu.getTitle(),
+      menu.getActiveFrom(),
+      menu.getActiveTo(),
+      menu.getMenuItems() != null ?
+        menu.getMenuItems().stream()
+          .sorted(Comparator.comparing(MenuItem::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+          .map(MenuMapper::toDto)
+          .toList() : List.of()
+    );
+  }
+
+  public static MenuItemDto toDto(MenuItem menuItem) {
+    return new MenuItemDto(
+      menuItem.getId(),
+      menuItem.getName(),
+      menuItem.getDescription(),
+      menuItem.getPriceCents(),
+      menuItem.getIsVegan(),
+      menuItem.getAllergens() != null ?
+        menuItem.getAllergens().stream()
+          .map(allergen -> new AllergenDto(
+            allergen.getId(),
+            allergen.getCode(),
+            allergen.getLabel()
+          ))
+          .toList() : List.of()
+    );
+  }
+}
@@ -1,12 +1,15 @@
 package com.vegnbio.api.modules.menu.controller;
 
+import com.vegnbio.api.modules.catalog.CatalogResponses;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
 import com.vegnbio.api.modules.menu.dto.MenuDto;
 import com.vegnbio.api.modules.menu.dto.MenuItemDto;
-import com.vegnbio.api.modules.menu.service.MenuService;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
 import com.vegnbio.api.modules.menu.service.MenuItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,18 +18,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PublicMenuController {
     
-    private final MenuService menuService;
+    private final MenuCatalogService menuCatalogService;
     private final MenuItemService menuItemService;
+    private final CatalogVersionService catalogVersionService;
     
     /**
      * Endpoint public pour récupérer tous les menus disponibles
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menus")
-    public ResponseEntity<List<MenuDto>> getAllMenus() {
+    public ResponseEntity<List<MenuDto>> getAllMenus(WebRequest request) {
         try {
-            List<MenuDto> menus = menuService.getAllMenus();
-            return ResponseEntity.ok(menus);
+            return CatalogResponses.conditional(request, catalogVersionService.menusEtag(), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menus());
         } catch (Exception e) {
             System.err.println("Error fetching all menus: " + e.getMessage());
             e.printStackTrace();
@@ -39,10 +43,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menus/restaurant/{restaurantCode}")
-    public ResponseEntity<List<MenuDto>> getMenusByRestaurantCode(@PathVariable String restaurantCode) {
+    public ResponseEntity<List<MenuDto>> getMenusByRestaurantCode(@PathVariable String restaurantCode, WebRequest request) {
         try {
-            List<MenuDto> menus = menuService.getMenusByRestaurantCode(restaurantCode);
-            return ResponseEntity.ok(menus);
+            return CatalogResponses.conditional(request, catalogVersionService.menusEtag(restaurantCode), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menusByRestaurantCode(restaurantCode));
         } catch (Exception e) {
             System.err.println("Error fetching menus for restaurant " + restaurantCode + ": " + e.getMessage());
             e.printStackTrace();
@@ -55,10 +59,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menu-items")
-    public ResponseEntity<List<MenuItemDto>> getAllMenuItems() {
+    public ResponseEntity<List<MenuItemDto>> getAllMenuItems(WebRequest request) {
         try {
-            List<MenuItemDto> menuItems = menuItemService.getAllMenuItems();
-            return ResponseEntity.ok(menuItems);
+            return CatalogResponses.conditional(request, catalogVersionService.menusEtag(), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menuItems());
         } catch (Exception e) {
             System.err.println("Error fetching all menu items: " + e.getMessage());
             e.printStackTrace();
@@ -71,10 +75,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menu-items/menu/{menuId}")
-    public ResponseEntity<List<MenuItemDto>> getMenuItemsByMenu(@PathVariable Long menuId) {
+    public ResponseEntity<List<MenuItemDto>> getMenuItemsByMenu(@PathVariable Long menuId, WebRequest request) {
         try {
-            List<MenuItemDto> menuItems = menuItemService.getMenuItemsByMenu(menuId);
-            return ResponseEntity.ok(menuItems);
+            return CatalogResponses.conditional(request, catalogVersionService.menusEtag(), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menuItemsByMenu(menuId));
         } catch (Exception e) {
             System.err.println("Error fetching menu items for menu " + menuId + ": " + e.getMessage());
             e.printStackTrace();
@@ -103,10 +107,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menu-items/restaurant/{restaurantCode}")
-    public ResponseEntity<List<MenuItemDto>> getMenuItemsByRestaurantCode(@PathVariable String restaurantCode) {
+    public ResponseEntity<List<MenuItemDto>> getMenuItemsByRestaurantCode(@PathVariable String restaurantCode, WebRequest request) {
         try {
-            List<MenuItemDto> menuItems = menuItemService.getMenuItemsByRestaurantCode(restaurantCode);
-            return ResponseEntity.ok(menuItems);
+            return CatalogResponses.conditional(request, catalogVersionService.menusEtag(restaurantCode), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menuItemsByRestaurantCode(restaurantCode));
         } catch (Exception e) {
             System.err.println("Error fetching menu items for restaurant " + restaurantCode + ": " + e.getMessage());
             e.printStackTrace();
@@ -119,10 +123,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menus/{menuId}")
-    public ResponseEntity<MenuDto> getMenuById(@PathVariable Long menuId) {
+    public ResponseEntity<MenuDto> getMenuById(@PathVariable Long menuId, WebRequest request) {
         try {
-            MenuDto menu = menuService.getMenuById(menuId);
-            return ResponseEntity.ok(menu);
+            return CatalogResponses.conditionalOrNotFound(request, catalogVersionService.menusEtag(), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menu(menuId));
         } catch (Exception e) {
             System.err.println("Error fetching menu " + menuId + ": " + e.getMessage());
             e.printStackTrace();
@@ -135,10 +139,10 @@ public class PublicMenuController {
      * Accessible sans authentification pour les clients
      */
     @GetMapping("/menu-items/{menuItemId}")
-    public ResponseEntity<MenuItemDto> getMenuItemById(@PathVariable Long menuItemId) {
+    public ResponseEntity<MenuItemDto> getMenuItemById(@PathVariable Long menuItemId, WebRequest request) {
         try {
-            MenuItemDto menuItem = menuItemService.getMenuItemById(menuItemId);
-            return ResponseEntity.ok(menuItem);
+            return CatalogResponses.conditionalOrNotFound(request, catalogVersionService.menusEtag(), CatalogResponses.MENUS,
+                    () -> menuCatalogService.snapshot().menuItem(menuItemId));
         } catch (Exception e) {
             System.err.println("Error fetching menu item " + menuItemId + ": " + e.getMessage());
             e.printStackTrace();
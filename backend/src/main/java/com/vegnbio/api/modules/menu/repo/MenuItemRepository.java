@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
@@ -19,4 +20,13 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
     @Query("SELECT DISTINCT mi FROM MenuItem mi LEFT JOIN FETCH mi.allergens WHERE mi.menu.id = :menuId")
     List<MenuItem> findByMenuIdWithAllergens(@Param("menuId") Long menuId);
+    
+    @Query("SELECT DISTINCT mi FROM MenuItem mi LEFT JOIN FETCH mi.allergens WHERE mi.menu.id IN :menuIds ORDER BY mi.id")
+    List<MenuItem> findByMenuIdsWithAllergens(@Param("menuIds") Collection<Long> menuIds);
+    
+    @Query("SELECT mi FROM MenuItem mi JOIN FETCH mi.menu WHERE mi.id IN :ids")
+    List<MenuItem> findWithMenuByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT DISTINCT mi FROM MenuItem mi LEFT JOIN FETCH mi.allergens")
+    List<MenuItem> findAllWithAllergens();
 }
@@ -1,7 +1,6 @@
 package com.vegnbio.api.modules.menu.repo;
 
 import com.vegnbio.api.modules.menu.entity.Menu;
-import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,12 +10,16 @@ import java.util.List;
 
 public interface MenuRepository extends JpaRepository<Menu, Long> {
     
-    @Query("SELECT DISTINCT m FROM Menu m LEFT JOIN FETCH m.menuItems WHERE m.restaurant = :restaurant")
-    List<Menu> findByRestaurant(@Param("restaurant") Restaurant restaurant);
+    List<Menu> findByRestaurantIdOrderByIdAsc(Long restaurantId);
     
-    @Query("SELECT DISTINCT m FROM Menu m LEFT JOIN FETCH m.menuItems WHERE m.restaurant = :restaurant AND " +
+    List<Menu> findByRestaurantCodeOrderByIdAsc(String restaurantCode);
+    
+    @Query("SELECT m FROM Menu m WHERE m.restaurant.id = :restaurantId AND " +
            "(:date IS NULL OR (m.activeFrom IS NULL OR m.activeFrom <= :date) AND " +
-           "(m.activeTo IS NULL OR m.activeTo >= :date))")
-    List<Menu> findByRestaurantAndDate(@Param("restaurant") Restaurant restaurant, 
-                                      @Param("date") LocalDate date);
+           "(m.activeTo IS NULL OR m.activeTo >= :date)) ORDER BY m.id")
+    List<Menu> findActiveByRestaurantId(@Param("restaurantId") Long restaurantId,
+                                        @Param("date") LocalDate date);
+    
+    @Query("SELECT DISTINCT m FROM Menu m JOIN FETCH m.restaurant LEFT JOIN FETCH m.menuItems")
+    List<Menu> findAllWithRestaurantAndItems();
 }
@@ -0,0 +1,97 @@
+package com.vegnbio.api.modules.menu.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.menu.entity.Menu;
+import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
+import com.vegnbio.api.modules.menu.repo.MenuRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catalogue public des menus servi depuis la mémoire.
+ * Le snapshot est construit au démarrage puis reconstruit et remplacé atomiquement
+ * après chaque écriture commitée via {@link MenuService} ou {@link MenuItemService}.
+ */
+@Slf4j
+@Service
+public class MenuCatalogService {
+
+    private final MenuRepository menuRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final AtomicReference<MenuCatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public MenuCatalogService(MenuRepository menuRepository,
+                              MenuItemRepository menuItemRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.menuRepository = menuRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            MenuCatalogSnapshot snapshot = refresh();
+            log.info("Menu catalog loaded: {} menus, {} menu items (version {})",
+                    snapshot.menus().size(), snapshot.menuItems().size(), snapshot.version());
+        } catch (Exception e) {
+            log.warn("Failed to preload menu catalog, it will be built on first read: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retourne le snapshot courant, en le construisant s'il n'existe pas encore.
+     */
+    public MenuCatalogSnapshot snapshot() {
+        MenuCatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Demande une reconstruction du catalogue une fois la transaction courante commitée,
+     * ou immédiatement en l'absence de transaction.
+     */
+    public void refreshAfterCommit() {
+        AfterCommit.run(this::refreshQuietly);
+    }
+
+    /**
+     * Reconstruit le catalogue en deux requêtes (menus avec restaurants et plats, puis allergènes)
+     * et le publie s'il est plus récent que celui en place.
+     */
+    public MenuCatalogSnapshot refresh() {
+        long version = versionSequence.incrementAndGet();
+        MenuCatalogSnapshot built = readTransaction.execute(status -> {
+            List<Menu> menus = menuRepository.findAllWithRestaurantAndItems();
+            // Initialise les allergènes des plats déjà présents dans le contexte de persistance
+            menuItemRepository.findAllWithAllergens();
+            return MenuCatalogSnapshot.of(version, menus);
+        });
+        return current.accumulateAndGet(built,
+                (existing, candidate) -> existing == null || candidate.version() > existing.version() ? candidate : existing);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Le prochain accès reconstruira le catalogue plutôt que de servir une version périmée
+            current.set(null);
+            log.error("Failed to refresh menu catalog: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.vegnbio.api.modules.menu.service;
+
+import com.vegnbio.api.modules.menu.MenuMapper;
+import com.vegnbio.api.modules.menu.dto.MenuDto;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.menu.entity.Menu;
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Vue immuable du catalogue public (menus → plats → allergènes).
+ * Construite en une fois puis remplacée en bloc par {@link MenuCatalogService} à chaque écriture,
+ * elle peut être partagée sans verrou entre toutes les requêtes.
+ */
+public final class MenuCatalogSnapshot {
+
+    private final long version;
+    private final Instant builtAt;
+    private final List<MenuDto> menus;
+    private final Map<Long, MenuDto> menusById;
+    private final Map<String, List<MenuDto>> menusByRestaurantCode;
+    private final Map<Long, String> restaurantCodeByMenuId;
+    private final List<MenuItemDto> menuItems;
+    private final Map<Long, MenuItemDto> menuItemsById;
+    private final Map<Long, List<MenuItemDto>> menuItemsByMenuId;
+    private final Map<String, List<MenuItemDto>> menuItemsByRestaurantCode;
+    private final Map<Long, List<MenuItemDto>> menuItemsByRestaurantId;
+    private final MenuItemFilterIndex filterIndex;
+
+    private MenuCatalogSnapshot(long version, List<Menu> source) {
+        this.version = version;
+        this.builtAt = Instant.now();
+
+        List<MenuDto> allMenus = new ArrayList<>(source.size());
+        Map<Long, MenuDto> byId = new HashMap<>();
+        Map<String, List<MenuDto>> byRestaurant = new HashMap<>();
+        Map<Long, String> restaurantCodes = new HashMap<>();
+        List<MenuItemDto> allItems = new ArrayList<>();
+        Map<Long, MenuItemDto> itemsById = new HashMap<>();
+        Map<Long, List<MenuItemDto>> itemsByMenu = new HashMap<>();
+        Map<String, List<MenuItemDto>> itemsByRestaurant = new HashMap<>();
+        Map<Long, List<MenuItemDto>> itemsByRestaurantId = new HashMap<>();
+
+        source.stream()
+                .sorted(Comparator.comparing(Menu::getId))
+                .forEach(menu -> {
+                    MenuDto dto = MenuMapper.toDto(menu);
+                    Restaurant restaurant = menu.getRestaurant();
+                    String code = restaurant != null ? restaurant.getCode() : null;
+
+                    allMenus.add(dto);
+                    byId.put(dto.id(), dto);
+                    itemsByMenu.put(dto.id(), dto.menuItems());
+                    allItems.addAll(dto.menuItems());
+                    dto.menuItems().forEach(item -> itemsById.put(item.id(), item));
+                    if (restaurant != null && restaurant.getId() != null) {
+                        itemsByRestaurantId.computeIfAbsent(restaurant.getId(), k -> new ArrayList<>()).addAll(dto.menuItems());
+                    }
+                    if (code != null) {
+                        restaurantCodes.put(dto.id(), code);
+                        byRestaurant.computeIfAbsent(code, k -> new ArrayList<>()).add(dto);
+                        itemsByRestaurant.computeIfAbsent(code, k -> new ArrayList<>()).addAll(dto.menuItems());
+                    }
+                });
+
+        this.menus = List.copyOf(allMenus);
+        this.menusById = Map.copyOf(byId);
+        this.menusByRestaurantCode = freeze(byRestaurant);
+        this.restaurantCodeByMenuId = Map.copyOf(restaurantCodes);
+        this.menuItems = List.copyOf(allItems);
+        this.menuItemsById = Map.copyOf(itemsById);
+        this.menuItemsByMenuId = Map.copyOf(itemsByMenu);
+        this.menuItemsByRestaurantCode = freeze(itemsByRestaurant);
+        this.menuItemsByRestaurantId = freeze(itemsByRestaurantId);
+        this.filterIndex = new MenuItemFilterIndex(this.menuItems);
+    }
+
+    /**
+     * Construit un snapshot à partir de menus dont le restaurant, les plats et leurs allergènes sont déjà chargés.
+     */
+    static MenuCatalogSnapshot of(long version, List<Menu> menus) {
+        return new MenuCatalogSnapshot(version, menus);
+    }
+
+    private static <K, T> Map<K, List<T>> freeze(Map<K, List<T>> source) {
+        Map<K, List<T>> frozen = new HashMap<>();
+        source.forEach((key, values) -> frozen.put(key, List.copyOf(values)));
+        return Map.copyOf(frozen);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    public List<MenuDto> menus() {
+        return menus;
+    }
+
+    public Optional<MenuDto> menu(Long menuId) {
+        return Optional.ofNullable(menuId != null ? menusById.get(menuId) : null);
+    }
+
+    public List<MenuDto> menusByRestaurantCode(String restaurantCode) {
+        return restaurantCode != null ? menusByRestaurantCode.getOrDefault(restaurantCode, List.of()) : List.of();
+    }
+
+    public Optional<String> restaurantCodeOfMenu(Long menuId) {
+        return Optional.ofNullable(menuId != null ? restaurantCodeByMenuId.get(menuId) : null);
+    }
+
+    public List<MenuItemDto> menuItems() {
+        return menuItems;
+    }
+
+    public Optional<MenuItemDto> menuItem(Long menuItemId) {
+        return Optional.ofNullable(menuItemId != null ? menuItemsById.get(menuItemId) : null);
+    }
+
+    public List<MenuItemDto> menuItemsByMenu(Long menuId) {
+        return menuId != null ? menuItemsByMenuId.getOrDefault(menuId, List.of()) : List.of();
+    }
+
+    public List<MenuItemDto> menuItemsByRestaurantCode(String restaurantCode) {
+        return restaurantCode != null ? menuItemsByRestaurantCode.getOrDefault(restaurantCode, List.of()) : List.of();
+    }
+
+    public List<MenuItemDto> menuItemsByRestaurantId(Long restaurantId) {
+        return restaurantId != null ? menuItemsByRestaurantId.getOrDefault(restaurantId, List.of()) : List.of();
+    }
+
+    public MenuItemFilterIndex filterIndex() {
+        return filterIndex;
+    }
+}
@@ -0,0 +1,172 @@
+package com.vegnbio.api.modules.menu.service;
+
+import com.vegnbio.api.modules.allergen.dto.AllergenDto;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+
+import java.util.*;
+
+/**
+ * Index immuable utilisé par le filtre des plats.
+ * Chaque critère (prix, végétalien, allergènes, texte) est résolu en un {@link BitSet}
+ * sur les positions des plats, puis les critères sont combinés par intersection.
+ * Les textes sont normalisés une seule fois à la construction.
+ */
+public final class MenuItemFilterIndex {
+
+    private static final int GRAM_SIZE = 3;
+
+    private final MenuItemDto[] items;
+    private final String[] normalizedTexts;
+    private final int[] positionsByPrice;
+    private final int[] sortedPrices;
+    private final BitSet vegan;
+    private final Map<Long, BitSet> itemsByAllergen;
+    private final Map<String, BitSet> itemsByGram;
+
+    MenuItemFilterIndex(List<MenuItemDto> source) {
+        this.items = source.stream()
+                .sorted(Comparator.comparing(MenuItemDto::id))
+                .toArray(MenuItemDto[]::new);
+        this.normalizedTexts = new String[items.length];
+        this.vegan = new BitSet(items.length);
+
+        Map<Long, BitSet> allergens = new HashMap<>();
+        Map<String, BitSet> grams = new HashMap<>();
+        for (int position = 0; position < items.length; position++) {
+            MenuItemDto item = items[position];
+            if (Boolean.TRUE.equals(item.isVegan())) {
+                vegan.set(position);
+            }
+            if (item.allergens() != null) {
+                for (AllergenDto allergen : item.allergens()) {
+                    allergens.computeIfAbsent(allergen.id(), k -> new BitSet(items.length)).set(position);
+                }
+            }
+            String text = normalize(item.name()) + '\n' + normalize(item.description());
+            normalizedTexts[position] = text;
+            for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+                grams.computeIfAbsent(text.substring(i, i + GRAM_SIZE), k -> new BitSet(items.length)).set(position);
+            }
+        }
+        this.itemsByAllergen = Map.copyOf(allergens);
+        this.itemsByGram = Map.copyOf(grams);
+
+        Integer[] order = new Integer[items.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(this::priceAt));
+        this.positionsByPrice = new int[items.length];
+        this.sortedPrices = new int[items.length];
+        for (int i = 0; i < order.length; i++) {
+            positionsByPrice[i] = order[i];
+            sortedPrices[i] = priceAt(order[i]);
+        }
+    }
+
+    /**
+     * Applique les filtres sur le catalogue indexé. Les paramètres {@code null} (ou vides) sont ignorés.
+     * L'ordre du résultat suit l'identifiant des plats.
+     */
+    public List<MenuItemDto> filter(String name, Boolean isVegan, Integer minPrice, Integer maxPrice, Collection<Long> excludeAllergenIds) {
+        BitSet matches = new BitSet(items.length);
+        matches.set(0, items.length);
+
+        if (minPrice != null || maxPrice != null) {
+            matches.and(priceRange(minPrice, maxPrice));
+        }
+        if (isVegan != null) {
+            if (isVegan) {
+                matches.and(vegan);
+            } else {
+                matches.andNot(vegan);
+            }
+        }
+        if (excludeAllergenIds != null) {
+            for (Long allergenId : excludeAllergenIds) {
+                BitSet excluded = itemsByAllergen.get(allergenId);
+                if (excluded != null) {
+                    matches.andNot(excluded);
+                }
+            }
+        }
+        if (name != null && !name.trim().isEmpty()) {
+            applyText(matches, normalize(name));
+        }
+
+        List<MenuItemDto> result = new ArrayList<>(matches.cardinality());
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            result.add(items[position]);
+        }
+        return result;
+    }
+
+    private BitSet priceRange(Integer minPrice, Integer maxPrice) {
+        int from = minPrice != null ? lowerBound(minPrice) : 0;
+        int to = maxPrice != null ? lowerBound(maxPrice + 1L) : sortedPrices.length;
+        BitSet range = new BitSet(items.length);
+        for (int i = from; i < to; i++) {
+            range.set(positionsByPrice[i]);
+        }
+        return range;
+    }
+
+    /**
+     * Premier indice dont le prix est supérieur ou égal à {@code price}.
+     */
+    private int lowerBound(long price) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void applyText(BitSet matches, String query) {
+        if (query.length() >= GRAM_SIZE) {
+            // Les trigrammes donnent un sur-ensemble des candidats, vérifié ensuite sur le texte normalisé
+            for (int i = 0; i + GRAM_SIZE <= query.length() && !matches.isEmpty(); i++) {
+                BitSet candidates = itemsByGram.get(query.substring(i, i + GRAM_SIZE));
+                if (candidates == null) {
+                    matches.clear();
+                    return;
+                }
+                matches.and(candidates);
+            }
+        }
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            if (!matchesText(position, query)) {
+                matches.clear(position);
+            }
+        }
+    }
+
+    private boolean matchesText(int position, String query) {
+        String text = normalizedTexts[position];
+        int separator = text.indexOf('\n');
+        int index = text.indexOf(query);
+        // Une correspondance à cheval entre le nom et la description ne compte pas
+        while (index >= 0) {
+            if (index + query.length() <= separator || index > separator) {
+                return true;
+            }
+            index = text.indexOf(query, index + 1);
+        }
+        return false;
+    }
+
+    private int priceAt(int position) {
+        Integer price = items[position].priceCents();
+        return price != null ? price : 0;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+}
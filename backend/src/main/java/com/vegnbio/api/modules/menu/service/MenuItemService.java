@@ -2,14 +2,18 @@ package com.vegnbio.api.modules.menu.service;
 
 import com.vegnbio.api.modules.allergen.entity.Allergen;
 import com.vegnbio.api.modules.allergen.repo.AllergenRepository;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.MenuMapper;
 import com.vegnbio.api.modules.menu.dto.CreateMenuItemRequest;
 import com.vegnbio.api.modules.menu.dto.MenuItemDto;
 import com.vegnbio.api.modules.menu.entity.Menu;
 import com.vegnbio.api.modules.menu.entity.MenuItem;
 import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
 import com.vegnbio.api.modules.menu.repo.MenuRepository;
+import com.vegnbio.api.modules.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -22,6 +26,9 @@ public class MenuItemService {
     private final MenuItemRepository menuItemRepository;
     private final MenuRepository menuRepository;
     private final AllergenRepository allergenRepository;
+    private final MenuCatalogService menuCatalogService;
+    private final SearchService searchService;
+    private final CatalogVersionService catalogVersionService;
     
     public MenuItemDto createMenuItem(CreateMenuItemRequest request) {
         Menu menu = menuRepository.findById(request.menuId())
@@ -42,7 +49,11 @@ public class MenuItemService {
                 .build();
         
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
-        return mapToDto(savedMenuItem);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(menu.getRestaurant().getCode());
+        MenuItemDto dto = mapToDto(savedMenuItem);
+        searchService.indexMenuItem(dto);
+        return dto;
     }
     
     @Transactional(readOnly = true)
@@ -81,12 +92,13 @@ public class MenuItemService {
         }
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Recherche servie par l'index en mémoire ({@link SearchService}) : accents ignorés,
+     * préfixes et fautes de frappe tolérés, résultats classés par pertinence.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<MenuItemDto> searchMenuItems(String name) {
-        return menuItemRepository.findByNameContainingIgnoreCase(name)
-                .stream()
-                .map(this::mapToDto)
-                .toList();
+        return searchService.searchMenuItems(name);
     }
     
     @Transactional(readOnly = true)
@@ -104,6 +116,7 @@ public class MenuItemService {
         Menu menu = menuRepository.findById(request.menuId())
                 .orElseThrow(() -> new RuntimeException("Menu not found"));
         
+        String previousRestaurantCode = menuItem.getMenu().getRestaurant().getCode();
         menuItem.setName(request.name());
         menuItem.setDescription(request.description());
         menuItem.setPriceCents(request.priceCents());
@@ -117,76 +130,35 @@ public class MenuItemService {
         }
         
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
-        return mapToDto(savedMenuItem);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(previousRestaurantCode, menu.getRestaurant().getCode());
+        MenuItemDto dto = mapToDto(savedMenuItem);
+        searchService.indexMenuItem(dto);
+        return dto;
     }
     
     @Transactional
     public void deleteMenuItem(Long menuItemId) {
-        if (!menuItemRepository.existsById(menuItemId)) {
-            throw new RuntimeException("MenuItem not found");
-        }
-        menuItemRepository.deleteById(menuItemId);
+        MenuItem menuItem = menuItemRepository.findById(menuItemId)
+                .orElseThrow(() -> new RuntimeException("MenuItem not found"));
+        String restaurantCode = menuItem.getMenu().getRestaurant().getCode();
+        menuItemRepository.delete(menuItem);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(restaurantCode);
+        searchService.removeMenuItems(List.of(menuItemId));
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Filtre les plats à partir de l'index en mémoire du catalogue, sans requête SQL.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<MenuItemDto> filterMenuItems(String name, Boolean isVegan, Integer minPrice, Integer maxPrice, List<Long> excludeAllergenIds) {
-        List<MenuItem> allItems = menuItemRepository.findAll();
-        
-        return allItems.stream()
-                .filter(item -> {
-                    // Filtre par nom
-                    if (name != null && !name.trim().isEmpty()) {
-                        if (!item.getName().toLowerCase().contains(name.toLowerCase()) &&
-                            !item.getDescription().toLowerCase().contains(name.toLowerCase())) {
-                            return false;
-                        }
-                    }
-                    
-                    // Filtre par végétalien
-                    if (isVegan != null && item.getIsVegan() != isVegan) {
-                        return false;
-                    }
-                    
-                    // Filtre par prix
-                    if (minPrice != null && item.getPriceCents() < minPrice) {
-                        return false;
-                    }
-                    if (maxPrice != null && item.getPriceCents() > maxPrice) {
-                        return false;
-                    }
-                    
-                    // Filtre par allergènes (exclure les items contenant les allergènes spécifiés)
-                    if (excludeAllergenIds != null && !excludeAllergenIds.isEmpty()) {
-                        if (item.getAllergens() != null) {
-                            boolean hasExcludedAllergen = item.getAllergens().stream()
-                                    .anyMatch(allergen -> excludeAllergenIds.contains(allergen.getId()));
-                            if (hasExcludedAllergen) {
-                                return false;
-                            }
-                        }
-                    }
-                    
-                    return true;
-                })
-                .map(this::mapToDto)
-                .toList();
+        return menuCatalogService.snapshot()
+                .filterIndex()
+                .filter(name, isVegan, minPrice, maxPrice, excludeAllergenIds);
     }
     
     private MenuItemDto mapToDto(MenuItem menuItem) {
-        return new MenuItemDto(
-                menuItem.getId(),
-                menuItem.getName(),
-                menuItem.getDescription(),
-                menuItem.getPriceCents(),
-                menuItem.getIsVegan(),
-                menuItem.getAllergens() != null ?
-                    menuItem.getAllergens().stream()
-                        .map(allergen -> new com.vegnbio.api.modules.allergen.dto.AllergenDto(
-                                allergen.getId(),
-                                allergen.getCode(),
-                                allergen.getLabel()
-                        ))
-                        .toList() : List.of()
-        );
+        return MenuMapper.toDto(menuItem);
     }
 }
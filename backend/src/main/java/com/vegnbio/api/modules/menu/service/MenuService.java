@@ -1,20 +1,26 @@
 package com.vegnbio.api.modules.menu.service;
 
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.MenuMapper;
 import com.vegnbio.api.modules.menu.dto.CreateMenuRequest;
 import com.vegnbio.api.modules.menu.dto.MenuDto;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
 import com.vegnbio.api.modules.menu.entity.Menu;
 import com.vegnbio.api.modules.menu.entity.MenuItem;
 import com.vegnbio.api.modules.menu.repo.MenuRepository;
 import com.vegnbio.api.modules.menu.repo.MenuItemRepository;
 import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import com.vegnbio.api.modules.search.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.hibernate.Hibernate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +30,9 @@ public class MenuService {
     private final MenuRepository menuRepository;
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
+    private final MenuCatalogService menuCatalogService;
+    private final SearchService searchService;
+    private final CatalogVersionService catalogVersionService;
     
     public MenuDto createMenu(CreateMenuRequest request) {
         Restaurant restaurant = restaurantRepository.findById(request.restaurantId())
@@ -37,16 +46,15 @@ public class MenuService {
                 .build();
         
         Menu savedMenu = menuRepository.save(menu);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(restaurant.getCode());
         return mapToDto(savedMenu);
     }
     
     @Transactional(readOnly = true)
     public List<MenuDto> getAllMenus() {
         try {
-            List<Menu> menus = menuRepository.findAll();
-            return menus.stream()
-                    .map(this::mapToDto)
-                    .toList();
+            return loadMenuDtos(menuRepository.findAll());
         } catch (Exception e) {
             throw new RuntimeException("Error fetching all menus: " + e.getMessage(), e);
         }
@@ -55,25 +63,11 @@ public class MenuService {
     @Transactional(readOnly = true)
     public List<MenuDto> getMenusByRestaurant(Long restaurantId) {
         try {
-            Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found with ID: " + restaurantId));
-            
-            List<Menu> menus = menuRepository.findByRestaurant(restaurant);
-            System.out.println("Found " + menus.size() + " menus for restaurant " + restaurantId);
-            
-            // Charger les allergènes pour chaque menu séparément pour éviter MultipleBagFetchException
-            for (Menu menu : menus) {
-                if (menu.getMenuItems() != null) {
-                    for (MenuItem menuItem : menu.getMenuItems()) {
-                        // Initialiser la collection d'allergènes
-                        Hibernate.initialize(menuItem.getAllergens());
-                    }
-                }
+            List<Menu> menus = menuRepository.findByRestaurantIdOrderByIdAsc(restaurantId);
+            if (menus.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+                throw new RuntimeException("Restaurant not found with ID: " + restaurantId);
             }
-            
-            return menus.stream()
-                    .map(this::mapToDto)
-                    .toList();
+            return loadMenuDtos(menus);
         } catch (RuntimeException e) {
             // Log l'erreur mais ne pas la relancer pour éviter les crashes
             System.err.println("Error fetching menus for restaurant " + restaurantId + ": " + e.getMessage());
@@ -89,13 +83,11 @@ public class MenuService {
     @Transactional(readOnly = true)
     public List<MenuDto> getMenusByRestaurantCode(String restaurantCode) {
         try {
-            Restaurant restaurant = restaurantRepository.findByCode(restaurantCode)
-                    .orElseThrow(() -> new RuntimeException("Restaurant not found with code: " + restaurantCode));
-            
-            List<Menu> menus = menuRepository.findByRestaurant(restaurant);
-            return menus.stream()
-                    .map(this::mapToDto)
-                    .toList();
+            List<Menu> menus = menuRepository.findByRestaurantCodeOrderByIdAsc(restaurantCode);
+            if (menus.isEmpty() && !restaurantRepository.existsByCode(restaurantCode)) {
+                throw new RuntimeException("Restaurant not found with code: " + restaurantCode);
+            }
+            return loadMenuDtos(menus);
         } catch (Exception e) {
             throw new RuntimeException("Error fetching menus for restaurant " + restaurantCode + ": " + e.getMessage(), e);
         }
@@ -103,31 +95,18 @@ public class MenuService {
     
     @Transactional(readOnly = true)
     public List<MenuDto> getMenusByRestaurantAndDate(Long restaurantId, LocalDate date) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
-        
-        List<Menu> menus = menuRepository.findByRestaurantAndDate(restaurant, date);
-        
-        // Charger les allergènes pour chaque menu séparément pour éviter MultipleBagFetchException
-        for (Menu menu : menus) {
-            if (menu.getMenuItems() != null) {
-                for (MenuItem menuItem : menu.getMenuItems()) {
-                    // Initialiser la collection d'allergènes
-                    Hibernate.initialize(menuItem.getAllergens());
-                }
-            }
+        List<Menu> menus = menuRepository.findActiveByRestaurantId(restaurantId, date);
+        if (menus.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found");
         }
-        
-        return menus.stream()
-                .map(this::mapToDto)
-                .toList();
+        return loadMenuDtos(menus);
     }
     
     @Transactional(readOnly = true)
     public MenuDto getMenuById(Long menuId) {
         Menu menu = menuRepository.findById(menuId)
                 .orElseThrow(() -> new RuntimeException("Menu not found"));
-        return mapToDto(menu);
+        return loadMenuDtos(List.of(menu)).get(0);
     }
     
     @Transactional
@@ -138,51 +117,58 @@ public class MenuService {
         Restaurant restaurant = restaurantRepository.findById(request.restaurantId())
                 .orElseThrow(() -> new RuntimeException("Restaurant not found"));
         
+        String previousRestaurantCode = menu.getRestaurant().getCode();
         menu.setTitle(request.title());
         menu.setActiveFrom(request.activeFrom());
         menu.setActiveTo(request.activeTo());
         menu.setRestaurant(restaurant);
         
         Menu savedMenu = menuRepository.save(menu);
-        return mapToDto(savedMenu);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(previousRestaurantCode, restaurant.getCode());
+        return loadMenuDtos(List.of(savedMenu)).get(0);
     }
     
     @Transactional
     public void deleteMenu(Long menuId) {
-        if (!menuRepository.existsById(menuId)) {
-            throw new RuntimeException("Menu not found");
-        }
+        Menu menu = menuRepository.findById(menuId)
+                .orElseThrow(() -> new RuntimeException("Menu not found"));
+        String restaurantCode = menu.getRestaurant().getCode();
+        List<Long> menuItemIds = menuItemRepository.findByMenuId(menuId).stream()
+                .map(MenuItem::getId)
+                .toList();
         menuRepository.deleteById(menuId);
+        menuCatalogService.refreshAfterCommit();
+        catalogVersionService.menusChanged(restaurantCode);
+        searchService.removeMenuItems(menuItemIds);
     }
     
-    private MenuDto mapToDto(Menu menu) {
-        return new MenuDto(
-                menu.getId(),
-                menu.getTitle(),
-                menu.getActiveFrom(),
-                menu.getActiveTo(),
-                menu.getMenuItems() != null ? 
-                    menu.getMenuItems().stream()
-                        .map(this::mapMenuItemToDto)
-                        .toList() : List.of()
-        );
+    /**
+     * Assemble les DTOs en mémoire : une seule requête charge les plats et leurs allergènes
+     * pour tous les menus, quel que soit leur nombre, sans toucher aux collections paresseuses.
+     */
+    private List<MenuDto> loadMenuDtos(List<Menu> menus) {
+        if (menus.isEmpty()) {
+            return List.of();
+        }
+        List<Long> menuIds = menus.stream().map(Menu::getId).toList();
+        Map<Long, List<MenuItemDto>> itemsByMenu = new HashMap<>();
+        for (MenuItem menuItem : menuItemRepository.findByMenuIdsWithAllergens(menuIds)) {
+            itemsByMenu.computeIfAbsent(menuItem.getMenu().getId(), k -> new ArrayList<>())
+                    .add(MenuMapper.toDto(menuItem));
+        }
+        return menus.stream()
+                .map(menu -> new MenuDto(
+                        menu.getId(),
+                        menu.getTitle(),
+                        menu.getActiveFrom(),
+                        menu.getActiveTo(),
+                        List.copyOf(itemsByMenu.getOrDefault(menu.getId(), List.of()))
+                ))
+                .toList();
     }
     
-    private com.vegnbio.api.modules.menu.dto.MenuItemDto mapMenuItemToDto(com.vegnbio.api.modules.menu.entity.MenuItem menuItem) {
-        return new com.vegnbio.api.modules.menu.dto.MenuItemDto(
-                menuItem.getId(),
-                menuItem.getName(),
-                menuItem.getDescription(),
-                menuItem.getPriceCents(),
-                menuItem.getIsVegan(),
-                menuItem.getAllergens() != null ?
-                    menuItem.getAllergens().stream()
-                        .map(allergen -> new com.vegnbio.api.modules.allergen.dto.AllergenDto(
-                                allergen.getId(),
-                                allergen.getCode(),
-                                allergen.getLabel()
-                        ))
-                        .toList() : List.of()
-        );
+    private MenuDto mapToDto(Menu menu) {
+        return MenuMapper.toDto(menu);
     }
 }
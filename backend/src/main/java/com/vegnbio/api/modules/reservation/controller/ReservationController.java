@@ -0,0 +1,65 @@
+package com.vegnbio.api.modules.reservation.controller;
+
+import com.vegnbio.api.modules.auth.entity.User;
+import com.vegnbio.api.modules.reservation.dto.CreateReservationRequest;
+import com.vegnbio.api.modules.reservation.dto.ReservationDto;
+import com.vegnbio.api.modules.reservation.dto.TableAvailabilityDto;
+import com.vegnbio.api.modules.reservation.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationDto> createReservation(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody CreateReservationRequest request) {
+        ReservationDto reservation = reservationService.createReservation(user, request);
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/{reservationId}/cancel")
+    public ResponseEntity<ReservationDto> cancelReservation(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long reservationId) {
+        ReservationDto reservation = reservationService.cancelReservation(user, reservationId);
+        return ResponseEntity.ok(reservation);
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<List<ReservationDto>> getMyReservations(@AuthenticationPrincipal User user) {
+        List<ReservationDto> reservations = reservationService.getMyReservations(user);
+        return ResponseEntity.ok(reservations);
+    }
+
+    @GetMapping("/restaurant/{restaurantId}")
+    @PreAuthorize("hasRole('RESTAURATEUR')")
+    public ResponseEntity<List<ReservationDto>> getReservationsByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<ReservationDto> reservations = reservationService.getReservationsByRestaurant(restaurantId, date);
+        return ResponseEntity.ok(reservations);
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/availability")
+    public ResponseEntity<TableAvailabilityDto> getAvailability(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "1") int partySize) {
+        TableAvailabilityDto availability = reservationService.getAvailability(restaurantId, date, partySize);
+        return ResponseEntity.ok(availability);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vegnbio.api.modules.reservation.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record CreateReservationRequest(
+        @NotNull Long restaurantId,
+        @NotNull @FutureOrPresent LocalDate reservationDate,
+        @NotNull LocalTime reservationTime,
+        @NotNull @Positive Integer numberOfPeople,
+        @Size(max = 1000) String notes
+) {}
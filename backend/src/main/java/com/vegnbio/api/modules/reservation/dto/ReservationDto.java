@@ -0,0 +1,19 @@
+package com.vegnbio.api.modules.reservation.dto;
+
+import com.vegnbio.api.modules.reservation.entity.Reservation.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public record ReservationDto(
+        Long id,
+        Long restaurantId,
+        String restaurantName,
+        LocalDate reservationDate,
+        LocalTime reservationTime,
+        Integer numberOfPeople,
+        ReservationStatus status,
+        String notes,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,13 @@
+package com.vegnbio.api.modules.reservation.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TableAvailabilityDto(
+        Long restaurantId,
+        LocalDate date,
+        Integer capacity,
+        int slotMinutes,
+        int durationMinutes,
+        List<TableSlotDto> slots
+) {}
@@ -0,0 +1,11 @@
+package com.vegnbio.api.modules.reservation.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Créneau de début de réservation ; {@code freeSeats} tient compte de toute la durée d'occupation de la table.
+ */
+public record TableSlotDto(
+        LocalTime start,
+        Integer freeSeats
+) {}
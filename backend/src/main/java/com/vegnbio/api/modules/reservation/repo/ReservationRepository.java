@@ -23,6 +23,29 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r WHERE r.restaurant.id = :restaurantId AND r.reservationDate = :date AND r.status IN ('PENDING', 'CONFIRMED')")
     List<Reservation> findActiveReservationsByRestaurantAndDate(@Param("restaurantId") Long restaurantId, @Param("date") LocalDate date);
     
+    /**
+     * Réservations de tables actives à partir d'une date : restaurant, jour, heure, nombre de personnes.
+     */
+    @Query("SELECT r.restaurant.id, r.reservationDate, r.reservationTime, r.numberOfPeople FROM Reservation r " +
+           "WHERE r.event IS NULL AND r.status IN ('PENDING', 'CONFIRMED') AND r.reservationDate >= :from")
+    List<Object[]> findActiveTableSeatsFrom(@Param("from") LocalDate from);
+    
+    /**
+     * Places des réservations de tables actives d'un restaurant sur un jour : heure, nombre de personnes.
+     */
+    @Query("SELECT r.reservationTime, r.numberOfPeople FROM Reservation r " +
+           "WHERE r.event IS NULL AND r.status IN ('PENDING', 'CONFIRMED') " +
+           "AND r.restaurant.id = :restaurantId AND r.reservationDate = :date")
+    List<Object[]> findActiveTableSeats(@Param("restaurantId") Long restaurantId, @Param("date") LocalDate date);
+    
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.restaurant WHERE r.user.id = :userId AND r.event IS NULL " +
+           "ORDER BY r.reservationDate DESC, r.reservationTime DESC")
+    List<Reservation> findTableReservationsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.restaurant WHERE r.restaurant.id = :restaurantId AND r.event IS NULL " +
+           "AND r.reservationDate = :date ORDER BY r.reservationTime ASC, r.id ASC")
+    List<Reservation> findTableReservationsByRestaurantAndDate(@Param("restaurantId") Long restaurantId, @Param("date") LocalDate date);
+    
     @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.status IN ('PENDING', 'CONFIRMED')")
     List<Reservation> findActiveReservationsByUser(@Param("userId") Long userId);
     
@@ -0,0 +1,129 @@
+package com.vegnbio.api.modules.reservation.service;
+
+import com.vegnbio.api.modules.auth.entity.User;
+import com.vegnbio.api.modules.reservation.dto.CreateReservationRequest;
+import com.vegnbio.api.modules.reservation.dto.ReservationDto;
+import com.vegnbio.api.modules.reservation.dto.TableAvailabilityDto;
+import com.vegnbio.api.modules.reservation.entity.Reservation;
+import com.vegnbio.api.modules.reservation.entity.Reservation.ReservationStatus;
+import com.vegnbio.api.modules.reservation.repo.ReservationRepository;
+import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import com.vegnbio.api.modules.restaurant.service.RestaurantScheduleService;
+import com.vegnbio.api.modules.restaurant.service.WeeklySchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final TableCapacityLedger capacityLedger;
+    private final RestaurantScheduleService restaurantScheduleService;
+
+    @Transactional
+    public ReservationDto createReservation(User user, CreateReservationRequest request) {
+        var restaurant = restaurantRepository.findById(request.restaurantId())
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        
+        if (request.reservationDate().atTime(request.reservationTime()).isBefore(restaurantScheduleService.now())) {
+            throw new RuntimeException("Reservation time is in the past");
+        }
+        WeeklySchedule schedule = restaurantScheduleService.schedule(restaurant.getId());
+        if (!schedule.isOpenFor(WeeklySchedule.minuteOfWeek(request.reservationDate().atTime(request.reservationTime())),
+                capacityLedger.durationMinutes())) {
+            throw new RuntimeException("Restaurant is closed at this time");
+        }
+        
+        // Prise atomique des places sur les créneaux couverts, sans recompter les réservations en base
+        capacityLedger.reserve(restaurant.getId(), restaurant.getRestaurantCapacity(),
+                request.reservationDate(), request.reservationTime(), request.numberOfPeople());
+        
+        var reservation = Reservation.builder()
+                .user(user)
+                .restaurant(restaurant)
+                .reservationDate(request.reservationDate())
+                .reservationTime(request.reservationTime())
+                .numberOfPeople(request.numberOfPeople())
+                .status(ReservationStatus.PENDING)
+                .notes(request.notes())
+                .build();
+        
+        reservationRepository.save(reservation);
+        return toDto(reservation);
+    }
+
+    @Transactional
+    public ReservationDto cancelReservation(User user, Long reservationId) {
+        var reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found"));
+        
+        if (!reservation.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Unauthorized access to reservation");
+        }
+        if (reservation.getStatus() != ReservationStatus.PENDING && reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            throw new RuntimeException("Reservation cannot be cancelled");
+        }
+        
+        reservation.setStatus(ReservationStatus.CANCELLED);
+        // Seules les réservations de tables occupent des créneaux
+        if (reservation.getEvent() == null) {
+            capacityLedger.release(reservation.getRestaurant().getId(), reservation.getReservationDate(),
+                    reservation.getReservationTime(), reservation.getNumberOfPeople());
+        }
+        reservationRepository.save(reservation);
+        return toDto(reservation);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getMyReservations(User user) {
+        return reservationRepository.findTableReservationsByUserId(user.getId())
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationDto> getReservationsByRestaurant(Long restaurantId, LocalDate date) {
+        return reservationRepository.findTableReservationsByRestaurantAndDate(restaurantId, date)
+                .stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public TableAvailabilityDto getAvailability(Long restaurantId, LocalDate date, int partySize) {
+        var restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+        
+        return new TableAvailabilityDto(
+                restaurantId,
+                date,
+                restaurant.getRestaurantCapacity(),
+                capacityLedger.slotMinutes(),
+                capacityLedger.durationMinutes(),
+                capacityLedger.freeSlots(restaurantId, restaurant.getRestaurantCapacity(),
+                        restaurantScheduleService.schedule(restaurantId), date, Math.max(partySize, 1))
+        );
+    }
+
+    private ReservationDto toDto(Reservation reservation) {
+        return new ReservationDto(
+                reservation.getId(),
+                reservation.getRestaurant().getId(),
+                reservation.getRestaurant().getName(),
+                reservation.getReservationDate(),
+                reservation.getReservationTime(),
+                reservation.getNumberOfPeople(),
+                reservation.getStatus(),
+                reservation.getNotes(),
+                reservation.getCreatedAt()
+        );
+    }
+}
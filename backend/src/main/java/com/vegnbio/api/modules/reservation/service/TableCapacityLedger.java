@@ -0,0 +1,323 @@
+package com.vegnbio.api.modules.reservation.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.reservation.dto.TableSlotDto;
+import com.vegnbio.api.modules.reservation.repo.ReservationRepository;
+import com.vegnbio.api.modules.restaurant.service.RestaurantScheduleService;
+import com.vegnbio.api.modules.restaurant.service.WeeklySchedule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Registre des places réservées par restaurant, jour et créneau pour les réservations de tables.
+ * Une réservation occupe les créneaux couvrant sa durée ; le compteur en mémoire refuse sans accès base
+ * les réservations d'un créneau complet. La table {@code table_slot_bookings}, mise à jour par un upsert
+ * conditionnel sur chaque créneau, reste l'arbitre final (plusieurs instances). Les deux sont reconstruits
+ * au démarrage à partir des réservations actives, jour par jour.
+ * <p>
+ * La reconstruction d'un jour prend un verrou consultatif PostgreSQL exclusif par restaurant et par jour,
+ * les prises et restitutions de places le même verrou en mode partagé, tenus jusqu'au commit : une instance
+ * qui démarre ne peut pas effacer les places prises au même moment par une autre, sans que les réservations
+ * d'un même jour s'attendent entre elles (l'upsert conditionnel par créneau suffit à tenir la capacité). Seuls les jours à moins de {@code horizon-days}
+ * sont réservables ; la consultation des disponibilités ne garde rien en mémoire.
+ */
+@Slf4j
+@Service
+public class TableCapacityLedger {
+
+    private static final String RESERVE_SQL = "INSERT INTO table_slot_bookings (restaurant_id, slot_date, slot_start, booked_seats) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (restaurant_id, slot_date, slot_start) DO UPDATE " +
+            "SET booked_seats = table_slot_bookings.booked_seats + EXCLUDED.booked_seats " +
+            "WHERE table_slot_bookings.booked_seats + EXCLUDED.booked_seats <= ?";
+    private static final String RELEASE_SQL = "UPDATE table_slot_bookings SET booked_seats = GREATEST(booked_seats - ?, 0) " +
+            "WHERE restaurant_id = ? AND slot_date = ? AND slot_start = ?";
+    private static final String LOAD_DAY_SQL = "SELECT slot_start, booked_seats FROM table_slot_bookings " +
+            "WHERE restaurant_id = ? AND slot_date = ?";
+    private static final String INSERT_SQL = "INSERT INTO table_slot_bookings (restaurant_id, slot_date, slot_start, booked_seats) " +
+            "VALUES (?, ?, ?, ?)";
+    private static final String DELETE_DAY_SQL = "DELETE FROM table_slot_bookings WHERE restaurant_id = ? AND slot_date = ?";
+    private static final String DELETE_PAST_SQL = "DELETE FROM table_slot_bookings WHERE slot_date < ?";
+    private static final String BOOKED_DAYS_SQL = "SELECT DISTINCT restaurant_id, slot_date FROM table_slot_bookings WHERE slot_date >= ?";
+    // Verrous libérés au commit ou au rollback de la transaction
+    private static final String LOCK_DAY_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+    private static final String SHARE_DAY_SQL = "SELECT pg_advisory_xact_lock_shared(?, ?)";
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private record DayKey(Long restaurantId, LocalDate date) {}
+
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RestaurantScheduleService restaurantScheduleService;
+    private final TransactionTemplate writeTransaction;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int slotsPerReservation;
+    private final int horizonDays;
+
+    private final Map<DayKey, AtomicIntegerArray> days = new ConcurrentHashMap<>();
+
+    public TableCapacityLedger(ReservationRepository reservationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               RestaurantScheduleService restaurantScheduleService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.reservations.slot-minutes:30}") int slotMinutes,
+                               @Value("${app.reservations.duration-minutes:90}") int durationMinutes,
+                               @Value("${app.reservations.horizon-days:90}") int horizonDays) {
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.restaurantScheduleService = restaurantScheduleService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.slotMinutes = Math.min(Math.max(slotMinutes, 5), MINUTES_PER_DAY);
+        this.slotsPerDay = (MINUTES_PER_DAY + this.slotMinutes - 1) / this.slotMinutes;
+        this.slotsPerReservation = Math.max((Math.max(durationMinutes, 1) + this.slotMinutes - 1) / this.slotMinutes, 1);
+        this.horizonDays = Math.max(horizonDays, 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            LocalDate today = restaurantScheduleService.now().toLocalDate();
+            Set<DayKey> keys = new HashSet<>();
+            for (Object[] row : reservationRepository.findActiveTableSeatsFrom(today)) {
+                keys.add(new DayKey((Long) row[0], (LocalDate) row[1]));
+            }
+            jdbcTemplate.query(BOOKED_DAYS_SQL, row -> {
+                keys.add(new DayKey(row.getLong(1), row.getDate(2).toLocalDate()));
+            }, Date.valueOf(today));
+
+            Map<DayKey, int[]> counts = new HashMap<>();
+            for (DayKey key : keys) {
+                int[] day = writeTransaction.execute(status -> rebuild(key));
+                if (Arrays.stream(day).anyMatch(seats -> seats > 0)) {
+                    counts.put(key, day);
+                }
+            }
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(DELETE_PAST_SQL, Date.valueOf(today)));
+            days.clear();
+            counts.forEach((key, day) -> days.put(key, new AtomicIntegerArray(day)));
+            log.info("Table capacity ledger reconciled for {} restaurant days", counts.size());
+        } catch (Exception e) {
+            log.warn("Failed to reconcile table capacity ledger: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompte un jour à partir des réservations actives, sous le verrou du jour : les réservations
+     * commitées avant la prise du verrou sont comptées, les suivantes ajoutent leurs places au résultat.
+     */
+    private int[] rebuild(DayKey key) {
+        lockDay(LOCK_DAY_SQL, key.restaurantId(), key.date());
+        int[] day = new int[slotsPerDay];
+        for (Object[] row : reservationRepository.findActiveTableSeats(key.restaurantId(), key.date())) {
+            int first = slotOf((LocalTime) row[0]);
+            for (int slot = first; slot < lastSlot(first); slot++) {
+                day[slot] += (Integer) row[1];
+            }
+        }
+        jdbcTemplate.update(DELETE_DAY_SQL, key.restaurantId(), Date.valueOf(key.date()));
+        List<Object[]> rows = new ArrayList<>();
+        for (int slot = 0; slot < slotsPerDay; slot++) {
+            if (day[slot] > 0) {
+                rows.add(new Object[]{key.restaurantId(), Date.valueOf(key.date()), Time.valueOf(slotStart(slot)), day[slot]});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        return day;
+    }
+
+    /**
+     * Reconstruit le registre une fois la transaction courante commitée (réservations créées en masse).
+     */
+    public void reconcileAfterCommit() {
+        AfterCommit.run(this::reconcile);
+    }
+
+    /**
+     * Prend {@code pax} places sur les créneaux couverts par la réservation, ou lève une exception si l'un d'eux
+     * n'en a plus assez. {@code capacity} vide = pas de limite. Les places sont rendues si la transaction est annulée.
+     */
+    public void reserve(Long restaurantId, Integer capacity, LocalDate date, LocalTime time, int pax) {
+        checkHorizon(date);
+        int limit = capacity != null ? capacity : Integer.MAX_VALUE;
+        if (pax > limit) {
+            throw new RuntimeException("No table available for this time slot");
+        }
+        AtomicIntegerArray seats = day(restaurantId, date);
+        int first = slotOf(time);
+        int last = lastSlot(first);
+        int taken = first;
+        while (taken < last && tryTake(seats, taken, pax, limit)) {
+            taken++;
+        }
+        if (taken < last) {
+            for (int slot = first; slot < taken; slot++) {
+                seats.addAndGet(slot, -pax);
+            }
+            throw new RuntimeException("No table available for this time slot");
+        }
+        AfterCommit.onRollback(() -> give(seats, first, last, pax));
+
+        lockDay(SHARE_DAY_SQL, restaurantId, date);
+        for (int slot = first; slot < last; slot++) {
+            if (jdbcTemplate.update(RESERVE_SQL, restaurantId, Date.valueOf(date), Time.valueOf(slotStart(slot)), pax, limit) == 0) {
+                throw new RuntimeException("No table available for this time slot");
+            }
+        }
+    }
+
+    /**
+     * Rend {@code pax} places (réservation annulée), en mémoire une fois la transaction commitée.
+     */
+    public void release(Long restaurantId, LocalDate date, LocalTime time, int pax) {
+        int first = slotOf(time);
+        int last = lastSlot(first);
+        lockDay(SHARE_DAY_SQL, restaurantId, date);
+        for (int slot = first; slot < last; slot++) {
+            jdbcTemplate.update(RELEASE_SQL, pax, restaurantId, Date.valueOf(date), Time.valueOf(slotStart(slot)));
+        }
+        AfterCommit.run(() -> give(day(restaurantId, date), first, last, pax));
+    }
+
+    /**
+     * Créneaux de début où {@code partySize} personnes peuvent encore réserver, calculés à partir des compteurs.
+     * Seuls les créneaux où le restaurant reste ouvert toute la durée d'une réservation sont proposés.
+     * {@code freeSeats} est vide quand la capacité n'est pas limitée ; les créneaux déjà passés sont exclus.
+     * Un jour absent de la mémoire est lu en base sans y être gardé.
+     */
+    public List<TableSlotDto> freeSlots(Long restaurantId, Integer capacity, WeeklySchedule schedule, LocalDate date, int partySize) {
+        LocalDateTime now = restaurantScheduleService.now();
+        if (date.isBefore(now.toLocalDate())) {
+            return List.of();
+        }
+        checkHorizon(date);
+        AtomicIntegerArray cached = days.get(new DayKey(restaurantId, date));
+        AtomicIntegerArray seats = cached != null ? cached : new AtomicIntegerArray(load(restaurantId, date));
+        List<TableSlotDto> slots = new ArrayList<>();
+        for (int first = 0; first < slotsPerDay; first++) {
+            LocalTime start = slotStart(first);
+            if (date.atTime(start).isBefore(now)
+                    || !schedule.isOpenFor(WeeklySchedule.minuteOfWeek(date.atTime(start)), durationMinutes())) {
+                continue;
+            }
+            if (capacity == null) {
+                slots.add(new TableSlotDto(start, null));
+                continue;
+            }
+            int booked = 0;
+            for (int slot = first; slot < lastSlot(first); slot++) {
+                booked = Math.max(booked, seats.get(slot));
+            }
+            int free = capacity - booked;
+            if (free >= partySize) {
+                slots.add(new TableSlotDto(start, free));
+            }
+        }
+        return slots;
+    }
+
+    public int slotMinutes() {
+        return slotMinutes;
+    }
+
+    public int durationMinutes() {
+        return slotsPerReservation * slotMinutes;
+    }
+
+    public void forget(Long restaurantId) {
+        AfterCommit.run(() -> days.keySet().removeIf(key -> key.restaurantId().equals(restaurantId)));
+    }
+
+    public void clear() {
+        AfterCommit.run(days::clear);
+    }
+
+    /**
+     * Rejette les jours au-delà de l'horizon de réservation : le registre en mémoire reste borné.
+     */
+    private void checkHorizon(LocalDate date) {
+        if (date.isAfter(restaurantScheduleService.now().toLocalDate().plusDays(horizonDays))) {
+            throw new RuntimeException("Reservation date is too far ahead");
+        }
+    }
+
+    private void lockDay(String sql, Long restaurantId, LocalDate date) {
+        jdbcTemplate.query(sql, row -> {}, restaurantId.intValue(), (int) date.toEpochDay());
+    }
+
+    /**
+     * Compteurs du jour, relus en base au premier accès (jour sans réservation au démarrage, autre instance).
+     */
+    private AtomicIntegerArray day(Long restaurantId, LocalDate date) {
+        DayKey key = new DayKey(restaurantId, date);
+        AtomicIntegerArray seats = days.get(key);
+        if (seats != null) {
+            return seats;
+        }
+        int[] loaded = load(restaurantId, date);
+        // Les jours passés ne sont plus consultés
+        LocalDate today = restaurantScheduleService.now().toLocalDate();
+        days.keySet().removeIf(existing -> existing.date().isBefore(today));
+        seats = new AtomicIntegerArray(loaded);
+        AtomicIntegerArray previous = days.putIfAbsent(key, seats);
+        return previous != null ? previous : seats;
+    }
+
+    private int[] load(Long restaurantId, LocalDate date) {
+        int[] loaded = new int[slotsPerDay];
+        jdbcTemplate.query(LOAD_DAY_SQL, row -> {
+            int slot = slotOf(row.getTime(1).toLocalTime());
+            loaded[slot] += row.getInt(2);
+        }, restaurantId, Date.valueOf(date));
+        return loaded;
+    }
+
+    private static boolean tryTake(AtomicIntegerArray seats, int slot, int pax, int limit) {
+        int current;
+        do {
+            current = seats.get(slot);
+            if (current + pax > limit) {
+                return false;
+            }
+        } while (!seats.compareAndSet(slot, current, current + pax));
+        return true;
+    }
+
+    private static void give(AtomicIntegerArray seats, int first, int last, int pax) {
+        for (int slot = first; slot < last; slot++) {
+            seats.updateAndGet(slot, value -> Math.max(value - pax, 0));
+        }
+    }
+
+    private int slotOf(LocalTime time) {
+        return Math.min(time.toSecondOfDay() / 60 / slotMinutes, slotsPerDay - 1);
+    }
+
+    // Une réservation en fin de soirée ne déborde pas sur le lendemain
+    private int lastSlot(int first) {
+        return Math.min(first + slotsPerReservation, slotsPerDay);
+    }
+
+    private LocalTime slotStart(int slot) {
+        return LocalTime.ofSecondOfDay((long) slot * slotMinutes * 60);
+    }
+}
@@ -1,13 +1,24 @@
 package com.vegnbio.api.modules.restaurant;
 
+import com.vegnbio.api.modules.catalog.CatalogResponses;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
+import com.vegnbio.api.modules.reservation.service.TableCapacityLedger;
 import com.vegnbio.api.modules.restaurant.dto.RestaurantDto;
+import com.vegnbio.api.modules.restaurant.dto.RestaurantOpeningDto;
 import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import com.vegnbio.api.modules.restaurant.service.RestaurantScheduleService;
+import com.vegnbio.api.modules.search.service.SearchService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.vegnbio.api.modules.restaurant.RestaurantMapper.toDto;
@@ -16,11 +27,26 @@ import static com.vegnbio.api.modules.restaurant.RestaurantMapper.toDto;
 @RequestMapping("/api/v1/restaurants")
 public class RestaurantController {
   private final RestaurantRepository repo;
-  public RestaurantController(RestaurantRepository repo){ this.repo = repo; }
+  private final CatalogVersionService catalogVersionService;
+  private final RestaurantScheduleService scheduleService;
+  private final MenuCatalogService menuCatalogService;
+  private final SearchService searchService;
+  private final TableCapacityLedger tableCapacityLedger;
+  public RestaurantController(RestaurantRepository repo, CatalogVersionService catalogVersionService,
+                              RestaurantScheduleService scheduleService, MenuCatalogService menuCatalogService,
+                              SearchService searchService, TableCapacityLedger tableCapacityLedger){
+    this.repo = repo;
+    this.catalogVersionService = catalogVersionService;
+    this.scheduleService = scheduleService;
+    this.menuCatalogService = menuCatalogService;
+    this.searchService = searchService;
+    this.tableCapacityLedger = tableCapacityLedger;
+  }
 
   @GetMapping
-  public List<RestaurantDto> list(){
-    return repo.findAll().stream().map(RestaurantMapper::toDto).toList();
+  public ResponseEntity<List<RestaurantDto>> list(WebRequest request){
+    return CatalogResponses.conditional(request, catalogVersionService.restaurantsEtag(), CatalogResponses.RESTAURANTS,
+        () -> repo.findAll().stream().map(RestaurantMapper::toDto).toList());
   }
 
   @GetMapping("/{id}")
@@ -29,6 +55,32 @@ public class RestaurantController {
         .orElse(ResponseEntity.notFound().build());
   }
   
+  /**
+   * État d'ouverture de tous les restaurants, maintenant ou à l'heure {@code at} (heure locale des restaurants)
+   */
+  @GetMapping("/opening")
+  public ResponseEntity<List<RestaurantOpeningDto>> opening(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at){
+    return ResponseEntity.ok(scheduleService.openingStatus(at));
+  }
+
+  @GetMapping("/{id}/opening")
+  public ResponseEntity<RestaurantOpeningDto> openingOne(@PathVariable Long id,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at){
+    return ResponseEntity.ok(scheduleService.openingStatus(id, at));
+  }
+
+  /**
+   * Restaurants ouverts, éventuellement limités à ceux qui servent un plat végétalien et/ou sans certains allergènes
+   */
+  @GetMapping("/open")
+  public ResponseEntity<List<RestaurantOpeningDto>> open(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+      @RequestParam(required = false) Boolean isVegan,
+      @RequestParam(required = false) List<Long> excludeAllergenIds){
+    return ResponseEntity.ok(scheduleService.openRestaurants(at, isVegan, excludeAllergenIds));
+  }
+
   @PostMapping
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<RestaurantDto> createRestaurant(@Valid @RequestBody RestaurantDto restaurantDto) {
@@ -39,8 +91,14 @@ public class RestaurantController {
         .city(restaurantDto.city())
         .phone(restaurantDto.phone())
         .email(restaurantDto.email())
+        .mondayThursdayHours(restaurantDto.mondayThursdayHours())
+        .fridayHours(restaurantDto.fridayHours())
+        .saturdayHours(restaurantDto.saturdayHours())
+        .sundayHours(restaurantDto.sundayHours())
         .build();
+    scheduleService.validate(restaurant);
     Restaurant savedRestaurant = repo.save(restaurant);
+    catalogVersionService.restaurantsChanged();
     return ResponseEntity.ok(toDto(savedRestaurant));
   }
   
@@ -49,13 +107,23 @@ public class RestaurantController {
   public ResponseEntity<RestaurantDto> updateRestaurant(@PathVariable Long id, @Valid @RequestBody RestaurantDto restaurantDto) {
     return repo.findById(id)
         .map(restaurant -> {
+          String previousCode = restaurant.getCode();
           restaurant.setName(restaurantDto.name());
           restaurant.setCode(restaurantDto.code());
           restaurant.setAddress(restaurantDto.address());
           restaurant.setCity(restaurantDto.city());
           restaurant.setPhone(restaurantDto.phone());
           restaurant.setEmail(restaurantDto.email());
+          restaurant.setMondayThursdayHours(restaurantDto.mondayThursdayHours());
+          restaurant.setFridayHours(restaurantDto.fridayHours());
+          restaurant.setSaturdayHours(restaurantDto.saturdayHours());
+          restaurant.setSundayHours(restaurantDto.sundayHours());
+          scheduleService.validate(restaurant);
           Restaurant updatedRestaurant = repo.save(restaurant);
+          // Le snapshot des menus est indexé par code restaurant : il est reconstruit avant l'incrément des ETags
+          menuCatalogService.refreshAfterCommit();
+          catalogVersionService.restaurantsChanged();
+          catalogVersionService.menusChanged(previousCode, updatedRestaurant.getCode());
           return ResponseEntity.ok(toDto(updatedRestaurant));
         })
         .orElse(ResponseEntity.notFound().build());
@@ -64,11 +132,22 @@ public class RestaurantController {
   @DeleteMapping("/{id}")
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<Void> deleteRestaurant(@PathVariable Long id) {
-    if (repo.existsById(id)) {
-      repo.deleteById(id);
-      return ResponseEntity.noContent().build();
-    }
-    return ResponseEntity.notFound().build();
+    return repo.findById(id)
+        .map(restaurant -> {
+          // Menus et plats sont supprimés en cascade par la base : on retire leurs plats de l'index de recherche
+          List<Long> menuItemIds = menuCatalogService.snapshot().menuItemsByRestaurantCode(restaurant.getCode()).stream()
+              .map(MenuItemDto::id)
+              .toList();
+          repo.delete(restaurant);
+          menuCatalogService.refreshAfterCommit();
+          searchService.removeMenuItems(menuItemIds);
+          // Les places réservées du restaurant sont supprimées en cascade avec lui
+          tableCapacityLedger.forget(restaurant.getId());
+          catalogVersionService.restaurantsChanged();
+          catalogVersionService.menusChanged(restaurant.getCode());
+          return ResponseEntity.noContent().<Void>build();
+        })
+        .orElse(ResponseEntity.notFound().build());
   }
 }
 
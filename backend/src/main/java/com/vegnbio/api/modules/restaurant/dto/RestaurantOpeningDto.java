@@ -0,0 +1,17 @@
+package com.vegnbio.api.modules.restaurant.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * État d'ouverture d'un restaurant à un instant donné.
+ * {@code opensAt} est renseigné quand le restaurant est fermé, {@code closesAt} quand il est ouvert ;
+ * tous deux sont {@code null} si l'échéance n'existe pas (jamais ouvert, ouvert en continu).
+ */
+public record RestaurantOpeningDto(
+  Long restaurantId,
+  String name,
+  String code,
+  boolean open,
+  LocalDateTime opensAt,
+  LocalDateTime closesAt
+) {}
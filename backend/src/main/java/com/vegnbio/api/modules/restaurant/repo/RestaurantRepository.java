@@ -7,6 +7,7 @@ import java.util.Optional;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
   Optional<Restaurant> findByCode(String code);
+  boolean existsByCode(String code);
 }
 
 
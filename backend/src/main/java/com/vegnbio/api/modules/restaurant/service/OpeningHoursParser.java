@@ -0,0 +1,71 @@
+package com.vegnbio.api.modules.restaurant.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lecture des horaires saisis en texte libre ("9h à 24h", "9h à 1h du matin", "12h-14h30, 19h-23h", "Fermé").
+ * Chaque plage est rendue en minutes depuis minuit ; une fin inférieure ou égale au début
+ * passe au lendemain (fin au-delà de 1440).
+ */
+final class OpeningHoursParser {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final Pattern SEPARATOR = Pattern.compile("\\s*(?:[,;/+]|\\bet\\b)\\s*");
+    private static final Pattern RANGE = Pattern.compile(
+            "(?:de\\s*)?(\\d{1,2})\\s*(?:h|:)\\s*(\\d{2})?\\s*(?:a|-|jusqu'a)\\s*(\\d{1,2})\\s*(?:h|:)?\\s*(\\d{2})?(?:\\s*du matin)?");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}");
+
+    private OpeningHoursParser() {}
+
+    /**
+     * Plages {@code [début, fin)} d'une journée ; vide si le texte est absent ou indique une fermeture.
+     *
+     * @throws IllegalArgumentException si une plage n'est pas reconnue
+     */
+    static List<int[]> parseDay(String hours) {
+        if (hours == null || hours.isBlank()) {
+            return List.of();
+        }
+        String text = normalize(hours);
+        if (text.startsWith("ferme") || text.startsWith("closed")) {
+            return List.of();
+        }
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : SEPARATOR.split(text)) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            Matcher matcher = RANGE.matcher(part);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid opening hours: " + hours);
+            }
+            int start = minutes(matcher.group(1), matcher.group(2), hours);
+            int end = minutes(matcher.group(3), matcher.group(4), hours);
+            if (end <= start) {
+                end += MINUTES_PER_DAY;
+            }
+            ranges.add(new int[]{start, end});
+        }
+        return ranges;
+    }
+
+    private static int minutes(String hour, String minute, String source) {
+        int h = Integer.parseInt(hour);
+        int m = minute != null ? Integer.parseInt(minute) : 0;
+        if (h > 24 || m > 59 || (h == 24 && m > 0)) {
+            throw new IllegalArgumentException("Invalid opening hours: " + source);
+        }
+        return h * 60 + m;
+    }
+
+    private static String normalize(String value) {
+        String text = Normalizer.normalize(value.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(text).replaceAll("").replace('–', '-').replaceAll("\\s+", " ");
+    }
+}
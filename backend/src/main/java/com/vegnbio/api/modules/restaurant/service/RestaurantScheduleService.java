@@ -0,0 +1,182 @@
+package com.vegnbio.api.modules.restaurant.service;
+
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.menu.service.MenuCatalogSnapshot;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
+import com.vegnbio.api.modules.restaurant.dto.RestaurantOpeningDto;
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Horaires d'ouverture de tous les restaurants, compilés en mémoire en {@link WeeklySchedule}.
+ * La table est reconstruite quand la version des restaurants ({@link CatalogVersionService}) change,
+ * c'est-à-dire après chaque création, modification ou suppression commitée.
+ * Les heures demandées sont exprimées dans le fuseau des restaurants.
+ */
+@Slf4j
+@Service
+public class RestaurantScheduleService {
+
+    private record Entry(Long id, String name, String code, WeeklySchedule schedule) {}
+
+    private record Schedules(String etag, List<Entry> entries) {}
+
+    private final RestaurantRepository restaurantRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final MenuCatalogService menuCatalogService;
+    private final ZoneId zone;
+
+    private volatile Schedules current;
+
+    public RestaurantScheduleService(RestaurantRepository restaurantRepository,
+                                     CatalogVersionService catalogVersionService,
+                                     MenuCatalogService menuCatalogService,
+                                     @Value("${app.restaurants.time-zone:Europe/Paris}") String zone) {
+        this.restaurantRepository = restaurantRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.menuCatalogService = menuCatalogService;
+        this.zone = ZoneId.of(zone);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            log.info("Opening hours compiled for {} restaurants", schedules().entries().size());
+        } catch (Exception e) {
+            log.warn("Failed to compile opening hours, they will be compiled on first read: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Vérifie que les horaires saisis sont reconnus, avant l'enregistrement du restaurant.
+     */
+    public void validate(Restaurant restaurant) {
+        try {
+            WeeklySchedule.of(restaurant);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    /**
+     * État d'ouverture de tous les restaurants à l'instant donné ({@code null} pour maintenant).
+     */
+    public List<RestaurantOpeningDto> openingStatus(LocalDateTime at) {
+        LocalDateTime time = minute(at);
+        return schedules().entries().stream()
+                .map(entry -> status(entry, time))
+                .toList();
+    }
+
+    public RestaurantOpeningDto openingStatus(Long restaurantId, LocalDateTime at) {
+        LocalDateTime time = minute(at);
+        return schedules().entries().stream()
+                .filter(entry -> entry.id().equals(restaurantId))
+                .findFirst()
+                .map(entry -> status(entry, time))
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+    }
+
+    /**
+     * Horaires compilés du restaurant (fermé en permanence si illisibles).
+     */
+    public WeeklySchedule schedule(Long restaurantId) {
+        return schedules().entries().stream()
+                .filter(entry -> entry.id().equals(restaurantId))
+                .findFirst()
+                .map(Entry::schedule)
+                .orElseThrow(() -> new RuntimeException("Restaurant not found"));
+    }
+
+    /**
+     * Restaurants ouverts à l'instant donné, restreints si demandé à ceux dont la carte propose
+     * au moins un plat correspondant aux critères (végétalien, sans certains allergènes).
+     */
+    public List<RestaurantOpeningDto> openRestaurants(LocalDateTime at, Boolean isVegan, Collection<Long> excludeAllergenIds) {
+        LocalDateTime time = minute(at);
+        int minuteOfWeek = WeeklySchedule.minuteOfWeek(time);
+        List<Entry> open = schedules().entries().stream()
+                .filter(entry -> entry.schedule().isOpen(minuteOfWeek))
+                .toList();
+
+        boolean filterDishes = isVegan != null || (excludeAllergenIds != null && !excludeAllergenIds.isEmpty());
+        if (filterDishes && !open.isEmpty()) {
+            MenuCatalogSnapshot catalog = menuCatalogService.snapshot();
+            Set<Long> matchingItems = catalog.filterIndex().filter(null, isVegan, null, null, excludeAllergenIds).stream()
+                    .map(MenuItemDto::id)
+                    .collect(Collectors.toSet());
+            open = open.stream()
+                    .filter(entry -> catalog.menuItemsByRestaurantId(entry.id()).stream()
+                            .anyMatch(item -> matchingItems.contains(item.id())))
+                    .toList();
+        }
+        return open.stream().map(entry -> status(entry, time)).toList();
+    }
+
+    private RestaurantOpeningDto status(Entry entry, LocalDateTime time) {
+        int minuteOfWeek = WeeklySchedule.minuteOfWeek(time);
+        WeeklySchedule schedule = entry.schedule();
+        boolean open = schedule.isOpen(minuteOfWeek);
+        int untilOpen = open ? -1 : schedule.minutesUntilOpen(minuteOfWeek);
+        int untilClose = open ? schedule.minutesUntilClose(minuteOfWeek) : -1;
+        return new RestaurantOpeningDto(
+                entry.id(),
+                entry.name(),
+                entry.code(),
+                open,
+                untilOpen > 0 ? time.plusMinutes(untilOpen) : null,
+                untilClose > 0 ? time.plusMinutes(untilClose) : null
+        );
+    }
+
+    private LocalDateTime minute(LocalDateTime at) {
+        return (at != null ? at : now()).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * Table compilée pour la version courante des restaurants, reconstruite si elle a changé.
+     * La version est lue avant le chargement : une écriture concurrente provoque une nouvelle compilation.
+     */
+    private Schedules schedules() {
+        Schedules schedules = current;
+        String etag = catalogVersionService.restaurantsEtag();
+        if (schedules != null && schedules.etag().equals(etag)) {
+            return schedules;
+        }
+        List<Entry> entries = restaurantRepository.findAll().stream()
+                .sorted(Comparator.comparing(Restaurant::getId))
+                .map(restaurant -> new Entry(restaurant.getId(), restaurant.getName(), restaurant.getCode(), compile(restaurant)))
+                .toList();
+        schedules = new Schedules(etag, entries);
+        current = schedules;
+        return schedules;
+    }
+
+    private static WeeklySchedule compile(Restaurant restaurant) {
+        try {
+            return WeeklySchedule.of(restaurant);
+        } catch (IllegalArgumentException e) {
+            log.warn("Restaurant {} has unreadable opening hours, treated as closed: {}", restaurant.getCode(), e.getMessage());
+            return WeeklySchedule.closed();
+        }
+    }
+}
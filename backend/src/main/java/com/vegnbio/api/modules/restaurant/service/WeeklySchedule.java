@@ -0,0 +1,159 @@
+package com.vegnbio.api.modules.restaurant.service;
+
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.vegnbio.api.modules.restaurant.service.OpeningHoursParser.MINUTES_PER_DAY;
+
+/**
+ * Horaires hebdomadaires compilés d'un restaurant : intervalles {@code [début, fin)} en minutes
+ * depuis lundi 0h, triés, fusionnés et sans chevauchement. Une plage qui déborde sur le lundi suivant
+ * est coupée en fin de semaine. Les requêtes se font par recherche dichotomique, sans allocation.
+ */
+public final class WeeklySchedule {
+
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final WeeklySchedule CLOSED = new WeeklySchedule(new int[0], new int[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+
+    private WeeklySchedule(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Compile les quatre champs d'horaires du restaurant (lundi-jeudi, vendredi, samedi, dimanche).
+     *
+     * @throws IllegalArgumentException si l'un des champs n'est pas reconnu
+     */
+    public static WeeklySchedule of(Restaurant restaurant) {
+        List<int[]> intervals = new ArrayList<>();
+        List<int[]> mondayThursday = OpeningHoursParser.parseDay(restaurant.getMondayThursdayHours());
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY)) {
+            add(intervals, day, mondayThursday);
+        }
+        add(intervals, DayOfWeek.FRIDAY, OpeningHoursParser.parseDay(restaurant.getFridayHours()));
+        add(intervals, DayOfWeek.SATURDAY, OpeningHoursParser.parseDay(restaurant.getSaturdayHours()));
+        add(intervals, DayOfWeek.SUNDAY, OpeningHoursParser.parseDay(restaurant.getSundayHours()));
+        return intervals.isEmpty() ? CLOSED : merge(intervals);
+    }
+
+    public static WeeklySchedule closed() {
+        return CLOSED;
+    }
+
+    private static void add(List<int[]> intervals, DayOfWeek day, List<int[]> ranges) {
+        int offset = (day.getValue() - 1) * MINUTES_PER_DAY;
+        for (int[] range : ranges) {
+            int start = offset + range[0];
+            int end = offset + range[1];
+            if (end > MINUTES_PER_WEEK) {
+                intervals.add(new int[]{start, MINUTES_PER_WEEK});
+                intervals.add(new int[]{0, end - MINUTES_PER_WEEK});
+            } else {
+                intervals.add(new int[]{start, end});
+            }
+        }
+    }
+
+    private static WeeklySchedule merge(List<int[]> intervals) {
+        intervals.sort(Comparator.comparingInt(interval -> interval[0]));
+        int[] starts = new int[intervals.size()];
+        int[] ends = new int[intervals.size()];
+        int count = 0;
+        for (int[] interval : intervals) {
+            if (count > 0 && interval[0] <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], interval[1]);
+            } else {
+                starts[count] = interval[0];
+                ends[count] = interval[1];
+                count++;
+            }
+        }
+        return new WeeklySchedule(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /**
+     * Minute de la semaine (depuis lundi 0h) d'une date-heure locale du restaurant.
+     */
+    public static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + time.getHour() * 60 + time.getMinute();
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public boolean isOpen(int minuteOfWeek) {
+        int index = intervalAt(minuteOfWeek);
+        return index >= 0 && minuteOfWeek < ends[index];
+    }
+
+    /**
+     * Ouvert à {@code minuteOfWeek} et pour au moins {@code minutes} minutes sans interruption.
+     */
+    public boolean isOpenFor(int minuteOfWeek, int minutes) {
+        int untilClose = minutesUntilClose(minuteOfWeek);
+        return untilClose == -1 || (untilClose > 0 && untilClose >= minutes);
+    }
+
+    /**
+     * Minutes avant la prochaine ouverture : 0 si ouvert, -1 si jamais ouvert.
+     */
+    public int minutesUntilOpen(int minuteOfWeek) {
+        if (isEmpty()) {
+            return -1;
+        }
+        int index = intervalAt(minuteOfWeek);
+        if (index >= 0 && minuteOfWeek < ends[index]) {
+            return 0;
+        }
+        int next = index + 1;
+        return next < starts.length ? starts[next] - minuteOfWeek : starts[0] + MINUTES_PER_WEEK - minuteOfWeek;
+    }
+
+    /**
+     * Minutes avant la fermeture : 0 si fermé, -1 si ouvert en continu.
+     */
+    public int minutesUntilClose(int minuteOfWeek) {
+        int index = intervalAt(minuteOfWeek);
+        if (index < 0 || minuteOfWeek >= ends[index]) {
+            return 0;
+        }
+        int remaining = ends[index] - minuteOfWeek;
+        // L'intervalle se poursuit sur la semaine suivante
+        if (ends[index] == MINUTES_PER_WEEK && starts[0] == 0) {
+            if (index == 0) {
+                return -1;
+            }
+            remaining += ends[0];
+        }
+        return remaining;
+    }
+
+    /**
+     * Indice du dernier intervalle commençant au plus tard à {@code minuteOfWeek}, -1 s'il n'y en a pas.
+     */
+    private int intervalAt(int minuteOfWeek) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= minuteOfWeek) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+}
@@ -1,16 +1,19 @@
 package com.vegnbio.api.modules.room.controller;
 
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.room.dto.*;
 import com.vegnbio.api.modules.room.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -118,6 +121,17 @@ public class RoomController {
         return ResponseEntity.ok(reservations);
     }
     
+    @GetMapping("/restaurant/{restaurantId}/reservations/page")
+    @Operation(summary = "Récupérer les réservations d'un restaurant, page par page (plus récentes d'abord)")
+    @PreAuthorize("hasRole('RESTAURATEUR') or hasRole('ADMIN')")
+    public ResponseEntity<KeysetPage<RoomReservationDto>> getRestaurantReservationPage(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        KeysetPage<RoomReservationDto> page = roomService.getRestaurantReservationPage(restaurantId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+    
     @GetMapping("/reservations/{reservationId}")
     @Operation(summary = "Récupérer les détails d'une réservation")
     public ResponseEntity<RoomReservationDto> getReservationById(@PathVariable Long reservationId) {
@@ -145,4 +159,30 @@ public class RoomController {
         List<RoomAvailabilityDto> availability = roomService.checkRoomAvailability(roomId, startTime, endTime);
         return ResponseEntity.ok(availability);
     }
+    
+    @GetMapping("/restaurant/{restaurantId}/free-slots")
+    @Operation(summary = "Créneaux libres de toutes les salles d'un restaurant pour une journée")
+    public ResponseEntity<List<RoomDayAvailabilityDto>> getRestaurantFreeSlots(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<RoomDayAvailabilityDto> availability = roomService.getRestaurantFreeSlots(restaurantId, date);
+        return ResponseEntity.ok(availability);
+    }
+    
+    @GetMapping("/restaurant/{restaurantId}/availability")
+    @Operation(summary = "Rechercher les créneaux libres des salles d'un restaurant (capacité, équipements)")
+    public ResponseEntity<List<RoomFreeWindowsDto>> searchRestaurantAvailability(
+            @PathVariable Long restaurantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer attendees,
+            @RequestParam(required = false) Boolean wifi,
+            @RequestParam(required = false) Boolean printer,
+            @RequestParam(required = false) Boolean projector,
+            @RequestParam(required = false) Boolean whiteboard,
+            @RequestParam(required = false) Integer minDurationMinutes) {
+        List<RoomFreeWindowsDto> availability = roomService.searchRestaurantAvailability(
+                restaurantId, from, to, attendees, wifi, printer, projector, whiteboard, minDurationMinutes);
+        return ResponseEntity.ok(availability);
+    }
 }
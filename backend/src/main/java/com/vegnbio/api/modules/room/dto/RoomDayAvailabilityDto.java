@@ -0,0 +1,13 @@
+package com.vegnbio.api.modules.room.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RoomDayAvailabilityDto(
+        Long roomId,
+        String roomName,
+        Integer capacity,
+        String status,
+        LocalDate date,
+        List<TimeSlotDto> freeSlots
+) {}
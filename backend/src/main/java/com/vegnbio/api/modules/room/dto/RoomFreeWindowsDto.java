@@ -0,0 +1,15 @@
+package com.vegnbio.api.modules.room.dto;
+
+import java.util.List;
+
+public record RoomFreeWindowsDto(
+        Long roomId,
+        String roomName,
+        Integer capacity,
+        Long hourlyRateCents,
+        Boolean hasWifi,
+        Boolean hasPrinter,
+        Boolean hasProjector,
+        Boolean hasWhiteboard,
+        List<TimeSlotDto> freeSlots
+) {}
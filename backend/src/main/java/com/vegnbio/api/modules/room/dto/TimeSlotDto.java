@@ -0,0 +1,8 @@
+package com.vegnbio.api.modules.room.dto;
+
+import java.time.LocalDateTime;
+
+public record TimeSlotDto(
+        LocalDateTime start,
+        LocalDateTime end
+) {}
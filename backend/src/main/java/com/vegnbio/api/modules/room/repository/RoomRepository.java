@@ -15,6 +15,8 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     List<Room> findByRestaurant(Restaurant restaurant);
     
+    List<Room> findByRestaurantIdOrderByIdAsc(Long restaurantId);
+    
     @Query("SELECT r FROM Room r WHERE r.restaurant.id = :restaurantId AND r.status = 'AVAILABLE'")
     List<Room> findAvailableRoomsByRestaurant(@Param("restaurantId") Long restaurantId);
     
@@ -2,6 +2,7 @@ package com.vegnbio.api.modules.room.repository;
 
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.room.entity.RoomReservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -33,9 +34,21 @@ public interface RoomReservationRepository extends JpaRepository<RoomReservation
                                                                @Param("endTime") LocalDateTime endTime,
                                                                @Param("excludeId") Long excludeId);
     
+    @Query("SELECT rr FROM RoomReservation rr WHERE rr.status IN ('PENDING', 'CONFIRMED')")
+    List<RoomReservation> findAllActiveReservations();
+    
     @Query("SELECT rr FROM RoomReservation rr WHERE rr.room.restaurant.id = :restaurantId AND rr.status IN ('PENDING', 'CONFIRMED')")
     List<RoomReservation> findActiveReservationsByRestaurant(@Param("restaurantId") Long restaurantId);
     
+    @Query("SELECT rr FROM RoomReservation rr JOIN FETCH rr.room r JOIN FETCH rr.user " +
+           "WHERE r.restaurant.id = :restaurantId AND rr.status IN ('PENDING', 'CONFIRMED') " +
+           "AND (rr.createdAt < :createdAt OR (rr.createdAt = :createdAt AND rr.id < :id)) " +
+           "ORDER BY rr.createdAt DESC, rr.id DESC")
+    List<RoomReservation> findActivePageByRestaurant(@Param("restaurantId") Long restaurantId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+    
     @Query("SELECT rr FROM RoomReservation rr WHERE rr.user.id = :userId AND rr.status IN ('PENDING', 'CONFIRMED')")
     List<RoomReservation> findActiveReservationsByUser(@Param("userId") Long userId);
 }
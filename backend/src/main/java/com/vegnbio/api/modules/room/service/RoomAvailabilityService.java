@@ -0,0 +1,154 @@
+package com.vegnbio.api.modules.room.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.room.dto.TimeSlotDto;
+import com.vegnbio.api.modules.room.entity.RoomReservation;
+import com.vegnbio.api.modules.room.repository.RoomReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Planning en mémoire des salles, source de vérité pour la détection des conflits de réservation.
+ * Un créneau est pris en mémoire avant le commit de la réservation (ce qui bloque les réservations
+ * concurrentes sur le même créneau) puis libéré si la transaction est annulée.
+ * Tous les plannings sont chargés ensemble au démarrage ; une salle absente n'a ensuite aucune réservation
+ * active et reçoit un planning vide, sans requête. Si le préchargement a échoué, il est refait au premier
+ * accès dans la transaction de l'appelant, sans ouvrir de seconde connexion.
+ */
+@Slf4j
+@Service
+public class RoomAvailabilityService {
+
+    private final RoomReservationRepository reservationRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final Map<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    // Vrai une fois toutes les réservations actives chargées
+    private volatile boolean loaded;
+
+    public RoomAvailabilityService(RoomReservationRepository reservationRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            loadAll();
+            log.info("Room timelines loaded for {} rooms", timelines.size());
+        } catch (Exception e) {
+            log.warn("Failed to preload room timelines, they will be loaded on first access: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Réserve le créneau pour la réservation (création ou changement d'horaire), de façon atomique.
+     * Après commit, l'éventuel ancien créneau de la réservation est libéré ; après rollback, le nouveau l'est.
+     */
+    public void hold(Long roomId, Long reservationId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new RuntimeException("Invalid time slot");
+        }
+        RoomTimeline timeline = timeline(roomId);
+        RoomTimeline.Slot slot = new RoomTimeline.Slot(reservationId, startTime, endTime);
+        if (!timeline.tryHold(slot)) {
+            throw new RuntimeException("Room is not available for the requested time slot");
+        }
+        AfterCommit.onRollback(() -> timeline.remove(slot));
+        AfterCommit.run(() -> timeline.keepOnly(slot));
+    }
+
+    /**
+     * Libère les créneaux de la réservation une fois l'annulation commitée.
+     */
+    public void release(Long roomId, Long reservationId) {
+        RoomTimeline timeline = timeline(roomId);
+        AfterCommit.run(() -> timeline.release(reservationId));
+    }
+
+    /**
+     * Oublie le planning d'une salle supprimée.
+     */
+    public void removeRoom(Long roomId) {
+        AfterCommit.run(() -> timelines.remove(roomId));
+    }
+
+    /**
+     * Vide tous les plannings après la suppression en masse des réservations.
+     */
+    public void clear() {
+        AfterCommit.run(timelines::clear);
+    }
+
+    public boolean isFree(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new RuntimeException("Invalid time slot");
+        }
+        return timeline(roomId).busyBetween(startTime, endTime).isEmpty();
+    }
+
+    /**
+     * Créneaux libres de la salle dans [from, to), en fusionnant les créneaux occupés.
+     */
+    public List<TimeSlotDto> freeSlots(Long roomId, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlotDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (RoomTimeline.Slot busy : timeline(roomId).busyBetween(from, to)) {
+            if (busy.start().isAfter(cursor)) {
+                free.add(new TimeSlotDto(cursor, busy.start()));
+            }
+            if (busy.end().isAfter(cursor)) {
+                cursor = busy.end();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new TimeSlotDto(cursor, to));
+        }
+        return free;
+    }
+
+    private RoomTimeline timeline(Long roomId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline != null) {
+            return timeline;
+        }
+        if (!loaded) {
+            loadAll();
+        }
+        return timelines.computeIfAbsent(roomId, id -> new RoomTimeline(List.of()));
+    }
+
+    /**
+     * Charge les plannings de toutes les salles en une requête. Les accès concurrents attendent la fin du chargement :
+     * aucune prise de créneau ne peut passer entre la lecture et la publication des plannings.
+     * Appelé dans une transaction, le chargement la rejoint (et voit ses propres réservations, ignorées par tryHold).
+     */
+    private synchronized void loadAll() {
+        if (loaded) {
+            return;
+        }
+        Map<Long, List<RoomTimeline.Slot>> slotsByRoom = readTransaction.execute(status ->
+                reservationRepository.findAllActiveReservations().stream()
+                        .collect(Collectors.groupingBy(r -> r.getRoom().getId(),
+                                Collectors.mapping(RoomAvailabilityService::toSlot, Collectors.toList()))));
+        slotsByRoom.forEach((roomId, slots) -> timelines.put(roomId, new RoomTimeline(slots)));
+        loaded = true;
+    }
+
+    private static RoomTimeline.Slot toSlot(RoomReservation reservation) {
+        return new RoomTimeline.Slot(reservation.getId(), reservation.getStartTime(), reservation.getEndTime());
+    }
+}
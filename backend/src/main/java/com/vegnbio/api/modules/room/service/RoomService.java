@@ -1,5 +1,7 @@
 package com.vegnbio.api.modules.room.service;
 
+import com.vegnbio.api.config.KeysetCursor;
+import com.vegnbio.api.config.KeysetPage;
 import com.vegnbio.api.modules.auth.entity.User;
 import com.vegnbio.api.modules.restaurant.entity.Restaurant;
 import com.vegnbio.api.modules.restaurant.repo.RestaurantRepository;
@@ -13,6 +15,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +30,9 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final RoomReservationRepository reservationRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RoomAvailabilityService roomAvailabilityService;
+    
+    private static final long MAX_SEARCH_RANGE_DAYS = 31;
     
     // === GESTION DES SALLES ===
     
@@ -109,6 +116,7 @@ public class RoomService {
         }
         
         roomRepository.delete(room);
+        roomAvailabilityService.removeRoom(roomId);
     }
     
     // === GESTION DES RÉSERVATIONS ===
@@ -117,14 +125,6 @@ public class RoomService {
         Room room = roomRepository.findById(request.getRoomId())
                 .orElseThrow(() -> new RuntimeException("Room not found"));
         
-        // Vérifier la disponibilité
-        List<RoomReservation> conflicts = reservationRepository.findConflictingReservations(
-                request.getRoomId(), request.getStartTime(), request.getEndTime());
-        
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("Room is not available for the requested time slot");
-        }
-        
         // Vérifier que la salle est disponible
         if (room.getStatus() != Room.RoomStatus.AVAILABLE) {
             throw new RuntimeException("Room is not available for reservations");
@@ -146,6 +146,9 @@ public class RoomService {
         reservation.setTotalPriceCents(reservation.calculateTotalPrice());
         
         reservation = reservationRepository.save(reservation);
+        
+        // Prise atomique du créneau dans le planning : en cas de conflit, l'insertion est annulée
+        roomAvailabilityService.hold(room.getId(), reservation.getId(), reservation.getStartTime(), reservation.getEndTime());
         return convertReservationToDto(reservation);
     }
     
@@ -158,17 +161,18 @@ public class RoomService {
             throw new RuntimeException("Unauthorized access to reservation");
         }
         
-        // Vérifier les conflits si les horaires changent
-        if (request.getStartTime() != null || request.getEndTime() != null) {
+        // Mettre à jour le planning si les horaires ou le statut changent
+        boolean wasActive = isActive(reservation.getStatus());
+        boolean active = request.getStatus() != null
+                ? isActive(RoomReservation.ReservationStatus.valueOf(request.getStatus()))
+                : wasActive;
+        boolean timesChanged = request.getStartTime() != null || request.getEndTime() != null;
+        if (active && (timesChanged || !wasActive)) {
             LocalDateTime startTime = request.getStartTime() != null ? request.getStartTime() : reservation.getStartTime();
             LocalDateTime endTime = request.getEndTime() != null ? request.getEndTime() : reservation.getEndTime();
-            
-            List<RoomReservation> conflicts = reservationRepository.findConflictingReservationsExcluding(
-                    reservation.getRoom().getId(), startTime, endTime, reservationId);
-            
-            if (!conflicts.isEmpty()) {
-                throw new RuntimeException("Room is not available for the requested time slot");
-            }
+            roomAvailabilityService.hold(reservation.getRoom().getId(), reservationId, startTime, endTime);
+        } else if (!active && wasActive) {
+            roomAvailabilityService.release(reservation.getRoom().getId(), reservationId);
         }
         
         if (request.getStartTime() != null) reservation.setStartTime(request.getStartTime());
@@ -212,6 +216,17 @@ public class RoomService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<RoomReservationDto> getRestaurantReservationPage(Long restaurantId, String cursor, Integer limit) {
+        int size = KeysetPage.clamp(limit);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<RoomReservation> reservations = reservationRepository.findActivePageByRestaurant(restaurantId,
+                position.createdAt(), position.id(), KeysetPage.request(size));
+        return KeysetPage.of(reservations, size,
+                reservation -> new KeysetCursor(reservation.getCreatedAt(), reservation.getId()),
+                this::convertReservationToDto);
+    }
+    
     public RoomReservationDto getReservationById(Long reservationId) {
         RoomReservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
@@ -230,6 +245,7 @@ public class RoomService {
         
         reservation.setStatus(RoomReservation.ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        roomAvailabilityService.release(reservation.getRoom().getId(), reservationId);
     }
     
     // === VÉRIFICATION DE DISPONIBILITÉ ===
@@ -238,20 +254,104 @@ public class RoomService {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("Room not found"));
         
-        List<RoomReservation> conflicts = reservationRepository.findConflictingReservations(roomId, startTime, endTime);
+        boolean free = roomAvailabilityService.isFree(roomId, startTime, endTime);
         
         RoomAvailabilityDto availability = RoomAvailabilityDto.builder()
                 .roomId(roomId)
                 .roomName(room.getName())
                 .startTime(startTime)
                 .endTime(endTime)
-                .available(conflicts.isEmpty() && room.getStatus() == Room.RoomStatus.AVAILABLE)
-                .reason(conflicts.isEmpty() ? null : "Room has conflicting reservations")
+                .available(free && room.getStatus() == Room.RoomStatus.AVAILABLE)
+                .reason(free ? null : "Room has conflicting reservations")
                 .build();
         
         return List.of(availability);
     }
     
+    /**
+     * Créneaux libres de toutes les salles d'un restaurant pour une journée, en une requête (les salles).
+     */
+    @Transactional(readOnly = true)
+    public List<RoomDayAvailabilityDto> getRestaurantFreeSlots(Long restaurantId, LocalDate date) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found");
+        }
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        
+        return roomRepository.findByRestaurantIdOrderByIdAsc(restaurantId).stream()
+                .map(room -> new RoomDayAvailabilityDto(
+                        room.getId(),
+                        room.getName(),
+                        room.getCapacity(),
+                        room.getStatus().name(),
+                        date,
+                        room.getStatus() == Room.RoomStatus.AVAILABLE
+                                ? roomAvailabilityService.freeSlots(room.getId(), dayStart, dayEnd)
+                                : List.of()
+                ))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Recherche groupée : salles réservables d'un restaurant qui accueillent {@code attendees} personnes
+     * et offrent les équipements demandés, avec leurs créneaux libres sur [from, to).
+     * Une seule requête (les salles) ; les créneaux sont calculés depuis le planning en mémoire.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomFreeWindowsDto> searchRestaurantAvailability(Long restaurantId, LocalDateTime from, LocalDateTime to,
+                                                                 Integer attendees, Boolean wifi, Boolean printer,
+                                                                 Boolean projector, Boolean whiteboard,
+                                                                 Integer minDurationMinutes) {
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        if (Duration.between(from, to).toDays() > MAX_SEARCH_RANGE_DAYS) {
+            throw new RuntimeException("Search range cannot exceed " + MAX_SEARCH_RANGE_DAYS + " days");
+        }
+        List<Room> rooms = roomRepository.findByRestaurantIdOrderByIdAsc(restaurantId);
+        if (rooms.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found");
+        }
+        Duration minDuration = Duration.ofMinutes(minDurationMinutes != null ? Math.max(minDurationMinutes, 0) : 0);
+        
+        return rooms.stream()
+                .filter(room -> room.getStatus() == Room.RoomStatus.AVAILABLE)
+                // Capacité inconnue : la salle n'est proposée que si aucun nombre de participants n'est demandé
+                .filter(room -> attendees == null || (room.getCapacity() != null && room.getCapacity() >= attendees))
+                .filter(room -> hasAmenity(wifi, room.getHasWifi())
+                        && hasAmenity(printer, room.getHasPrinter())
+                        && hasAmenity(projector, room.getHasProjector())
+                        && hasAmenity(whiteboard, room.getHasWhiteboard()))
+                .map(room -> new RoomFreeWindowsDto(
+                        room.getId(),
+                        room.getName(),
+                        room.getCapacity(),
+                        room.getHourlyRateCents(),
+                        room.getHasWifi(),
+                        room.getHasPrinter(),
+                        room.getHasProjector(),
+                        room.getHasWhiteboard(),
+                        roomAvailabilityService.freeSlots(room.getId(), from, to).stream()
+                                .filter(slot -> Duration.between(slot.start(), slot.end()).compareTo(minDuration) >= 0)
+                                .toList()
+                ))
+                .filter(room -> !room.freeSlots().isEmpty())
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Un équipement n'est exigé que si le filtre vaut {@code true}.
+     */
+    private static boolean hasAmenity(Boolean required, Boolean available) {
+        return !Boolean.TRUE.equals(required) || Boolean.TRUE.equals(available);
+    }
+    
+    private static boolean isActive(RoomReservation.ReservationStatus status) {
+        return status == RoomReservation.ReservationStatus.PENDING
+                || status == RoomReservation.ReservationStatus.CONFIRMED;
+    }
+    
     // === CONVERSION DTO ===
     
     private RoomDto convertRoomToDto(Room room) {
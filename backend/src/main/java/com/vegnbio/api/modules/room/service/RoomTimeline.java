@@ -0,0 +1,93 @@
+package com.vegnbio.api.modules.room.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Créneaux occupés (réservations PENDING/CONFIRMED) d'une salle, triés par heure de début.
+ * Les intervalles sont semi-ouverts [début, fin) : deux réservations bout à bout ne se chevauchent pas.
+ * Pendant une modification non commitée, une réservation occupe à la fois son ancien et son nouveau créneau.
+ * Les opérations sont synchronisées par salle : deux salles différentes ne se bloquent jamais.
+ */
+final class RoomTimeline {
+
+    record Slot(Long reservationId, LocalDateTime start, LocalDateTime end) {}
+
+    private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start)
+            .thenComparing(Slot::end)
+            .thenComparing(Slot::reservationId);
+
+    private final TreeSet<Slot> slots = new TreeSet<>(ORDER);
+    private Duration longestSlot = Duration.ZERO;
+
+    RoomTimeline(Collection<Slot> initialSlots) {
+        initialSlots.forEach(this::add);
+    }
+
+    /**
+     * Occupe le créneau s'il ne chevauche aucune autre réservation.
+     * Les créneaux existants peuvent se chevaucher entre eux (modification en cours, données historiques) :
+     * tous ceux qui commencent depuis {@code début - plus long créneau} sont examinés, comme dans {@link #busyBetween}.
+     * Les créneaux déjà tenus par la même réservation sont ignorés.
+     */
+    synchronized boolean tryHold(Slot slot) {
+        for (Slot other : slots.subSet(probe(slot.start().minus(longestSlot)), true, probe(slot.end()), false)) {
+            if (!other.reservationId().equals(slot.reservationId()) && other.end().isAfter(slot.start())) {
+                return false;
+            }
+        }
+        add(slot);
+        return true;
+    }
+
+    synchronized void remove(Slot slot) {
+        slots.remove(slot);
+    }
+
+    /**
+     * Ne garde que {@code kept} parmi les créneaux de sa réservation (validation d'une modification).
+     */
+    synchronized void keepOnly(Slot kept) {
+        slots.removeIf(slot -> slot.reservationId().equals(kept.reservationId()) && !slot.equals(kept));
+    }
+
+    synchronized void release(Long reservationId) {
+        slots.removeIf(slot -> slot.reservationId().equals(reservationId));
+    }
+
+    /**
+     * Créneaux occupés qui intersectent [from, to), triés par début.
+     */
+    synchronized List<Slot> busyBetween(LocalDateTime from, LocalDateTime to) {
+        List<Slot> busy = new ArrayList<>();
+        if (!to.isAfter(from)) {
+            return busy;
+        }
+        for (Slot slot : slots.subSet(probe(from.minus(longestSlot)), true, probe(to), false)) {
+            if (slot.end().isAfter(from)) {
+                busy.add(slot);
+            }
+        }
+        return busy;
+    }
+
+    private void add(Slot slot) {
+        slots.add(slot);
+        Duration duration = Duration.between(slot.start(), slot.end());
+        if (duration.compareTo(longestSlot) > 0) {
+            longestSlot = duration;
+        }
+    }
+
+    /**
+     * Borne de recherche placée avant tous les créneaux commençant à {@code start}.
+     */
+    private static Slot probe(LocalDateTime start) {
+        return new Slot(Long.MIN_VALUE, start, LocalDateTime.MIN);
+    }
+}
@@ -0,0 +1,43 @@
+package com.vegnbio.api.modules.search.controller;
+
+import com.vegnbio.api.modules.marketplace.dto.OfferDto;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.search.dto.SearchPageDto;
+import com.vegnbio.api.modules.search.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchService searchService;
+
+    /**
+     * Recherche paginée des plats (nom et description), tolérante aux accents et aux fautes de frappe
+     */
+    @GetMapping("/menu-items")
+    public ResponseEntity<SearchPageDto<MenuItemDto>> searchMenuItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(searchService.searchMenuItems(q, page, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Recherche paginée des offres publiées de la marketplace
+     */
+    @GetMapping("/offers")
+    public ResponseEntity<SearchPageDto<OfferDto>> searchOffers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(searchService.searchOffers(q, page, Math.min(size, MAX_PAGE_SIZE)));
+    }
+}
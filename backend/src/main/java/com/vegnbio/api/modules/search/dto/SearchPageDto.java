@@ -0,0 +1,11 @@
+package com.vegnbio.api.modules.search.dto;
+
+import java.util.List;
+
+public record SearchPageDto<T>(
+        List<T> items,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
@@ -0,0 +1,270 @@
+package com.vegnbio.api.modules.search.service;
+
+import com.vegnbio.api.modules.search.dto.SearchPageDto;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire, mis à jour document par document.
+ * Chaque terme de la requête peut correspondre exactement, par préfixe, par fragment (n-grammes)
+ * ou avec une faute de frappe ; un document doit correspondre à tous les termes de la requête.
+ * Les résultats sont classés par pertinence (poids du champ × qualité de la correspondance × idf).
+ */
+public final class SearchIndex<T> {
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.7;
+    private static final double INFIX_MATCH = 0.5;
+    private static final double FUZZY_MATCH = 0.4;
+    private static final int GRAM_SIZE = 3;
+
+    /**
+     * Champ indexé d'un document, avec son poids dans le score.
+     */
+    public record Field(String text, double weight) {}
+
+    private record Document<T>(T payload, Map<String, Double> termWeights) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document<T>> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    public void upsert(Long id, T payload, Field... fields) {
+        Map<String, Double> termWeights = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : TextNormalizer.tokenize(field.text())) {
+                termWeights.merge(token, field.weight(), Double::sum);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, new Document<>(payload, termWeights));
+            termWeights.forEach((term, weight) -> {
+                Map<Long, Double> posting = postings.get(term);
+                if (posting == null) {
+                    posting = new HashMap<>();
+                    postings.put(term, posting);
+                    grams(term, true).forEach(gram -> termsByGram.computeIfAbsent(gram, k -> new HashSet<>()).add(term));
+                }
+                posting.put(id, weight);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne tous les documents correspondants, du plus pertinent au moins pertinent.
+     */
+    public List<T> search(String query) {
+        lock.readLock().lock();
+        try {
+            return rank(query).stream().map(id -> documents.get(id).payload()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchPageDto<T> search(String query, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.max(size, 1);
+        lock.readLock().lock();
+        try {
+            List<Long> ranked = rank(query);
+            int from = (int) Math.min((long) safePage * safeSize, ranked.size());
+            int to = Math.min(from + safeSize, ranked.size());
+            List<T> items = ranked.subList(from, to).stream().map(id -> documents.get(id).payload()).toList();
+            int totalPages = (ranked.size() + safeSize - 1) / safeSize;
+            return new SearchPageDto<>(items, safePage, safeSize, ranked.size(), totalPages);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> rank(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || documents.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scores = null;
+        for (String token : tokens) {
+            Map<Long, Double> tokenScores = scoreToken(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + tokenScores.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Score de chaque document pour un terme de la requête : on retient la meilleure correspondance par document.
+     */
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        accumulate(scores, token, EXACT_MATCH);
+
+        if (token.length() >= 2) {
+            for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                accumulate(scores, term, PREFIX_MATCH);
+            }
+        }
+        if (token.length() >= GRAM_SIZE) {
+            for (String term : infixCandidates(token)) {
+                accumulate(scores, term, INFIX_MATCH);
+            }
+        }
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            for (String term : fuzzyCandidates(token, maxEdits)) {
+                accumulate(scores, term, FUZZY_MATCH);
+            }
+        }
+        return scores;
+    }
+
+    private void accumulate(Map<Long, Double> scores, String term, double matchQuality) {
+        Map<Long, Double> posting = postings.get(term);
+        if (posting == null) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) documents.size() / posting.size());
+        posting.forEach((id, weight) -> scores.merge(id, weight * matchQuality * idf, Math::max));
+    }
+
+    private Set<String> infixCandidates(String token) {
+        Set<String> candidates = null;
+        for (String gram : grams(token, false)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(terms);
+            } else {
+                candidates.retainAll(terms);
+            }
+        }
+        if (candidates == null) {
+            return Set.of();
+        }
+        candidates.removeIf(term -> term.startsWith(token) || !term.contains(token));
+        return candidates;
+    }
+
+    private Set<String> fuzzyCandidates(String token, int maxEdits) {
+        Set<String> candidates = new HashSet<>();
+        for (String gram : grams(token, true)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms != null) {
+                candidates.addAll(terms);
+            }
+        }
+        candidates.removeIf(term -> term.equals(token)
+                || Math.abs(term.length() - token.length()) > maxEdits
+                || editDistance(token, term, maxEdits) > maxEdits);
+        return candidates;
+    }
+
+    private void removeInternal(Long id) {
+        Document<T> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termWeights().keySet()) {
+            Map<Long, Double> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String gram : grams(term, true)) {
+                    Set<String> terms = termsByGram.get(gram);
+                    if (terms != null) {
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            termsByGram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Trigrammes d'un terme ; la version bornée (« ^term$ ») sert à l'index et à la tolérance aux fautes.
+     */
+    private static Set<String> grams(String term, boolean bounded) {
+        String text = bounded ? "^" + term + "$" : term;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * Distance de Damerau-Levenshtein (transpositions adjacentes), interrompue dès qu'elle dépasse {@code limit}.
+     */
+    private static int editDistance(String a, String b, int limit) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
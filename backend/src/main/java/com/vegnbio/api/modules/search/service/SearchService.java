@@ -0,0 +1,148 @@
+package com.vegnbio.api.modules.search.service;
+
+import com.vegnbio.api.config.AfterCommit;
+import com.vegnbio.api.modules.marketplace.OfferMapper;
+import com.vegnbio.api.modules.marketplace.dto.OfferDto;
+import com.vegnbio.api.modules.marketplace.entity.OfferStatus;
+import com.vegnbio.api.modules.marketplace.repo.OfferRepository;
+import com.vegnbio.api.modules.menu.dto.MenuItemDto;
+import com.vegnbio.api.modules.menu.service.MenuCatalogService;
+import com.vegnbio.api.modules.search.dto.SearchPageDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Recherche plein texte sur les plats et les offres publiées de la marketplace.
+ * Les index sont chargés au démarrage puis tenus à jour par les services d'écriture
+ * ({@code MenuItemService}, {@code MenuService}, {@code OfferService}, {@code SupplierService}).
+ * Un rechargement complet construit un nouvel index puis remplace la référence : les recherches
+ * concurrentes voient l'ancien index jusqu'au bout. Les écritures sont sérialisées par index
+ * pour qu'une mise à jour ne soit pas perdue pendant un rechargement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double TEXT_WEIGHT = 1.0;
+
+    private final MenuCatalogService menuCatalogService;
+    private final OfferRepository offerRepository;
+
+    private final Object menuItemWrites = new Object();
+    private final Object offerWrites = new Object();
+    private volatile SearchIndex<MenuItemDto> menuItemIndex = new SearchIndex<>();
+    private volatile SearchIndex<OfferDto> offerIndex = new SearchIndex<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexes() {
+        try {
+            loadMenuItems();
+            loadOffers();
+            log.info("Search indexes loaded: {} menu items, {} offers", menuItemIndex.size(), offerIndex.size());
+        } catch (Exception e) {
+            log.warn("Failed to build search indexes: {}", e.getMessage());
+        }
+    }
+
+    public SearchPageDto<MenuItemDto> searchMenuItems(String query, int page, int size) {
+        return menuItemIndex.search(query, page, size);
+    }
+
+    public List<MenuItemDto> searchMenuItems(String query) {
+        return menuItemIndex.search(query);
+    }
+
+    public SearchPageDto<OfferDto> searchOffers(String query, int page, int size) {
+        return offerIndex.search(query, page, size);
+    }
+
+    public List<OfferDto> searchOffers(String query) {
+        return offerIndex.search(query);
+    }
+
+    /**
+     * Recharge tout l'index des plats depuis le catalogue, après commit (import de données en masse).
+     */
+    public void reindexMenuItems() {
+        AfterCommit.run(this::loadMenuItems);
+    }
+
+    public void indexMenuItem(MenuItemDto menuItem) {
+        AfterCommit.run(() -> {
+            synchronized (menuItemWrites) {
+                putMenuItem(menuItemIndex, menuItem);
+            }
+        });
+    }
+
+    public void removeMenuItems(Collection<Long> menuItemIds) {
+        List<Long> ids = List.copyOf(menuItemIds);
+        AfterCommit.run(() -> {
+            synchronized (menuItemWrites) {
+                ids.forEach(menuItemIndex::remove);
+            }
+        });
+    }
+
+    /**
+     * Indexe l'offre si elle est publiée, la retire de l'index sinon.
+     */
+    public void indexOffer(OfferDto offer) {
+        AfterCommit.run(() -> {
+            synchronized (offerWrites) {
+                putOffer(offerIndex, offer);
+            }
+        });
+    }
+
+    public void removeOffer(Long offerId) {
+        AfterCommit.run(() -> {
+            synchronized (offerWrites) {
+                offerIndex.remove(offerId);
+            }
+        });
+    }
+
+    private void loadMenuItems() {
+        synchronized (menuItemWrites) {
+            SearchIndex<MenuItemDto> index = new SearchIndex<>();
+            menuCatalogService.snapshot().menuItems().forEach(menuItem -> putMenuItem(index, menuItem));
+            menuItemIndex = index;
+        }
+    }
+
+    private void loadOffers() {
+        synchronized (offerWrites) {
+            SearchIndex<OfferDto> index = new SearchIndex<>();
+            offerRepository.findPublishedOffers().stream().map(OfferMapper::toDto).forEach(offer -> putOffer(index, offer));
+            offerIndex = index;
+        }
+    }
+
+    private static void putMenuItem(SearchIndex<MenuItemDto> index, MenuItemDto menuItem) {
+        index.upsert(menuItem.id(), menuItem,
+                new SearchIndex.Field(menuItem.name(), TITLE_WEIGHT),
+                new SearchIndex.Field(menuItem.description(), TEXT_WEIGHT));
+    }
+
+    private static void putOffer(SearchIndex<OfferDto> index, OfferDto offer) {
+        if (offer.status() != OfferStatus.PUBLISHED) {
+            index.remove(offer.id());
+            return;
+        }
+        index.upsert(offer.id(), offer,
+                new SearchIndex.Field(offer.title(), TITLE_WEIGHT),
+                new SearchIndex.Field(offer.description(), TEXT_WEIGHT),
+                new SearchIndex.Field(offer.supplierName(), TEXT_WEIGHT));
+    }
+}
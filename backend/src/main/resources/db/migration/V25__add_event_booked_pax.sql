@@ -0,0 +1,9 @@
+-- Migration V25: Compteur de places réservées par événement
+-- Tenu à jour par des UPDATE conditionnels lors des réservations, pour éviter la survente
+
+ALTER TABLE events ADD COLUMN IF NOT EXISTS booked_pax INTEGER NOT NULL DEFAULT 0;
+
+UPDATE events e SET booked_pax = COALESCE((
+    SELECT SUM(b.pax) FROM bookings b
+    WHERE b.event_id = e.id AND b.status IN ('PENDING', 'CONFIRMED')
+), 0);
@@ -0,0 +1,23 @@
+-- Migration V26: Statistiques agrégées du chatbot
+-- Compteurs maintenus à chaque consultation enregistrée (TOTAL, BREED, SYMPTOM)
+
+CREATE TABLE IF NOT EXISTS chatbot_stat_counters (
+    id BIGSERIAL PRIMARY KEY,
+    kind VARCHAR(16) NOT NULL,
+    label VARCHAR(200) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    confidence_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT uk_chatbot_stat_counters UNIQUE (kind, label)
+);
+
+INSERT INTO chatbot_stat_counters (kind, label, count, confidence_sum)
+SELECT 'TOTAL', '', COUNT(*), COALESCE(SUM(confidence), 0) FROM veterinary_consultations
+ON CONFLICT (kind, label) DO NOTHING;
+
+INSERT INTO chatbot_stat_counters (kind, label, count)
+SELECT 'BREED', animal_breed, COUNT(*) FROM veterinary_consultations GROUP BY animal_breed
+ON CONFLICT (kind, label) DO NOTHING;
+
+INSERT INTO chatbot_stat_counters (kind, label, count)
+SELECT 'SYMPTOM', symptom, COUNT(*) FROM consultation_symptoms GROUP BY symptom
+ON CONFLICT (kind, label) DO NOTHING;
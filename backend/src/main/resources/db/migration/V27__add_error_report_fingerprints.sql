@@ -0,0 +1,18 @@
+-- Migration V27: Déduplication des rapports d'erreur
+-- Une ligne par empreinte (type + url + trace normalisés) avec nombre d'occurrences et première/dernière apparition
+
+ALTER TABLE error_reports
+ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64),
+ADD COLUMN IF NOT EXISTS occurrence_count BIGINT NOT NULL DEFAULT 1,
+ADD COLUMN IF NOT EXISTS first_seen TIMESTAMP,
+ADD COLUMN IF NOT EXISTS last_seen TIMESTAMP;
+
+UPDATE error_reports
+SET first_seen = COALESCE(first_seen, created_at),
+    last_seen = COALESCE(last_seen, created_at);
+
+-- La normalisation est faite côté application : les rapports existants gardent chacun leur ligne
+UPDATE error_reports SET fingerprint = 'legacy-' || id WHERE fingerprint IS NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_error_reports_fingerprint ON error_reports(fingerprint);
+CREATE INDEX IF NOT EXISTS idx_error_reports_last_seen ON error_reports(last_seen DESC);
@@ -0,0 +1,37 @@
+-- Migration V28: Agrégats des rapports d'erreur par minute et par heure
+-- Occurrences par sévérité et type d'erreur, entrées dans un statut, et total
+
+CREATE TABLE IF NOT EXISTS error_report_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    granularity VARCHAR(8) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    dimension VARCHAR(16) NOT NULL,
+    label VARCHAR(100) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_error_report_rollups UNIQUE (granularity, dimension, bucket_start, label)
+);
+
+INSERT INTO error_report_rollups (granularity, bucket_start, dimension, label, count)
+SELECT g.granularity, date_trunc(g.unit, er.created_at), 'TOTAL', '', SUM(er.occurrence_count)
+FROM error_reports er CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour')) AS g(granularity, unit)
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
+
+INSERT INTO error_report_rollups (granularity, bucket_start, dimension, label, count)
+SELECT g.granularity, date_trunc(g.unit, er.created_at), 'SEVERITY', COALESCE(er.severity, 'UNKNOWN'), SUM(er.occurrence_count)
+FROM error_reports er CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour')) AS g(granularity, unit)
+GROUP BY 1, 2, 4
+ON CONFLICT DO NOTHING;
+
+INSERT INTO error_report_rollups (granularity, bucket_start, dimension, label, count)
+SELECT g.granularity, date_trunc(g.unit, er.created_at), 'TYPE', LEFT(COALESCE(er.error_type, 'UNKNOWN'), 100), SUM(er.occurrence_count)
+FROM error_reports er CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour')) AS g(granularity, unit)
+GROUP BY 1, 2, 4
+ON CONFLICT DO NOTHING;
+
+-- Chaque rapport existant est entré dans le statut OPEN à sa création
+INSERT INTO error_report_rollups (granularity, bucket_start, dimension, label, count)
+SELECT g.granularity, date_trunc(g.unit, er.created_at), 'STATUS', 'OPEN', COUNT(*)
+FROM error_reports er CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour')) AS g(granularity, unit)
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,9 @@
+-- Migration V29: Index de pagination par curseur
+-- Listes triées par (date de création, id) décroissants, filtrées par restaurant ou utilisateur
+
+CREATE INDEX IF NOT EXISTS idx_error_reports_keyset ON error_reports(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tickets_restaurant_keyset ON tickets(restaurant_id, opened_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_event_keyset ON bookings(event_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_keyset ON reviews(restaurant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_room_reservations_room_keyset ON room_reservations(room_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_veterinary_consultations_user_keyset ON veterinary_consultations(user_id, created_at DESC, id DESC);
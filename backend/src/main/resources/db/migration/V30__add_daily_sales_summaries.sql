@@ -0,0 +1,38 @@
+-- Migration V30: Agrégats de ventes journaliers de la caisse
+-- Alimentés à la clôture de chaque ticket ; les tickets déjà clos sont repris ci-dessous
+
+CREATE TABLE IF NOT EXISTS daily_sales (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL REFERENCES restaurants(id) ON DELETE CASCADE,
+    sales_date DATE NOT NULL,
+    ticket_count BIGINT NOT NULL DEFAULT 0,
+    revenue_cents BIGINT NOT NULL DEFAULT 0,
+    items_sold BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_daily_sales UNIQUE (restaurant_id, sales_date)
+);
+
+CREATE TABLE IF NOT EXISTS daily_item_sales (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL REFERENCES restaurants(id) ON DELETE CASCADE,
+    sales_date DATE NOT NULL,
+    menu_item_id BIGINT NOT NULL REFERENCES menu_items(id) ON DELETE CASCADE,
+    ticket_count BIGINT NOT NULL DEFAULT 0,
+    quantity BIGINT NOT NULL DEFAULT 0,
+    revenue_cents BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_daily_item_sales UNIQUE (restaurant_id, sales_date, menu_item_id)
+);
+
+INSERT INTO daily_sales (restaurant_id, sales_date, ticket_count, revenue_cents, items_sold)
+SELECT t.restaurant_id, CAST(t.closed_at AS DATE), COUNT(*), SUM(t.total_cents),
+       SUM((SELECT COALESCE(SUM(l.qty), 0) FROM ticket_lines l WHERE l.ticket_id = t.id))
+FROM tickets t
+WHERE t.status = 'CLOSED' AND t.closed_at IS NOT NULL
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
+
+INSERT INTO daily_item_sales (restaurant_id, sales_date, menu_item_id, ticket_count, quantity, revenue_cents)
+SELECT t.restaurant_id, CAST(t.closed_at AS DATE), l.menu_item_id, COUNT(DISTINCT t.id), SUM(l.qty), SUM(l.line_total_cents)
+FROM tickets t JOIN ticket_lines l ON l.ticket_id = t.id
+WHERE t.status = 'CLOSED' AND t.closed_at IS NOT NULL
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
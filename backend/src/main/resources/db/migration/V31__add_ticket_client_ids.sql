@@ -0,0 +1,7 @@
+-- Migration V31: Identifiant attribué par la caisse aux tickets saisis hors ligne
+-- Unique par restaurant : une synchronisation rejouée ne crée pas de doublon
+
+ALTER TABLE tickets ADD COLUMN IF NOT EXISTS client_ticket_id VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tickets_client_ticket_id
+    ON tickets(restaurant_id, client_ticket_id) WHERE client_ticket_id IS NOT NULL;
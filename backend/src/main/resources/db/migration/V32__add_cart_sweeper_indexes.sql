@@ -0,0 +1,8 @@
+-- Migration V32: Index du balayage des paniers inactifs
+-- Paniers actifs par dernière activité, paniers abandonnés par date d'abandon
+
+CREATE INDEX IF NOT EXISTS idx_carts_active_last_activity
+    ON carts ((COALESCE(updated_at, created_at)), id) WHERE status = 'ACTIVE';
+
+CREATE INDEX IF NOT EXISTS idx_carts_abandoned_last_activity
+    ON carts ((COALESCE(updated_at, created_at)), id) WHERE status = 'ABANDONED';
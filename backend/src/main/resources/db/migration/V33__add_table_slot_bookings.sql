@@ -0,0 +1,14 @@
+-- Migration V33: Places réservées par créneau pour les réservations de tables
+-- Compteur par restaurant, jour et début de créneau, reconstruit au démarrage à partir des réservations actives
+
+CREATE TABLE IF NOT EXISTS table_slot_bookings (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id BIGINT NOT NULL REFERENCES restaurants(id) ON DELETE CASCADE,
+    slot_date DATE NOT NULL,
+    slot_start TIME NOT NULL,
+    booked_seats INT NOT NULL DEFAULT 0 CHECK (booked_seats >= 0),
+    CONSTRAINT uk_table_slot_bookings UNIQUE (restaurant_id, slot_date, slot_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_table_active
+    ON reservations(reservation_date, restaurant_id) WHERE event_id IS NULL AND status IN ('PENDING', 'CONFIRMED');
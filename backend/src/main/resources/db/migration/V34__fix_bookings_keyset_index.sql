@@ -0,0 +1,7 @@
+-- Migration V34: Index de pagination des réservations d'événements par restaurant
+-- La liste filtre sur events.restaurant_id et trie sur bookings(created_at, id) : l'index V29 mené par event_id
+-- ne sert pas ce tri. Le parcours suit l'index de tri et vérifie le restaurant par l'index des événements.
+-- idx_bookings_event_keyset reste utile pour les listes par événement.
+
+CREATE INDEX IF NOT EXISTS idx_bookings_keyset ON bookings(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_events_restaurant ON events(restaurant_id, id);
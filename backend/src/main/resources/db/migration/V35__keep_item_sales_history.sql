@@ -0,0 +1,13 @@
+-- Migration V35: Historique des ventes par plat conservé après suppression du plat
+-- Le nom du plat est recopié dans l'agrégat ; la suppression d'un plat détache ses lignes au lieu de les effacer
+
+ALTER TABLE daily_item_sales ADD COLUMN IF NOT EXISTS menu_item_name VARCHAR(190);
+
+UPDATE daily_item_sales s SET menu_item_name = m.name
+FROM menu_items m
+WHERE m.id = s.menu_item_id AND s.menu_item_name IS NULL;
+
+ALTER TABLE daily_item_sales ALTER COLUMN menu_item_id DROP NOT NULL;
+ALTER TABLE daily_item_sales DROP CONSTRAINT IF EXISTS daily_item_sales_menu_item_id_fkey;
+ALTER TABLE daily_item_sales ADD CONSTRAINT daily_item_sales_menu_item_id_fkey
+    FOREIGN KEY (menu_item_id) REFERENCES menu_items(id) ON DELETE SET NULL;
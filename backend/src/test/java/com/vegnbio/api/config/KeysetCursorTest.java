@@ -0,0 +1,70 @@
+package com.vegnbio.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 3, 2, 12, 30, 15, 123_456_000), 42);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new KeysetCursor(LocalDateTime.of(2026, 3, 2, 12, 30), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorIsFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isEqualTo(KeysetCursor.FIRST);
+        assertThat(KeysetCursor.decode("  ")).isEqualTo(KeysetCursor.FIRST);
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        List<String> tampered = List.of(
+                "not base64 !",
+                base64("2026-03-02T12:30"),
+                base64("2026-03-02T12:30|abc"),
+                base64("yesterday|42"),
+                base64("|42"),
+                base64("2026-03-02T12:30|"));
+
+        for (String cursor : tampered) {
+            assertThatThrownBy(() -> KeysetCursor.decode(cursor))
+                    .as(cursor)
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void pageCursorPointsAtLastReturnedRow() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 2, 12, 0);
+        List<KeysetCursor> rows = List.of(new KeysetCursor(now, 3), new KeysetCursor(now, 2), new KeysetCursor(now, 1));
+
+        KeysetPage<KeysetCursor> page = KeysetPage.of(rows, 2, Function.identity(), Function.identity());
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.hasMore()).isTrue();
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(rows.get(1));
+        assertThat(KeysetPage.of(rows, 3, Function.identity(), Function.identity()).nextCursor()).isNull();
+    }
+}
@@ -0,0 +1,110 @@
+package com.vegnbio.api.modules.cart.service;
+
+import com.vegnbio.api.modules.cart.entity.Cart;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartSessionTest {
+
+    private final AtomicLong ids = new AtomicLong(100);
+    private final LongSupplier nextId = ids::incrementAndGet;
+
+    private void add(CartSession session, long menuItemId, int quantity) {
+        session.add(menuItemId, "Plat " + menuItemId, null, 1200, quantity, null, nextId);
+    }
+
+    @Test
+    void newCartIsWrittenOnceThenClean() {
+        CartSession session = CartSession.create(1, 7L);
+
+        CartSession.Changes changes = session.takeChanges();
+
+        assertThat(changes.cart().id()).isEqualTo(1);
+        assertThat(changes.cart().status()).isEqualTo("ACTIVE");
+        assertThat(session.hasChanges()).isFalse();
+        assertThat(session.takeChanges()).isNull();
+    }
+
+    @Test
+    void sameDishIsMergedIntoOneLine() {
+        CartSession session = CartSession.create(1, 7L);
+        add(session, 10, 1);
+        add(session, 10, 2);
+
+        CartSession.Changes changes = session.takeChanges();
+
+        assertThat(changes.upserts()).singleElement()
+                .satisfies(row -> assertThat(row.quantity()).isEqualTo(3));
+        assertThat(session.toDto().getTotalPriceCents()).isEqualTo(3600);
+    }
+
+    @Test
+    void removedLineIsDeletedNotUpserted() {
+        CartSession session = CartSession.create(1, 7L);
+        add(session, 10, 1);
+        long itemId = session.takeChanges().upserts().get(0).id();
+
+        session.update(itemId, 4, "sans sel");
+        session.remove(itemId);
+        CartSession.Changes changes = session.takeChanges();
+
+        assertThat(changes.upserts()).isEmpty();
+        assertThat(changes.deletes()).containsExactly(itemId);
+    }
+
+    @Test
+    void failedWriteIsRestoredExceptLinesRemovedMeanwhile() {
+        CartSession session = CartSession.create(1, 7L);
+        add(session, 10, 1);
+        add(session, 11, 1);
+        CartSession.Changes failed = session.takeChanges();
+        long removed = failed.upserts().get(0).id();
+        long kept = failed.upserts().get(1).id();
+
+        session.remove(removed);
+        assertThat(session.restore(failed)).isEqualTo(1);
+        CartSession.Changes retry = session.takeChanges();
+
+        assertThat(retry.upserts()).extracting(CartSession.ItemRow::id).containsExactly(kept);
+        assertThat(retry.deletes()).containsExactly(removed);
+        assertThat(session.restore(retry)).isEqualTo(2);
+        session.written();
+        assertThat(session.restore(session.takeChanges())).isEqualTo(1);
+    }
+
+    @Test
+    void closedCartRejectsChangesAndKeepsStatusToWrite() {
+        CartSession session = CartSession.create(1, 7L);
+        add(session, 10, 1);
+        session.takeChanges();
+
+        session.close(Cart.CartStatus.ABANDONED);
+
+        assertThat(session.isClosed()).isTrue();
+        assertThatThrownBy(() -> add(session, 11, 1)).hasMessage("No active cart found");
+        assertThatThrownBy(session::clear).hasMessage("No active cart found");
+        assertThatThrownBy(() -> session.close(Cart.CartStatus.ABANDONED)).hasMessage("No active cart found");
+        CartSession.Changes changes = session.takeChanges();
+        assertThat(changes.cart().status()).isEqualTo("ABANDONED");
+        assertThat(changes.upserts()).isEmpty();
+    }
+
+    @Test
+    void sealedCartRejectsChangesUntilReopened() {
+        CartSession session = CartSession.create(1, 7L);
+        add(session, 10, 1);
+
+        session.seal();
+
+        assertThatThrownBy(() -> add(session, 11, 1)).hasMessage("No active cart found");
+        assertThat(session.takeChanges().cart().status()).isEqualTo("ACTIVE");
+        session.reopen();
+        add(session, 11, 1);
+        assertThat(session.takeChanges().upserts()).hasSize(1);
+    }
+}
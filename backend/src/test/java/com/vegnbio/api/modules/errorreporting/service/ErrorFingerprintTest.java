@@ -0,0 +1,51 @@
+package com.vegnbio.api.modules.errorreporting.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorFingerprintTest {
+
+    @Test
+    void urlDropsHostQueryAndIds() {
+        assertThat(ErrorFingerprint.normalizeUrl("https://app.vegnbio.fr/Restaurants/12/menus/7?tab=2#top"))
+                .isEqualTo("/restaurants/{id}/menus/{id}");
+        assertThat(ErrorFingerprint.normalizeUrl("/orders/3f2b8c1e-1a2b-4c3d-9e8f-0123456789ab"))
+                .isEqualTo("/orders/{id}");
+        assertThat(ErrorFingerprint.normalizeUrl(null)).isEmpty();
+    }
+
+    @Test
+    void stackTraceIgnoresLineNumbersBundleHashAndAddresses() {
+        String first = "TypeError: x is undefined\n  at render (https://cdn.vegnbio.fr/main.a1b2c3d4.js:10:42)\n  at 0x7ffde1";
+        String second = "TypeError: x is undefined\n  at render (https://other.host/main.99ffee00.js:11:7)\n  at 0x1234";
+
+        assertThat(ErrorFingerprint.normalizeStackTrace(first))
+                .isEqualTo(ErrorFingerprint.normalizeStackTrace(second))
+                .isEqualTo("TypeError: x is undefined\nat render (/main.js)\nat 0x");
+    }
+
+    @Test
+    void stackTraceKeepsOnlyFirstFrames() {
+        String trace = "frame\n".repeat(50);
+
+        assertThat(ErrorFingerprint.normalizeStackTrace(trace).lines()).hasSize(20);
+    }
+
+    @Test
+    void sameBugFromDifferentOccurrencesSharesFingerprint() {
+        String first = ErrorFingerprint.of("TypeError ", "https://a.fr/menus/1?x=1", "at f (main.abcdef12.js:1:2)");
+        String second = ErrorFingerprint.of("typeerror", "http://b.fr/menus/42", "at f (main.12345678.js:9:9)");
+
+        assertThat(first).isEqualTo(second).hasSize(64);
+    }
+
+    @Test
+    void differentBugsDoNotCollide() {
+        String base = ErrorFingerprint.of("TypeError", "/menus", "at f (main.js)");
+
+        assertThat(ErrorFingerprint.of("RangeError", "/menus", "at f (main.js)")).isNotEqualTo(base);
+        assertThat(ErrorFingerprint.of("TypeError", "/orders", "at f (main.js)")).isNotEqualTo(base);
+        assertThat(ErrorFingerprint.of("TypeError", "/menus", "at g (main.js)")).isNotEqualTo(base);
+    }
+}
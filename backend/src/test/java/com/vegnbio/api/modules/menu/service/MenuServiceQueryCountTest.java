@@ -0,0 +1,147 @@
+package com.vegnbio.api.modules.menu.service;
+
+import com.vegnbio.api.modules.allergen.entity.Allergen;
+import com.vegnbio.api.modules.catalog.service.CatalogVersionService;
+import com.vegnbio.api.modules.menu.dto.MenuDto;
+import com.vegnbio.api.modules.menu.entity.Menu;
+import com.vegnbio.api.modules.menu.entity.MenuItem;
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+import com.vegnbio.api.modules.search.service.SearchService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budgets de requêtes SQL des lectures de menus : le nombre de requêtes ne doit pas dépendre
+ * du nombre de menus, de plats ni d'allergènes (pas de N+1).
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(MenuService.class)
+class MenuServiceQueryCountTest {
+
+    /** Menus + plats/allergènes + vérification d'existence du restaurant si aucun menu */
+    private static final int MENU_LIST_BUDGET = 3;
+    /** Menu + plats/allergènes */
+    private static final int MENU_DETAIL_BUDGET = 2;
+
+    private static final int MENUS = 4;
+    private static final int ITEMS_PER_MENU = 5;
+
+    @Autowired
+    private MenuService menuService;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private MenuCatalogService menuCatalogService;
+    @MockBean
+    private SearchService searchService;
+    @MockBean
+    private CatalogVersionService catalogVersionService;
+
+    private Restaurant restaurant;
+    private Long firstMenuId;
+
+    @BeforeEach
+    void setUp() {
+        List<Allergen> allergens = List.of(
+                entityManager.persist(Allergen.builder().code("GLUTEN").label("Gluten").build()),
+                entityManager.persist(Allergen.builder().code("SOJA").label("Soja").build()));
+        restaurant = entityManager.persist(Restaurant.builder().name("Bastille").code("BAS").build());
+        for (int m = 0; m < MENUS; m++) {
+            Menu menu = entityManager.persist(Menu.builder()
+                    .restaurant(restaurant)
+                    .title("Menu " + m)
+                    .activeFrom(LocalDate.now().minusDays(1))
+                    .build());
+            if (firstMenuId == null) {
+                firstMenuId = menu.getId();
+            }
+            for (int i = 0; i < ITEMS_PER_MENU; i++) {
+                entityManager.persist(MenuItem.builder()
+                        .menu(menu)
+                        .name("Plat " + m + "-" + i)
+                        .priceCents(1000 + i)
+                        .isVegan(i % 2 == 0)
+                        .allergens(allergens)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllMenusStaysWithinBudget() {
+        List<MenuDto> menus = countStatements(MENU_LIST_BUDGET, () -> menuService.getAllMenus());
+
+        assertThat(menus).hasSize(MENUS);
+        assertThat(menus).allSatisfy(menu -> assertThat(menu.menuItems()).hasSize(ITEMS_PER_MENU)
+                .allSatisfy(item -> assertThat(item.allergens()).hasSize(2)));
+    }
+
+    @Test
+    void getMenusByRestaurantStaysWithinBudget() {
+        List<MenuDto> menus = countStatements(MENU_LIST_BUDGET, () -> menuService.getMenusByRestaurant(restaurant.getId()));
+
+        assertThat(menus).hasSize(MENUS);
+    }
+
+    @Test
+    void getMenusByRestaurantCodeStaysWithinBudget() {
+        List<MenuDto> menus = countStatements(MENU_LIST_BUDGET, () -> menuService.getMenusByRestaurantCode("BAS"));
+
+        assertThat(menus).hasSize(MENUS);
+    }
+
+    @Test
+    void getMenusByRestaurantAndDateStaysWithinBudget() {
+        List<MenuDto> menus = countStatements(MENU_LIST_BUDGET,
+                () -> menuService.getMenusByRestaurantAndDate(restaurant.getId(), LocalDate.now()));
+
+        assertThat(menus).hasSize(MENUS);
+    }
+
+    @Test
+    void getMenuByIdStaysWithinBudget() {
+        MenuDto menu = countStatements(MENU_DETAIL_BUDGET, () -> menuService.getMenuById(firstMenuId));
+
+        assertThat(menu.menuItems()).hasSize(ITEMS_PER_MENU);
+    }
+
+    @Test
+    void emptyRestaurantCostsOneExistenceCheck() {
+        Restaurant empty = entityManager.persistFlushFind(Restaurant.builder().name("Vide").code("VID").build());
+        entityManager.clear();
+
+        List<MenuDto> menus = countStatements(2, () -> menuService.getMenusByRestaurant(empty.getId()));
+
+        assertThat(menus).isEmpty();
+    }
+
+    private <T> T countStatements(int budget, Supplier<T> work) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = work.get();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements")
+                .isLessThanOrEqualTo(budget);
+        return result;
+    }
+}
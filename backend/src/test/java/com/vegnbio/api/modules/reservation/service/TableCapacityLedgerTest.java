@@ -0,0 +1,138 @@
+package com.vegnbio.api.modules.reservation.service;
+
+import com.vegnbio.api.modules.reservation.dto.TableSlotDto;
+import com.vegnbio.api.modules.reservation.repo.ReservationRepository;
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+import com.vegnbio.api.modules.restaurant.service.RestaurantScheduleService;
+import com.vegnbio.api.modules.restaurant.service.WeeklySchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TableCapacityLedgerTest {
+
+    private static final long RESTAURANT = 1L;
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+    private static final WeeklySchedule ALWAYS_OPEN = schedule("0h à 24h");
+
+    // Upserts conditionnels acceptés, aucune ligne relue en base : seul le compteur en mémoire décide
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class, invocation ->
+            invocation.getMethod().getReturnType() == int.class ? 1 : Answers.RETURNS_DEFAULTS.answer(invocation));
+    private final RestaurantScheduleService scheduleService = mock(RestaurantScheduleService.class);
+    private final TableCapacityLedger ledger = new TableCapacityLedger(mock(ReservationRepository.class), jdbcTemplate,
+            scheduleService, mock(PlatformTransactionManager.class), 30, 90, 30);
+
+    @BeforeEach
+    void setUp() {
+        when(scheduleService.now()).thenAnswer(invocation -> LocalDateTime.now());
+    }
+
+    private static WeeklySchedule schedule(String hours) {
+        return WeeklySchedule.of(Restaurant.builder()
+                .mondayThursdayHours(hours)
+                .fridayHours(hours)
+                .saturdayHours(hours)
+                .sundayHours(hours)
+                .build());
+    }
+
+    private Integer freeSeatsAt(LocalTime start, int capacity) {
+        return ledger.freeSlots(RESTAURANT, capacity, ALWAYS_OPEN, DAY, 1).stream()
+                .filter(slot -> slot.start().equals(start))
+                .map(TableSlotDto::freeSeats)
+                .findFirst()
+                .orElse(0);
+    }
+
+    @Test
+    void overlappingReservationsExhaustCapacity() {
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(12, 0), 6);
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(12, 30), 4);
+
+        assertThatThrownBy(() -> ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(13, 0), 1))
+                .hasMessage("No table available for this time slot");
+        // 14h00 ne chevauche plus la réservation de 12h00
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(14, 0), 6);
+    }
+
+    @Test
+    void refusedReservationGivesBackPartiallyTakenSlots() {
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(12, 30), 10);
+
+        assertThatThrownBy(() -> ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(11, 30), 2))
+                .hasMessage("No table available for this time slot");
+
+        assertThat(freeSeatsAt(LocalTime.of(10, 30), 10)).isEqualTo(10);
+    }
+
+    @Test
+    void partyLargerThanCapacityIsRefused() {
+        assertThatThrownBy(() -> ledger.reserve(RESTAURANT, 4, DAY, LocalTime.of(12, 0), 5))
+                .hasMessage("No table available for this time slot");
+    }
+
+    @Test
+    void unlimitedCapacityNeverRefuses() {
+        ledger.reserve(RESTAURANT, null, DAY, LocalTime.of(12, 0), 500);
+        ledger.reserve(RESTAURANT, null, DAY, LocalTime.of(12, 0), 500);
+
+        assertThat(ledger.freeSlots(RESTAURANT, null, ALWAYS_OPEN, DAY, 1))
+                .allSatisfy(slot -> assertThat(slot.freeSeats()).isNull());
+    }
+
+    @Test
+    void releaseGivesSeatsBack() {
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(12, 0), 10);
+        ledger.release(RESTAURANT, DAY, LocalTime.of(12, 0), 10);
+
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(12, 30), 10);
+    }
+
+    @Test
+    void freeSlotsFollowOpeningHoursAndReservationDuration() {
+        List<LocalTime> starts = ledger.freeSlots(RESTAURANT, 10, schedule("12h-14h30, 19h-23h"), DAY, 2).stream()
+                .map(TableSlotDto::start)
+                .toList();
+
+        assertThat(starts).containsExactly(
+                LocalTime.of(12, 0), LocalTime.of(12, 30), LocalTime.of(13, 0),
+                LocalTime.of(19, 0), LocalTime.of(19, 30), LocalTime.of(20, 0),
+                LocalTime.of(20, 30), LocalTime.of(21, 0), LocalTime.of(21, 30));
+    }
+
+    @Test
+    void freeSlotsUseMaximumBookedOverTheReservationDuration() {
+        ledger.reserve(RESTAURANT, 10, DAY, LocalTime.of(13, 0), 7);
+
+        assertThat(freeSeatsAt(LocalTime.of(12, 0), 10)).isEqualTo(3);
+        assertThat(freeSeatsAt(LocalTime.of(11, 30), 10)).isEqualTo(10);
+        assertThat(freeSeatsAt(LocalTime.of(14, 30), 10)).isEqualTo(10);
+    }
+
+    @Test
+    void datesBeyondHorizonAreRejected() {
+        LocalDate tooFar = LocalDate.now().plusDays(31);
+
+        assertThatThrownBy(() -> ledger.reserve(RESTAURANT, 10, tooFar, LocalTime.of(12, 0), 2))
+                .hasMessage("Reservation date is too far ahead");
+        assertThatThrownBy(() -> ledger.freeSlots(RESTAURANT, 10, ALWAYS_OPEN, tooFar, 2))
+                .hasMessage("Reservation date is too far ahead");
+    }
+
+    @Test
+    void pastDaysHaveNoFreeSlots() {
+        assertThat(ledger.freeSlots(RESTAURANT, 10, ALWAYS_OPEN, LocalDate.now().minusDays(1), 1)).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.vegnbio.api.modules.restaurant.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpeningHoursParserTest {
+
+    private static List<List<Integer>> ranges(String hours) {
+        return OpeningHoursParser.parseDay(hours).stream()
+                .map(range -> List.of(range[0], range[1]))
+                .toList();
+    }
+
+    @Test
+    void parsesSingleRange() {
+        assertThat(ranges("9h à 24h")).containsExactly(List.of(9 * 60, 24 * 60));
+        assertThat(ranges("11h à 24h")).containsExactly(List.of(11 * 60, 24 * 60));
+    }
+
+    @Test
+    void endAfterMidnightRunsIntoNextDay() {
+        assertThat(ranges("9h à 1h du matin")).containsExactly(List.of(9 * 60, 25 * 60));
+        assertThat(ranges("9h à 5h du matin")).containsExactly(List.of(9 * 60, 29 * 60));
+        assertThat(ranges("22h à 2h")).containsExactly(List.of(22 * 60, 26 * 60));
+    }
+
+    @Test
+    void parsesSeveralRangesWithMinutes() {
+        assertThat(ranges("12h-14h30, 19h-23h"))
+                .containsExactly(List.of(12 * 60, 14 * 60 + 30), List.of(19 * 60, 23 * 60));
+        assertThat(ranges("De 12h00 à 14h et 19h à 22h30"))
+                .containsExactly(List.of(12 * 60, 14 * 60), List.of(19 * 60, 22 * 60 + 30));
+    }
+
+    @Test
+    void closedOrMissingHoursHaveNoRange() {
+        assertThat(ranges("Fermé")).isEmpty();
+        assertThat(ranges("fermé le dimanche")).isEmpty();
+        assertThat(ranges(null)).isEmpty();
+        assertThat(ranges("  ")).isEmpty();
+    }
+
+    @Test
+    void rejectsUnreadableHours() {
+        assertThatThrownBy(() -> OpeningHoursParser.parseDay("sur rdv"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid opening hours: sur rdv");
+        assertThatThrownBy(() -> OpeningHoursParser.parseDay("9h à 25h"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OpeningHoursParser.parseDay("9h60 à 12h"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.vegnbio.api.modules.restaurant.service;
+
+import com.vegnbio.api.modules.restaurant.entity.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeeklyScheduleTest {
+
+    // Lundi 2 mars 2026
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private static WeeklySchedule schedule(String mondayThursday, String friday, String saturday, String sunday) {
+        return WeeklySchedule.of(Restaurant.builder()
+                .mondayThursdayHours(mondayThursday)
+                .fridayHours(friday)
+                .saturdayHours(saturday)
+                .sundayHours(sunday)
+                .build());
+    }
+
+    private static int at(DayOfWeek day, int hour, int minute) {
+        return WeeklySchedule.minuteOfWeek(MONDAY.plusDays(day.getValue() - 1L).withHour(hour).withMinute(minute));
+    }
+
+    @Test
+    void minuteOfWeekStartsOnMondayMidnight() {
+        assertThat(WeeklySchedule.minuteOfWeek(MONDAY)).isZero();
+        assertThat(at(DayOfWeek.SUNDAY, 23, 59)).isEqualTo(WeeklySchedule.MINUTES_PER_WEEK - 1);
+    }
+
+    @Test
+    void lateClosingSpillsIntoNextDay() {
+        WeeklySchedule schedule = schedule("9h à 24h", "9h à 1h du matin", "9h à 5h du matin", "11h à 24h");
+
+        assertThat(schedule.isOpen(at(DayOfWeek.SATURDAY, 0, 30))).isTrue();
+        assertThat(schedule.isOpen(at(DayOfWeek.SATURDAY, 1, 0))).isFalse();
+        assertThat(schedule.isOpen(at(DayOfWeek.SUNDAY, 4, 59))).isTrue();
+        assertThat(schedule.isOpen(at(DayOfWeek.SUNDAY, 5, 0))).isFalse();
+        // Samedi 9h-dimanche 5h d'une traite
+        assertThat(schedule.minutesUntilClose(at(DayOfWeek.SATURDAY, 23, 0))).isEqualTo(6 * 60);
+    }
+
+    @Test
+    void sundayNightWrapsToMonday() {
+        WeeklySchedule schedule = schedule("Fermé", "Fermé", "Fermé", "22h à 2h");
+
+        assertThat(schedule.isOpen(at(DayOfWeek.MONDAY, 1, 0))).isTrue();
+        assertThat(schedule.isOpen(at(DayOfWeek.MONDAY, 2, 0))).isFalse();
+        assertThat(schedule.minutesUntilClose(at(DayOfWeek.SUNDAY, 23, 0))).isEqualTo(3 * 60);
+        assertThat(schedule.minutesUntilOpen(at(DayOfWeek.MONDAY, 2, 0)))
+                .isEqualTo(at(DayOfWeek.SUNDAY, 22, 0) - at(DayOfWeek.MONDAY, 2, 0));
+    }
+
+    @Test
+    void splitDayHasGapBetweenServices() {
+        WeeklySchedule schedule = schedule("12h-14h30, 19h-23h", "Fermé", "Fermé", "Fermé");
+
+        assertThat(schedule.isOpen(at(DayOfWeek.TUESDAY, 15, 0))).isFalse();
+        assertThat(schedule.minutesUntilOpen(at(DayOfWeek.TUESDAY, 15, 0))).isEqualTo(4 * 60);
+        assertThat(schedule.minutesUntilClose(at(DayOfWeek.TUESDAY, 13, 0))).isEqualTo(90);
+        assertThat(schedule.minutesUntilClose(at(DayOfWeek.TUESDAY, 15, 0))).isZero();
+        // Jeudi soir puis vendredi fermé : prochaine ouverture lundi midi
+        assertThat(schedule.minutesUntilOpen(at(DayOfWeek.THURSDAY, 23, 0)))
+                .isEqualTo(WeeklySchedule.MINUTES_PER_WEEK - at(DayOfWeek.THURSDAY, 23, 0) + 12 * 60);
+    }
+
+    @Test
+    void openForRequiresTheWholeDuration() {
+        WeeklySchedule schedule = schedule("12h-14h30, 19h-23h", "Fermé", "Fermé", "Fermé");
+
+        assertThat(schedule.isOpenFor(at(DayOfWeek.MONDAY, 13, 0), 90)).isTrue();
+        assertThat(schedule.isOpenFor(at(DayOfWeek.MONDAY, 13, 30), 90)).isFalse();
+        assertThat(schedule.isOpenFor(at(DayOfWeek.MONDAY, 15, 0), 1)).isFalse();
+    }
+
+    @Test
+    void alwaysOpenNeverCloses() {
+        WeeklySchedule schedule = schedule("0h à 24h", "0h à 24h", "0h à 24h", "0h à 24h");
+
+        assertThat(schedule.minutesUntilClose(at(DayOfWeek.WEDNESDAY, 12, 0))).isEqualTo(-1);
+        assertThat(schedule.isOpenFor(at(DayOfWeek.SUNDAY, 23, 30), 90)).isTrue();
+    }
+
+    @Test
+    void closedAllWeekNeverOpens() {
+        WeeklySchedule schedule = schedule("Fermé", "Fermé", "Fermé", null);
+
+        assertThat(schedule.isEmpty()).isTrue();
+        assertThat(schedule.minutesUntilOpen(0)).isEqualTo(-1);
+        assertThat(schedule.isOpen(at(DayOfWeek.FRIDAY, 12, 0))).isFalse();
+    }
+
+    @Test
+    void unreadableHoursAreRejected() {
+        assertThatThrownBy(() -> schedule("sur rdv", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
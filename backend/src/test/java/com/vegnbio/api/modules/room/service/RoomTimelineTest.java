@@ -0,0 +1,93 @@
+package com.vegnbio.api.modules.room.service;
+
+import com.vegnbio.api.modules.room.service.RoomTimeline.Slot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomTimelineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private static Slot slot(long reservationId, int startHour, int startMinute, int endHour, int endMinute) {
+        return new Slot(reservationId, DAY.withHour(startHour).withMinute(startMinute), DAY.withHour(endHour).withMinute(endMinute));
+    }
+
+    @Test
+    void rejectsOverlapWithEarlierSlot() {
+        RoomTimeline timeline = new RoomTimeline(List.of(slot(1, 9, 0, 11, 0)));
+
+        assertThat(timeline.tryHold(slot(2, 10, 0, 12, 0))).isFalse();
+        assertThat(timeline.tryHold(slot(2, 8, 0, 9, 30))).isFalse();
+        assertThat(timeline.tryHold(slot(2, 9, 30, 10, 0))).isFalse();
+    }
+
+    @Test
+    void acceptsBackToBackSlots() {
+        RoomTimeline timeline = new RoomTimeline(List.of(slot(1, 9, 0, 11, 0)));
+
+        assertThat(timeline.tryHold(slot(2, 11, 0, 12, 0))).isTrue();
+        assertThat(timeline.tryHold(slot(3, 8, 0, 9, 0))).isTrue();
+    }
+
+    @Test
+    void rejectsOverlapHiddenBehindShorterSlotOfSameReservation() {
+        // R tient [9:00,12:00] et, pendant une modification, [9:30,10:00]
+        RoomTimeline timeline = new RoomTimeline(List.of(slot(1, 9, 0, 12, 0)));
+        assertThat(timeline.tryHold(slot(1, 9, 30, 10, 0))).isTrue();
+
+        assertThat(timeline.tryHold(slot(2, 10, 30, 11, 0))).isFalse();
+
+        // Annulation de la modification : l'ancien créneau reste occupé
+        timeline.remove(slot(1, 9, 30, 10, 0));
+        assertThat(timeline.tryHold(slot(2, 10, 30, 11, 0))).isFalse();
+    }
+
+    @Test
+    void rejectsOverlapWithLegacyOverlappingRows() {
+        RoomTimeline timeline = new RoomTimeline(List.of(
+                slot(1, 8, 0, 18, 0),
+                slot(2, 9, 0, 9, 30),
+                slot(3, 10, 0, 10, 30)));
+
+        assertThat(timeline.tryHold(slot(4, 12, 0, 13, 0))).isFalse();
+        assertThat(timeline.tryHold(slot(4, 18, 0, 19, 0))).isTrue();
+    }
+
+    @Test
+    void ignoresSlotsOfTheSameReservation() {
+        RoomTimeline timeline = new RoomTimeline(List.of(slot(1, 9, 0, 11, 0)));
+
+        assertThat(timeline.tryHold(slot(1, 10, 0, 12, 0))).isTrue();
+
+        timeline.keepOnly(slot(1, 10, 0, 12, 0));
+        assertThat(timeline.busyBetween(DAY, DAY.plusDays(1))).containsExactly(slot(1, 10, 0, 12, 0));
+        assertThat(timeline.tryHold(slot(2, 9, 0, 10, 0))).isTrue();
+    }
+
+    @Test
+    void releaseFreesEverySlotOfTheReservation() {
+        RoomTimeline timeline = new RoomTimeline(List.of(slot(1, 9, 0, 11, 0)));
+        timeline.tryHold(slot(1, 14, 0, 15, 0));
+
+        timeline.release(1L);
+
+        assertThat(timeline.busyBetween(DAY, DAY.plusDays(1))).isEmpty();
+        assertThat(timeline.tryHold(slot(2, 9, 0, 15, 0))).isTrue();
+    }
+
+    @Test
+    void busyBetweenFindsLongSlotStartingBeforeTheWindow() {
+        RoomTimeline timeline = new RoomTimeline(List.of(
+                slot(1, 6, 0, 20, 0),
+                slot(2, 7, 0, 8, 0),
+                slot(3, 21, 0, 22, 0)));
+
+        assertThat(timeline.busyBetween(DAY.withHour(12), DAY.withHour(13))).containsExactly(slot(1, 6, 0, 20, 0));
+        assertThat(timeline.busyBetween(DAY.withHour(20), DAY.withHour(21))).isEmpty();
+        assertThat(timeline.busyBetween(DAY.withHour(13), DAY.withHour(12))).isEmpty();
+    }
+}